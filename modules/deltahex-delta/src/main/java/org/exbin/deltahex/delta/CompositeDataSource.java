@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Data source composed of sequence of file parts.
+ *
+ * Parts are concatenated to single continuous address space and each part can
+ * be whole file or only range of file. Files are opened in read only mode.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class CompositeDataSource extends DeltaDataSource {
+
+    private final RandomAccessFile[] files;
+    /**
+     * Start position of each part in the source file.
+     */
+    private final long[] fileOffsets;
+    /**
+     * Start position of each part in composed address space with total length
+     * as last item.
+     */
+    private final long[] partPositions;
+
+    /**
+     * Creates data source concatenating given files.
+     *
+     * @param sourceFiles files
+     * @throws FileNotFoundException if file is not found
+     * @throws IOException if access to file fails
+     */
+    public CompositeDataSource(File... sourceFiles) throws FileNotFoundException, IOException {
+        this(filesToParts(sourceFiles));
+    }
+
+    /**
+     * Creates data source presenting range of given file as standalone data.
+     *
+     * @param sourceFile file
+     * @param offset start position in file
+     * @param length length of the range
+     * @throws FileNotFoundException if file is not found
+     * @throws IOException if access to file fails
+     */
+    public CompositeDataSource(File sourceFile, long offset, long length) throws FileNotFoundException, IOException {
+        this(Arrays.asList(new Part(sourceFile, offset, length)));
+    }
+
+    /**
+     * Creates data source concatenating given parts.
+     *
+     * @param parts list of parts
+     * @throws FileNotFoundException if file is not found
+     * @throws IOException if access to file fails
+     */
+    public CompositeDataSource(List<Part> parts) throws FileNotFoundException, IOException {
+        int partsCount = parts.size();
+        files = new RandomAccessFile[partsCount];
+        fileOffsets = new long[partsCount];
+        partPositions = new long[partsCount + 1];
+        try {
+            long position = 0;
+            for (int i = 0; i < partsCount; i++) {
+                Part part = parts.get(i);
+                files[i] = new RandomAccessFile(part.file, "r");
+                long length = part.length;
+                if (length < 0) {
+                    length = files[i].length() - part.offset;
+                }
+                if (part.offset < 0 || length < 0) {
+                    throw new IllegalArgumentException("Invalid range of part " + i);
+                }
+                fileOffsets[i] = part.offset;
+                partPositions[i] = position;
+                position += length;
+            }
+            partPositions[partsCount] = position;
+        } catch (IOException | IllegalArgumentException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    private static List<Part> filesToParts(File[] sourceFiles) {
+        Part[] parts = new Part[sourceFiles.length];
+        for (int i = 0; i < sourceFiles.length; i++) {
+            parts[i] = new Part(sourceFiles[i]);
+        }
+
+        return Arrays.asList(parts);
+    }
+
+    @Override
+    public long getFileLength() {
+        return partPositions[files.length];
+    }
+
+    /**
+     * Returns count of parts.
+     *
+     * @return count of parts
+     */
+    public int getPartsCount() {
+        return files.length;
+    }
+
+    /**
+     * Returns start position of part in composed data.
+     *
+     * @param partIndex part index
+     * @return start position
+     */
+    public long getPartPosition(int partIndex) {
+        return partPositions[partIndex];
+    }
+
+    /**
+     * Returns index of part containing given position.
+     *
+     * @param position position in composed data
+     * @return part index
+     */
+    public int getPartIndex(long position) {
+        int index = Arrays.binarySearch(partPositions, 0, files.length, position);
+        if (index < 0) {
+            return -index - 2;
+        }
+
+        // Skip empty parts
+        while (index < files.length - 1 && partPositions[index + 1] == position) {
+            index++;
+        }
+        return index;
+    }
+
+    @Override
+    public int read(long position, byte[] target, int offset, int length) throws IOException {
+        long totalLength = getFileLength();
+        if (position >= totalLength || files.length == 0) {
+            return 0;
+        }
+        if (position + length > totalLength) {
+            length = (int) (totalLength - position);
+        }
+
+        int partIndex = getPartIndex(position);
+        int done = 0;
+        while (done < length) {
+            long partOffset = position - partPositions[partIndex];
+            long partRemaining = partPositions[partIndex + 1] - position;
+            if (partRemaining == 0) {
+                partIndex++;
+                continue;
+            }
+
+            int toRead = length - done;
+            if (toRead > partRemaining) {
+                toRead = (int) partRemaining;
+            }
+            RandomAccessFile file = files[partIndex];
+            file.seek(fileOffsets[partIndex] + partOffset);
+            int partDone = 0;
+            while (partDone < toRead) {
+                int red = file.read(target, offset + done + partDone, toRead - partDone);
+                if (red < 0) {
+                    throw new IOException("Unexpected end of part " + partIndex);
+                }
+                partDone += red;
+            }
+
+            done += toRead;
+            position += toRead;
+        }
+
+        return done;
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException closeException = null;
+        for (RandomAccessFile file : files) {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException ex) {
+                    closeException = ex;
+                }
+            }
+        }
+
+        if (closeException != null) {
+            throw closeException;
+        }
+    }
+
+    /**
+     * Part of the composed data.
+     */
+    public static class Part {
+
+        private final File file;
+        private final long offset;
+        private final long length;
+
+        /**
+         * Creates part for whole file.
+         *
+         * @param file file
+         */
+        public Part(File file) {
+            this(file, 0, -1);
+        }
+
+        /**
+         * Creates part for range of file.
+         *
+         * @param file file
+         * @param offset start position in file
+         * @param length length of range or -1 for rest of the file
+         */
+        public Part(File file, long offset, long length) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+}
@@ -16,14 +16,16 @@
 package org.exbin.deltahex.delta;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Access window for delta data.
  *
- * @version 0.1.0 2016/06/03
+ * Window is shared by all data using the same source and it is not thread
+ * safe, access must be synchronized on the data source.
+ *
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class DeltaDataPageWindow {
@@ -36,50 +38,53 @@ public class DeltaDataPageWindow {
 
     public DeltaDataPageWindow(DeltaDataSource data) {
         this.data = data;
-        loadPage(0);
     }
 
     private void loadPage(int index) {
         long pageIndex = dataPages[index].pageIndex;
         long pagePosition = pageIndex * PAGE_SIZE;
-        RandomAccessFile file = data.getFile();
         try {
-            file.seek(pagePosition);
-            byte[] page = dataPages[index].page;
-            int offset = 0;
-            int toRead = PAGE_SIZE;
-            if (pagePosition + PAGE_SIZE > file.length()) {
-                toRead = (int) (file.length() - pagePosition);
-            }
-            while (toRead > 0) {
-                int red = file.read(page, offset, toRead);
-                toRead -= red;
-                offset += red;
-            }
+            data.read(pagePosition, dataPages[index].page, 0, PAGE_SIZE);
         } catch (IOException ex) {
             Logger.getLogger(DeltaDataPageWindow.class.getName()).log(Level.SEVERE, null, ex);
         }
     }
 
     public byte getByte(long position) {
-        long targetPageIndex = position / PAGE_SIZE;
-        int index = -1;
-        long pageIndex1 = dataPages[0].pageIndex;
-        long pageIndex2 = dataPages[1].pageIndex;
-        if (pageIndex1 == targetPageIndex) {
-            index = 0;
-        } else if (pageIndex2 == targetPageIndex) {
-            index = 1;
-        }
-        if (index == -1) {
-            DataPage dataPage = dataPages[activeDataPage];
-            dataPage.pageIndex = targetPageIndex;
-            loadPage(activeDataPage);
-            activeDataPage = (activeDataPage + 1) & 1;
-            return dataPage.page[(int) (position % PAGE_SIZE)];
+        return getPage(position / PAGE_SIZE)[(int) (position % PAGE_SIZE)];
+    }
+
+    /**
+     * Returns content of the page with given index.
+     *
+     * Returned array is valid until other page is requested.
+     *
+     * @param targetPageIndex page index
+     * @return page data
+     */
+    public byte[] getPage(long targetPageIndex) {
+        if (dataPages[0].pageIndex == targetPageIndex) {
+            return dataPages[0].page;
+        } else if (dataPages[1].pageIndex == targetPageIndex) {
+            return dataPages[1].page;
         }
 
-        return dataPages[index].page[(int) (position % PAGE_SIZE)];
+        DataPage dataPage = dataPages[activeDataPage];
+        dataPage.pageIndex = targetPageIndex;
+        loadPage(activeDataPage);
+        activeDataPage = (activeDataPage + 1) & 1;
+        return dataPage.page;
+    }
+
+    /**
+     * Drops all cached pages.
+     *
+     * Should be called when content of the source changes.
+     */
+    public void clear() {
+        for (DataPage dataPage : dataPages) {
+            dataPage.pageIndex = -1;
+        }
     }
 
     /**
@@ -91,7 +96,7 @@ public class DeltaDataPageWindow {
             page = new byte[PAGE_SIZE];
         }
 
-        long pageIndex;
+        long pageIndex = -1;
         byte[] page;
     }
 }
@@ -26,23 +26,92 @@ import java.io.RandomAccessFile;
  * Data source is opened in read only mode and there structure keeping all the
  * changes.
  *
- * @version 0.1.0 2016/06/07
+ * Child implementation can override data access methods to provide data from
+ * other kind of resource.
+ *
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class DeltaDataSource {
 
+    private final File sourceFile;
     private final RandomAccessFile file;
     private final DeltaDataPageWindow window;
 
     public DeltaDataSource(File sourceFile) throws FileNotFoundException, IOException {
+        this.sourceFile = sourceFile;
         file = new RandomAccessFile(sourceFile, "rw");
         window = new DeltaDataPageWindow(this);
     }
 
+    /**
+     * Constructor for child implementation not backed by single file.
+     */
+    protected DeltaDataSource() {
+        sourceFile = null;
+        file = null;
+        window = new DeltaDataPageWindow(this);
+    }
+
     public long getFileLength() throws IOException {
         return file.length();
     }
 
+    /**
+     * Reads data from given position of source to target array.
+     *
+     * Reading is performed until requested length is read or end of the source
+     * is reached.
+     *
+     * @param position source position
+     * @param target target array
+     * @param offset offset in target array
+     * @param length requested length
+     * @return number of bytes read
+     * @throws IOException if read fails
+     */
+    public int read(long position, byte[] target, int offset, int length) throws IOException {
+        long fileLength = file.length();
+        if (position >= fileLength) {
+            return 0;
+        }
+        if (position + length > fileLength) {
+            length = (int) (fileLength - position);
+        }
+
+        file.seek(position);
+        int done = 0;
+        while (done < length) {
+            int red = file.read(target, offset + done, length - done);
+            if (red < 0) {
+                break;
+            }
+            done += red;
+        }
+
+        return done;
+    }
+
+    /**
+     * Closes underlying resources.
+     *
+     * @throws IOException if close fails
+     */
+    public void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    /**
+     * Returns source file.
+     *
+     * @return source file or null if source is not backed by single file
+     */
+    public File getSourceFile() {
+        return sourceFile;
+    }
+
     RandomAccessFile getFile() {
         return file;
     }
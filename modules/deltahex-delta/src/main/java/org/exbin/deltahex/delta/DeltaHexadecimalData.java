@@ -18,6 +18,9 @@ package org.exbin.deltahex.delta;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import org.exbin.deltahex.delta.list.DefaultDoublyLinkedList;
 import org.exbin.utils.binary_data.BinaryData;
 import org.exbin.utils.binary_data.EditableBinaryData;
@@ -26,14 +29,21 @@ import org.exbin.utils.binary_data.OutOfBoundsException;
 /**
  * Basic implementation of hexadecimal data interface using byte array.
  *
- * @version 0.1.0 2016/06/07
+ * Copies of data share page window of the data source. Access to the window
+ * is synchronized on the data source, so copy can be read in other thread
+ * while original data are edited.
+ *
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class DeltaHexadecimalData implements EditableBinaryData {
 
+    public static final int BUFFER_SIZE = 65536;
+
     private final DeltaDataSource data;
 
     private long dataLength = 0;
+    private long sourceLength = 0;
     private long pointerPosition;
     private DataSegment pointerSegment;
 
@@ -43,6 +53,7 @@ public class DeltaHexadecimalData implements EditableBinaryData {
     public DeltaHexadecimalData(DeltaDataSource data) throws IOException {
         this.data = data;
         dataLength = data.getFileLength();
+        sourceLength = dataLength;
         DataSegment fullFileSegment = new DocumentSegment(0, dataLength);
         segments.add(fullFileSegment);
         pointerPosition = 0;
@@ -57,13 +68,19 @@ public class DeltaHexadecimalData implements EditableBinaryData {
     private DeltaHexadecimalData(DeltaHexadecimalData source) {
         data = source.data;
         dataLength = source.dataLength;
-        for (DataSegment segment : segments) {
+        sourceLength = source.sourceLength;
+        DataSegment segment = source.segments.first();
+        while (segment != null) {
             segments.add(segment.copy());
+            segment = segment.getNext();
         }
+        pointerPosition = 0;
+        pointerSegment = segments.first();
     }
 
     private DeltaHexadecimalData(DeltaDataSource data, long length) {
         this.data = data;
+        sourceLength = -1;
         if (length > 0) {
             dataLength = length;
             MemoryPagedData binaryData = new MemoryPagedData();
@@ -93,7 +110,9 @@ public class DeltaHexadecimalData implements EditableBinaryData {
         focusSegment(position);
 
         if (pointerSegment instanceof DocumentSegment) {
-            return data.getWindow().getByte(((DocumentSegment) pointerSegment).getStartPosition() + (position - pointerPosition));
+            synchronized (data) {
+                return data.getWindow().getByte(((DocumentSegment) pointerSegment).getStartPosition() + (position - pointerPosition));
+            }
         } else {
             return ((BinaryDataSegment) pointerSegment).getByte(position - pointerPosition);
         }
@@ -109,19 +128,9 @@ public class DeltaHexadecimalData implements EditableBinaryData {
                 focusSegment(position);
             }
 
-            DataSegment prev = segments.prevTo(pointerSegment);
-            EditableBinaryData binaryData;
-            if (prev instanceof BinaryDataSegment) {
-                binaryData = ((BinaryDataSegment) prev).getBinaryData();
-                binaryData.insert(binaryData.getDataSize(), new byte[]{value});
-            } else {
-                binaryData = new MemoryPagedData();
-                binaryData.insert(0, new byte[]{value});
-                BinaryDataSegment binarySegment = new BinaryDataSegment(binaryData);
-                segments.addBefore(pointerSegment, binarySegment);
-            }
-            pointerPosition++;
-            DocumentSegment documentSegment = ((DocumentSegment) pointerSegment);
+            DocumentSegment documentSegment = (DocumentSegment) pointerSegment;
+            BinaryDataSegment binarySegment = focusInsertSegment(position);
+            binarySegment.getBinaryData().insert(position - pointerPosition, new byte[]{value});
             documentSegment.setStartPosition(documentSegment.getStartPosition() + 1);
             if (documentSegment.getLength() == 1) {
                 segments.remove(documentSegment);
@@ -135,124 +144,80 @@ public class DeltaHexadecimalData implements EditableBinaryData {
 
     @Override
     public void insertUninitialized(long startFrom, long length) {
-        focusSegment(startFrom);
-        if (pointerSegment instanceof BinaryDataSegment) {
-            ((BinaryDataSegment) pointerSegment).getBinaryData().insertUninitialized(startFrom - pointerPosition, length);
-        } else {
-            if (startFrom > pointerPosition) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemoryPagedData binaryData = new MemoryPagedData();
-            binaryData.insertUninitialized(0, length);
-            BinaryDataSegment binarySegment = new BinaryDataSegment(binaryData);
-            segments.addBefore(pointerSegment, binarySegment);
-        }
+        BinaryDataSegment binarySegment = focusInsertSegment(startFrom);
+        binarySegment.getBinaryData().insertUninitialized(startFrom - pointerPosition, length);
+        dataLength += length;
     }
 
     @Override
     public void insert(long startFrom, long length) {
-        focusSegment(startFrom);
-        if (pointerSegment instanceof BinaryDataSegment) {
-            ((BinaryDataSegment) pointerSegment).getBinaryData().insert(startFrom - pointerPosition, length);
-        } else {
-            if (startFrom > pointerPosition) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemoryPagedData binaryData = new MemoryPagedData();
-            binaryData.insert(0, length);
-            BinaryDataSegment binarySegment = new BinaryDataSegment(binaryData);
-            segments.addBefore(pointerSegment, binarySegment);
-        }
+        BinaryDataSegment binarySegment = focusInsertSegment(startFrom);
+        binarySegment.getBinaryData().insert(startFrom - pointerPosition, length);
+        dataLength += length;
     }
 
     @Override
     public void insert(long startFrom, byte[] insertedData) {
-        focusSegment(startFrom);
-        if (pointerSegment instanceof BinaryDataSegment) {
-            ((BinaryDataSegment) pointerSegment).getBinaryData().insert(startFrom - pointerPosition, insertedData);
-        } else {
-            if (startFrom > pointerPosition) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemoryPagedData binaryData = new MemoryPagedData();
-            binaryData.insert(0, insertedData);
-            BinaryDataSegment binarySegment = new BinaryDataSegment(binaryData);
-            segments.addBefore(pointerSegment, binarySegment);
-        }
+        BinaryDataSegment binarySegment = focusInsertSegment(startFrom);
+        binarySegment.getBinaryData().insert(startFrom - pointerPosition, insertedData);
+        dataLength += insertedData.length;
     }
 
     @Override
     public void insert(long startFrom, byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
-        focusSegment(startFrom);
-        if (pointerSegment instanceof BinaryDataSegment) {
-            ((BinaryDataSegment) pointerSegment).getBinaryData().insert(startFrom - pointerPosition, insertedData, insertedDataOffset, insertedDataLength);
-        } else {
-            if (startFrom > pointerPosition) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemoryPagedData binaryData = new MemoryPagedData();
-            binaryData.insert(0, insertedData, insertedDataOffset, insertedDataLength);
-            BinaryDataSegment binarySegment = new BinaryDataSegment(binaryData);
-            segments.addBefore(pointerSegment, binarySegment);
-        }
+        BinaryDataSegment binarySegment = focusInsertSegment(startFrom);
+        binarySegment.getBinaryData().insert(startFrom - pointerPosition, insertedData, insertedDataOffset, insertedDataLength);
+        dataLength += insertedDataLength;
     }
 
     @Override
     public void insert(long startFrom, BinaryData insertedData) {
-        focusSegment(startFrom);
-        if (pointerSegment instanceof BinaryDataSegment) {
-            ((BinaryDataSegment) pointerSegment).getBinaryData().insert(startFrom - pointerPosition, insertedData);
-        } else {
-            if (startFrom > pointerPosition) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemoryPagedData binaryData = new MemoryPagedData();
-            binaryData.insert(0, insertedData);
-            BinaryDataSegment binarySegment = new BinaryDataSegment(binaryData);
-            segments.addBefore(pointerSegment, binarySegment);
-        }
+        BinaryDataSegment binarySegment = focusInsertSegment(startFrom);
+        binarySegment.getBinaryData().insert(startFrom - pointerPosition, insertedData);
+        dataLength += insertedData.getDataSize();
     }
 
     @Override
     public void insert(long startFrom, BinaryData insertedData, long insertedDataOffset, long insertedDataLength) {
-        focusSegment(startFrom);
-        if (pointerSegment instanceof BinaryDataSegment) {
-            ((BinaryDataSegment) pointerSegment).getBinaryData().insert(startFrom - pointerPosition, insertedData, insertedDataOffset, insertedDataLength);
-        } else {
-            if (startFrom > pointerPosition) {
-                splitSegment(startFrom);
-                focusSegment(startFrom);
-            }
-            MemoryPagedData binaryData = new MemoryPagedData();
-            binaryData.insert(0, insertedData, insertedDataOffset, insertedDataLength);
-            BinaryDataSegment binarySegment = new BinaryDataSegment(binaryData);
-            segments.addBefore(pointerSegment, binarySegment);
-        }
+        BinaryDataSegment binarySegment = focusInsertSegment(startFrom);
+        binarySegment.getBinaryData().insert(startFrom - pointerPosition, insertedData, insertedDataOffset, insertedDataLength);
+        dataLength += insertedDataLength;
     }
 
     @Override
     public void replace(long targetPosition, BinaryData replacingData) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        replace(targetPosition, replacingData, 0, replacingData.getDataSize());
     }
 
     @Override
     public void replace(long targetPosition, BinaryData replacingData, long startFrom, long length) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        removeReplaced(targetPosition, length);
+        insert(targetPosition, replacingData, startFrom, length);
     }
 
     @Override
     public void replace(long targetPosition, byte[] replacingData) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        replace(targetPosition, replacingData, 0, replacingData.length);
     }
 
     @Override
     public void replace(long targetPosition, byte[] replacingData, int replacingDataOffset, int length) {
-        throw new UnsupportedOperationException("Not supported yet.");
+        removeReplaced(targetPosition, length);
+        insert(targetPosition, replacingData, replacingDataOffset, length);
+    }
+
+    /**
+     * Removes data overwritten by replacement.
+     *
+     * Replacement can extend data beyond current end.
+     */
+    private void removeReplaced(long targetPosition, long length) {
+        if (targetPosition > dataLength) {
+            throw new OutOfBoundsException("Replace position is out of data");
+        }
+
+        long removedLength = Math.min(length, dataLength - targetPosition);
+        remove(targetPosition, removedLength);
     }
 
     @Override
@@ -280,6 +245,11 @@ public class DeltaHexadecimalData implements EditableBinaryData {
                 segments.remove(pointerSegment);
                 pointerSegment = next;
             }
+
+            if (pointerSegment == null) {
+                pointerSegment = segments.last();
+                pointerPosition = pointerSegment == null ? 0 : dataLength - pointerSegment.getLength();
+            }
         }
     }
 
@@ -314,8 +284,74 @@ public class DeltaHexadecimalData implements EditableBinaryData {
     @Override
     public BinaryData copy(long startFrom, long length) {
         DeltaHexadecimalData copy = new DeltaHexadecimalData(data, 0);
-        focusSegment(startFrom);
+        copy.dataLength = length;
+        collectSegments(startFrom, length, copy.segments, true);
+        copy.pointerPosition = 0;
+        copy.pointerSegment = copy.segments.first();
+
+        return copy;
+    }
+
+    /**
+     * Replaces multiple ranges of the same length in single pass.
+     *
+     * Segments between ranges are moved to rebuilt list of segments, so
+     * unmodified document data are not loaded and each range costs only
+     * copying of its replacement.
+     *
+     * @param positions ordered positions of non-overlapping ranges
+     * @param length length of each range
+     * @param replacementData replacement data
+     * @param replacementLength length of replacement of each range
+     * @param sharedReplacement all ranges are replaced with the same
+     * replacement, otherwise replacement data are concatenated replacements
+     * for each range
+     */
+    public void replaceRanges(long[] positions, long length, BinaryData replacementData, long replacementLength, boolean sharedReplacement) {
+        List<DataSegment> rebuiltSegments = new ArrayList<>();
+        long gapStart = 0;
+        for (int i = 0; i < positions.length; i++) {
+            long position = positions[i];
+            if (position < gapStart || position + length > dataLength) {
+                throw new OutOfBoundsException("Replaced ranges must be ordered and inside data");
+            }
 
+            collectSegments(gapStart, position - gapStart, rebuiltSegments, false);
+            if (replacementLength > 0) {
+                MemoryPagedData replacement = new MemoryPagedData();
+                replacement.insert(0, replacementData, sharedReplacement ? 0 : replacementLength * i, replacementLength);
+                rebuiltSegments.add(new BinaryDataSegment(replacement));
+            }
+            gapStart = position + length;
+        }
+        collectSegments(gapStart, dataLength - gapStart, rebuiltSegments, false);
+
+        segments.clear();
+        for (DataSegment segment : rebuiltSegments) {
+            segments.add(segment);
+        }
+        dataLength += (replacementLength - length) * positions.length;
+        pointerPosition = 0;
+        pointerSegment = segments.first();
+    }
+
+    /**
+     * Adds segments covering given range to target list.
+     *
+     * Segments partially covered by range are split to new segments.
+     *
+     * @param startFrom start position
+     * @param length length of range
+     * @param target target list
+     * @param copyWhole copy also segments fully covered by range, otherwise
+     * they are added directly and must not be used in this data anymore
+     */
+    private void collectSegments(long startFrom, long length, List<DataSegment> target, boolean copyWhole) {
+        if (length == 0) {
+            return;
+        }
+
+        focusSegment(startFrom);
         DataSegment segment = pointerSegment;
         long offset = startFrom - pointerPosition;
         while (length > 0) {
@@ -325,26 +361,126 @@ public class DeltaHexadecimalData implements EditableBinaryData {
                 copyLength = length;
             }
 
+            // Read next segment before whole segment is possibly relinked
+            DataSegment next = segments.nextTo(segment);
             if (offset == 0 && copyLength == segmentLength) {
-                copy.segments.add(pointerSegment.copy());
-            } else if (pointerSegment instanceof BinaryDataSegment) {
-                BinaryData partialData = ((BinaryDataSegment) pointerSegment).getBinaryData().copy(offset, copyLength);
-                copy.segments.add(new BinaryDataSegment((EditableBinaryData) partialData));
+                target.add(copyWhole ? segment.copy() : segment);
+            } else if (segment instanceof BinaryDataSegment) {
+                BinaryData partialData = ((BinaryDataSegment) segment).getBinaryData().copy(offset, copyLength);
+                target.add(new BinaryDataSegment((EditableBinaryData) partialData));
             } else {
-                copy.segments.add(new DocumentSegment(((DocumentSegment) segment).getStartPosition() + offset, copyLength));
+                target.add(new DocumentSegment(((DocumentSegment) segment).getStartPosition() + offset, copyLength));
             }
             length -= copyLength;
             offset = 0;
-            segment = segments.nextTo(segment);
+            segment = next;
         }
-
-        return copy;
     }
 
     @Override
     public void copyToArray(long startFrom, byte[] target, int offset, int length) {
-        for (int i = 0; i < length; i++) {
-            target[offset + i] = getByte(startFrom + i);
+        if (startFrom < 0 || length < 0 || startFrom + length > dataLength) {
+            throw new OutOfBoundsException("Requested range is out of bounds");
+        }
+        if (length == 0) {
+            return;
+        }
+
+        focusSegment(startFrom);
+        DataSegment segment = pointerSegment;
+        long segmentOffset = startFrom - pointerPosition;
+        int done = 0;
+        while (done < length) {
+            int copyLength = (int) Math.min(length - done, segment.getLength() - segmentOffset);
+            if (segment instanceof DocumentSegment) {
+                long sourcePosition = ((DocumentSegment) segment).getStartPosition() + segmentOffset;
+                copyFromSource(sourcePosition, target, offset + done, copyLength);
+            } else {
+                ((BinaryDataSegment) segment).getBinaryData().copyToArray(segmentOffset, target, offset + done, copyLength);
+            }
+
+            done += copyLength;
+            segmentOffset = 0;
+            segment = segments.nextTo(segment);
+        }
+    }
+
+    private void copyFromSource(long sourcePosition, byte[] target, int offset, int length) {
+        DeltaDataPageWindow window = data.getWindow();
+        synchronized (data) {
+            int done = 0;
+            while (done < length) {
+                long position = sourcePosition + done;
+                int pageOffset = (int) (position % DeltaDataPageWindow.PAGE_SIZE);
+                int copyLength = Math.min(length - done, DeltaDataPageWindow.PAGE_SIZE - pageOffset);
+                byte[] page = window.getPage(position / DeltaDataPageWindow.PAGE_SIZE);
+                System.arraycopy(page, pageOffset, target, offset + done, copyLength);
+                done += copyLength;
+            }
+        }
+    }
+
+    /**
+     * Passes given range of data to consumer as sequence of read only buffers.
+     *
+     * Data of the document source are passed without copying as views of
+     * source pages, data of modified segments are passed using reusable
+     * buffer. Buffers are valid only during consumer call and consumer must
+     * not access this data during the call. Source pages are passed while
+     * holding monitor of the data source.
+     *
+     * @param startFrom start position
+     * @param length length of the range
+     * @param consumer buffer consumer
+     */
+    public void forEachBuffer(long startFrom, long length, BufferConsumer consumer) {
+        if (startFrom < 0 || length < 0 || startFrom + length > dataLength) {
+            throw new OutOfBoundsException("Requested range is out of bounds");
+        }
+        if (length == 0) {
+            return;
+        }
+
+        focusSegment(startFrom);
+        DataSegment segment = pointerSegment;
+        long segmentOffset = startFrom - pointerPosition;
+        long position = startFrom;
+        long remaining = length;
+        byte[] buffer = null;
+        DeltaDataPageWindow window = data.getWindow();
+        while (remaining > 0) {
+            long segmentRemaining = Math.min(remaining, segment.getLength() - segmentOffset);
+            DataSegment nextSegment = segments.nextTo(segment);
+            while (segmentRemaining > 0) {
+                int bufferLength;
+                ByteBuffer byteBuffer;
+                if (segment instanceof DocumentSegment) {
+                    long sourcePosition = ((DocumentSegment) segment).getStartPosition() + segmentOffset;
+                    int pageOffset = (int) (sourcePosition % DeltaDataPageWindow.PAGE_SIZE);
+                    bufferLength = (int) Math.min(segmentRemaining, DeltaDataPageWindow.PAGE_SIZE - pageOffset);
+                    synchronized (data) {
+                        byte[] page = window.getPage(sourcePosition / DeltaDataPageWindow.PAGE_SIZE);
+                        byteBuffer = ByteBuffer.wrap(page, pageOffset, bufferLength).slice();
+                        consumer.accept(position, byteBuffer.asReadOnlyBuffer());
+                    }
+                } else {
+                    if (buffer == null) {
+                        buffer = new byte[BUFFER_SIZE];
+                    }
+                    bufferLength = (int) Math.min(segmentRemaining, buffer.length);
+                    ((BinaryDataSegment) segment).getBinaryData().copyToArray(segmentOffset, buffer, 0, bufferLength);
+                    byteBuffer = ByteBuffer.wrap(buffer, 0, bufferLength).slice();
+                    consumer.accept(position, byteBuffer.asReadOnlyBuffer());
+                }
+
+                position += bufferLength;
+                segmentOffset += bufferLength;
+                segmentRemaining -= bufferLength;
+                remaining -= bufferLength;
+            }
+
+            segmentOffset = 0;
+            segment = nextSegment;
         }
     }
 
@@ -355,7 +491,7 @@ public class DeltaHexadecimalData implements EditableBinaryData {
 
     @Override
     public InputStream getDataInputStream() {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return new DeltaDataInputStream();
     }
 
     @Override
@@ -363,17 +499,64 @@ public class DeltaHexadecimalData implements EditableBinaryData {
         if (dataSize < dataLength) {
             remove(dataSize, dataLength - dataSize);
         } else if (dataSize > dataLength) {
-            focusSegment(dataSize);
-            if (pointerSegment instanceof BinaryDataSegment) {
-                EditableBinaryData binaryData = ((BinaryDataSegment) pointerSegment).getBinaryData();
-                binaryData.setDataSize(binaryData.getDataSize() + (dataSize - dataLength));
-            } else {
-                MemoryPagedData binaryData = new MemoryPagedData();
-                binaryData.setDataSize(dataSize - dataLength);
-                BinaryDataSegment emptySegment = new BinaryDataSegment(binaryData);
-                segments.add(emptySegment);
+            insert(dataLength, dataSize - dataLength);
+        }
+    }
+
+    /**
+     * Appends data added to the end of growing source since last update.
+     *
+     * New source data is appended to the end of the document.
+     *
+     * @return true if data was appended
+     * @throws IOException if access to source fails
+     */
+    public boolean updateSourceLength() throws IOException {
+        long newSourceLength = data.getFileLength();
+        if (sourceLength < 0 || newSourceLength <= sourceLength) {
+            return false;
+        }
+
+        long appendedLength = newSourceLength - sourceLength;
+        DataSegment lastSegment = segments.last();
+        if (lastSegment instanceof DocumentSegment
+                && ((DocumentSegment) lastSegment).getStartPosition() + lastSegment.getLength() == sourceLength) {
+            DocumentSegment documentSegment = (DocumentSegment) lastSegment;
+            documentSegment.setLength(documentSegment.getLength() + appendedLength);
+        } else {
+            segments.add(new DocumentSegment(sourceLength, appendedLength));
+        }
+        if (pointerSegment == null) {
+            // Data were empty, for example after clear
+            pointerSegment = segments.first();
+            pointerPosition = 0;
+        }
+
+        synchronized (data) {
+            data.getWindow().clear();
+        }
+        dataLength += appendedLength;
+        sourceLength = newSourceLength;
+        return true;
+    }
+
+    /**
+     * Returns true if each byte of data is read from the same position of the
+     * source, which is the case for unmodified document.
+     *
+     * @return true if data positions are source positions
+     */
+    public boolean isSourceAligned() {
+        long position = 0;
+        DataSegment segment = segments.first();
+        while (segment != null) {
+            if (!(segment instanceof DocumentSegment) || ((DocumentSegment) segment).getStartPosition() != position) {
+                return false;
             }
+            position += segment.getLength();
+            segment = segments.nextTo(segment);
         }
+        return true;
     }
 
     /**
@@ -386,7 +569,7 @@ public class DeltaHexadecimalData implements EditableBinaryData {
             throw new IllegalStateException("Split position is out of current segment");
         }
 
-        if (pointerPosition == position) {
+        if (pointerPosition == position || position == pointerPosition + pointerSegment.getLength()) {
             // No action needed
             return;
         }
@@ -410,6 +593,50 @@ public class DeltaHexadecimalData implements EditableBinaryData {
         }
     }
 
+    /**
+     * Returns binary segment to insert data at given position to.
+     *
+     * Creates new segment if needed and focuses pointer to returned segment.
+     *
+     * @param position insertion position
+     * @return binary segment
+     */
+    private BinaryDataSegment focusInsertSegment(long position) {
+        focusSegment(position);
+        if (pointerSegment instanceof BinaryDataSegment) {
+            return (BinaryDataSegment) pointerSegment;
+        }
+
+        if (pointerSegment != null && position > pointerPosition) {
+            splitSegment(position);
+            focusSegment(position);
+        }
+
+        BinaryDataSegment binarySegment;
+        if (pointerSegment == null) {
+            binarySegment = new BinaryDataSegment(new MemoryPagedData());
+            segments.add(binarySegment);
+            pointerPosition = 0;
+        } else if (position > pointerPosition) {
+            // Insertion at the end of data
+            binarySegment = new BinaryDataSegment(new MemoryPagedData());
+            segments.addAfter(pointerSegment, binarySegment);
+            pointerPosition += pointerSegment.getLength();
+        } else {
+            DataSegment prev = segments.prevTo(pointerSegment);
+            if (prev instanceof BinaryDataSegment) {
+                binarySegment = (BinaryDataSegment) prev;
+            } else {
+                binarySegment = new BinaryDataSegment(new MemoryPagedData());
+                segments.addBefore(pointerSegment, binarySegment);
+            }
+            pointerPosition -= binarySegment.getLength();
+        }
+        pointerSegment = binarySegment;
+
+        return binarySegment;
+    }
+
     private void focusSegment(long position) {
         if (pointerSegment == null && position == 0) {
             pointerPosition = 0;
@@ -437,4 +664,60 @@ public class DeltaHexadecimalData implements EditableBinaryData {
             }
         }
     }
+
+    /**
+     * Consumer of data buffers.
+     */
+    public interface BufferConsumer {
+
+        /**
+         * Consumes single buffer.
+         *
+         * @param position position of the buffer in data
+         * @param buffer read only buffer
+         */
+        void accept(long position, ByteBuffer buffer);
+    }
+
+    /**
+     * Input stream reading data sequentially.
+     */
+    private class DeltaDataInputStream extends InputStream {
+
+        private long position = 0;
+
+        @Override
+        public int read() throws IOException {
+            if (position >= dataLength) {
+                return -1;
+            }
+
+            return getByte(position++) & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            long remaining = dataLength - position;
+            if (remaining <= 0) {
+                return length == 0 ? 0 : -1;
+            }
+
+            int toRead = (int) Math.min(length, remaining);
+            copyToArray(position, target, offset, toRead);
+            position += toRead;
+            return toRead;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = Math.max(0, Math.min(n, dataLength - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, dataLength - position);
+        }
+    }
 }
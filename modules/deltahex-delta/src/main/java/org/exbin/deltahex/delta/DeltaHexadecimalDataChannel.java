@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Seekable byte channel for access to delta data.
+ *
+ * Writes overwrite existing data and extend data when writing past the end,
+ * modifications are stored as segments of delta data.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class DeltaHexadecimalDataChannel implements SeekableByteChannel {
+
+    private final DeltaHexadecimalData data;
+    private final boolean writable;
+    private long position = 0;
+    private boolean open = true;
+
+    public DeltaHexadecimalDataChannel(DeltaHexadecimalData data) {
+        this(data, true);
+    }
+
+    public DeltaHexadecimalDataChannel(DeltaHexadecimalData data, boolean writable) {
+        this.data = data;
+        this.writable = writable;
+    }
+
+    @Override
+    public int read(final ByteBuffer target) throws IOException {
+        checkOpen();
+        long remaining = data.getDataSize() - position;
+        if (remaining <= 0) {
+            return target.hasRemaining() ? -1 : 0;
+        }
+
+        int length = (int) Math.min(target.remaining(), remaining);
+        if (target.hasArray()) {
+            data.copyToArray(position, target.array(), target.arrayOffset() + target.position(), length);
+            target.position(target.position() + length);
+        } else {
+            data.forEachBuffer(position, length, new DeltaHexadecimalData.BufferConsumer() {
+                @Override
+                public void accept(long bufferPosition, ByteBuffer buffer) {
+                    target.put(buffer);
+                }
+            });
+        }
+        position += length;
+        return length;
+    }
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+        checkOpen();
+        if (!writable) {
+            throw new NonWritableChannelException();
+        }
+
+        int length = source.remaining();
+        if (position > data.getDataSize()) {
+            data.setDataSize(position);
+        }
+
+        if (source.hasArray()) {
+            data.replace(position, source.array(), source.arrayOffset() + source.position(), length);
+            source.position(source.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            data.replace(position, bytes);
+        }
+        position += length;
+        return length;
+    }
+
+    @Override
+    public long position() throws IOException {
+        checkOpen();
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        checkOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Position cannot be negative");
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        checkOpen();
+        return data.getDataSize();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) throws IOException {
+        checkOpen();
+        if (!writable) {
+            throw new NonWritableChannelException();
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+
+        if (size < data.getDataSize()) {
+            data.setDataSize(size);
+        }
+        if (position > size) {
+            position = size;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Closes channel, underlying data are not affected.
+     */
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    private void checkOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read only data source for address space of Linux process.
+ *
+ * Layout of memory regions is read from /proc/&lt;pid&gt;/maps and data are
+ * read from /proc/&lt;pid&gt;/mem. Position in data is virtual address in
+ * process address space. Unmapped or unreadable areas are read as zeros and
+ * can be detected using {@link #isMapped(long)}.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ProcessMemoryDataSource extends DeltaDataSource {
+
+    private final long pid;
+    private final RandomAccessFile memFile;
+
+    /**
+     * Sparse table of regions ordered by start address.
+     */
+    private volatile Region[] regions = new Region[0];
+    private long[] regionStarts = new long[0];
+
+    public ProcessMemoryDataSource(long pid) throws IOException {
+        this.pid = pid;
+        memFile = new RandomAccessFile(new File(getProcessPath() + "mem"), "r");
+        try {
+            refreshRegions();
+        } catch (IOException ex) {
+            memFile.close();
+            throw ex;
+        }
+    }
+
+    private String getProcessPath() {
+        return "/proc/" + pid + "/";
+    }
+
+    public long getPid() {
+        return pid;
+    }
+
+    /**
+     * Reloads layout of memory regions.
+     *
+     * Page window is cleared as content of remapped areas might change.
+     *
+     * @throws IOException if maps file cannot be read
+     */
+    public final void refreshRegions() throws IOException {
+        List<Region> regionsList = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(getProcessPath() + "maps"), Charset.forName("UTF-8")))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Region region = parseRegion(line);
+                if (region != null) {
+                    regionsList.add(region);
+                }
+            }
+        }
+
+        Region[] newRegions = regionsList.toArray(new Region[regionsList.size()]);
+        long[] newRegionStarts = new long[newRegions.length];
+        for (int i = 0; i < newRegions.length; i++) {
+            newRegionStarts[i] = newRegions[i].start;
+        }
+        synchronized (memFile) {
+            regions = newRegions;
+            regionStarts = newRegionStarts;
+        }
+        synchronized (this) {
+            getWindow().clear();
+        }
+    }
+
+    /**
+     * Parses single line of maps file.
+     *
+     * Line format is: start-end perms offset dev inode [path]
+     */
+    private static Region parseRegion(String line) {
+        String[] fields = line.trim().split("\\s+", 6);
+        if (fields.length < 5) {
+            return null;
+        }
+
+        int separator = fields[0].indexOf('-');
+        if (separator < 0) {
+            return null;
+        }
+
+        try {
+            long start = Long.parseLong(fields[0].substring(0, separator), 16);
+            long end = Long.parseLong(fields[0].substring(separator + 1), 16);
+            if (end <= start) {
+                return null;
+            }
+            String permissions = fields[1];
+            String path = fields.length > 5 ? fields[5] : "";
+            return new Region(start, end, permissions, path);
+        } catch (NumberFormatException ex) {
+            // Address out of signed long range like kernel vsyscall area
+            return null;
+        }
+    }
+
+    /**
+     * Returns end of the last mapped region.
+     *
+     * @return length of address space
+     */
+    @Override
+    public long getFileLength() {
+        Region[] currentRegions = regions;
+        return currentRegions.length == 0 ? 0 : currentRegions[currentRegions.length - 1].end;
+    }
+
+    /**
+     * Returns copy of memory regions list.
+     *
+     * @return list of regions ordered by start address
+     */
+    public List<Region> getRegions() {
+        return Arrays.asList(regions.clone());
+    }
+
+    /**
+     * Returns region containing given address.
+     *
+     * @param position address
+     * @return region or null if address is not mapped
+     */
+    public Region getRegion(long position) {
+        Region[] currentRegions;
+        long[] currentStarts;
+        synchronized (memFile) {
+            currentRegions = regions;
+            currentStarts = regionStarts;
+        }
+        int index = findRegionIndex(currentStarts, position);
+        if (index >= 0 && position < currentRegions[index].end) {
+            return currentRegions[index];
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns true if given address is in readable mapped region.
+     *
+     * @param position address
+     * @return true if mapped
+     */
+    public boolean isMapped(long position) {
+        Region region = getRegion(position);
+        return region != null && region.isReadable();
+    }
+
+    /**
+     * Returns index of last region starting at or before given position.
+     */
+    private static int findRegionIndex(long[] starts, long position) {
+        int index = Arrays.binarySearch(starts, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public int read(long position, byte[] target, int offset, int length) throws IOException {
+        long dataLength = getFileLength();
+        if (position >= dataLength) {
+            return 0;
+        }
+        if (position + length > dataLength) {
+            length = (int) (dataLength - position);
+        }
+
+        synchronized (memFile) {
+            int index = findRegionIndex(regionStarts, position);
+            int done = 0;
+            while (done < length) {
+                long current = position + done;
+                int remaining = length - done;
+                if (index < 0 || (index < regions.length && current >= regions[index].end)) {
+                    index++;
+                    continue;
+                }
+
+                if (index >= regions.length || current < regions[index].start) {
+                    // Unmapped gap up to the next region
+                    long nextStart = index < regions.length ? regions[index].start : Long.MAX_VALUE;
+                    int gap = (int) Math.min(remaining, nextStart - current);
+                    Arrays.fill(target, offset + done, offset + done + gap, (byte) 0);
+                    done += gap;
+                    continue;
+                }
+
+                Region region = regions[index];
+                int toRead = (int) Math.min(remaining, region.end - current);
+                if (!region.isReadable() || !readFully(current, target, offset + done, toRead)) {
+                    Arrays.fill(target, offset + done, offset + done + toRead, (byte) 0);
+                }
+                done += toRead;
+            }
+
+            return done;
+        }
+    }
+
+    /**
+     * Reads memory block, returns false if memory is not accessible.
+     */
+    private boolean readFully(long position, byte[] target, int offset, int length) {
+        try {
+            memFile.seek(position);
+            int done = 0;
+            while (done < length) {
+                int red = memFile.read(target, offset + done, length - done);
+                if (red < 0) {
+                    return false;
+                }
+                done += red;
+            }
+            return true;
+        } catch (IOException ex) {
+            // Region might be unmapped meanwhile or guarded
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        memFile.close();
+    }
+
+    /**
+     * Mapped memory region.
+     */
+    public static class Region {
+
+        private final long start;
+        private final long end;
+        private final String permissions;
+        private final String path;
+
+        public Region(long start, long end, String permissions, String path) {
+            this.start = start;
+            this.end = end;
+            this.permissions = permissions;
+            this.path = path;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public String getPermissions() {
+            return permissions;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public boolean isReadable() {
+            return permissions.length() > 0 && permissions.charAt(0) == 'r';
+        }
+    }
+}
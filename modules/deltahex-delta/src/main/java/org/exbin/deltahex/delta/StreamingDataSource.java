@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Data source for non-seekable input stream.
+ *
+ * Stream is consumed by background thread and cached in temporary file. Length
+ * of the source grows as data is received and only received data is
+ * accessible.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class StreamingDataSource extends DeltaDataSource {
+
+    public static final int RECEIVE_BUFFER_SIZE = 65536;
+
+    private final InputStream stream;
+    private final File cacheFile;
+    private final RandomAccessFile cacheWriter;
+    private final RandomAccessFile cacheReader;
+    private final Thread receiveThread;
+    private final List<DataReceivedListener> dataReceivedListeners = new ArrayList<>();
+
+    private volatile long receivedLength = 0;
+    private volatile boolean finished = false;
+    private volatile IOException receiveException = null;
+    private volatile boolean closed = false;
+    private final Object receiveLock = new Object();
+
+    /**
+     * Creates data source for given stream and starts receiving data.
+     *
+     * @param stream input stream
+     * @throws IOException if temporary file cannot be created
+     */
+    public StreamingDataSource(InputStream stream) throws IOException {
+        this(stream, createTempCacheFile());
+    }
+
+    /**
+     * Creates data source for given stream and starts receiving data.
+     *
+     * @param stream input stream
+     * @param cacheFile file to use as cache, it's deleted when source is
+     * closed
+     * @throws IOException if cache file cannot be opened
+     */
+    public StreamingDataSource(InputStream stream, File cacheFile) throws IOException {
+        this.stream = stream;
+        this.cacheFile = cacheFile;
+        cacheWriter = new RandomAccessFile(cacheFile, "rw");
+        cacheWriter.setLength(0);
+        cacheReader = new RandomAccessFile(cacheFile, "r");
+        receiveThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receiveData();
+            }
+        }, "StreamingDataSource");
+        receiveThread.setDaemon(true);
+        receiveThread.start();
+    }
+
+    /**
+     * Creates temporary cache file which is deleted on exit if source is not
+     * closed.
+     *
+     * @return temporary file
+     * @throws IOException if temporary file cannot be created
+     */
+    private static File createTempCacheFile() throws IOException {
+        File tempFile = File.createTempFile("deltahex", ".tmp");
+        tempFile.deleteOnExit();
+        return tempFile;
+    }
+
+    private void receiveData() {
+        byte[] buffer = new byte[RECEIVE_BUFFER_SIZE];
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int red = stream.read(buffer);
+                if (red < 0) {
+                    break;
+                }
+                if (red > 0) {
+                    cacheWriter.write(buffer, 0, red);
+                    synchronized (receiveLock) {
+                        receivedLength += red;
+                        receiveLock.notifyAll();
+                    }
+                    notifyDataReceived();
+                }
+            }
+        } catch (IOException ex) {
+            if (closed) {
+                return;
+            }
+            receiveException = ex;
+            Logger.getLogger(StreamingDataSource.class.getName()).log(Level.SEVERE, null, ex);
+        } finally {
+            synchronized (receiveLock) {
+                finished = true;
+                receiveLock.notifyAll();
+            }
+            notifyDataReceived();
+        }
+    }
+
+    /**
+     * Returns length of data received so far.
+     *
+     * @return received length
+     */
+    @Override
+    public long getFileLength() {
+        return receivedLength;
+    }
+
+    /**
+     * Returns true if end of stream was reached or receiving failed.
+     *
+     * @return true if finished
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Returns exception which terminated receiving if any.
+     *
+     * @return exception or null
+     */
+    public IOException getReceiveException() {
+        return receiveException;
+    }
+
+    /**
+     * Blocks until data up to given length is received or stream is finished.
+     *
+     * @param length required length
+     * @return received length
+     * @throws InterruptedException if waiting was interrupted
+     */
+    public long waitForData(long length) throws InterruptedException {
+        synchronized (receiveLock) {
+            while (receivedLength < length && !finished) {
+                receiveLock.wait();
+            }
+            return receivedLength;
+        }
+    }
+
+    /**
+     * Reads received data.
+     *
+     * Doesn't block, data which was not received yet is not read.
+     */
+    @Override
+    public int read(long position, byte[] target, int offset, int length) throws IOException {
+        long available = receivedLength;
+        if (position >= available) {
+            return 0;
+        }
+        if (position + length > available) {
+            length = (int) (available - position);
+        }
+
+        synchronized (cacheReader) {
+            cacheReader.seek(position);
+            int done = 0;
+            while (done < length) {
+                int red = cacheReader.read(target, offset + done, length - done);
+                if (red < 0) {
+                    break;
+                }
+                done += red;
+            }
+
+            return done;
+        }
+    }
+
+    /**
+     * Stops receiving, closes stream and deletes cache file.
+     *
+     * @throws IOException if close fails
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        receiveThread.interrupt();
+        try {
+            stream.close();
+        } finally {
+            cacheWriter.close();
+            cacheReader.close();
+            cacheFile.delete();
+        }
+    }
+
+    private void notifyDataReceived() {
+        List<DataReceivedListener> listeners;
+        synchronized (dataReceivedListeners) {
+            listeners = new ArrayList<>(dataReceivedListeners);
+        }
+        for (DataReceivedListener dataReceivedListener : listeners) {
+            dataReceivedListener.dataReceived(receivedLength, finished);
+        }
+    }
+
+    public void addDataReceivedListener(DataReceivedListener dataReceivedListener) {
+        synchronized (dataReceivedListeners) {
+            dataReceivedListeners.add(dataReceivedListener);
+        }
+    }
+
+    public void removeDataReceivedListener(DataReceivedListener dataReceivedListener) {
+        synchronized (dataReceivedListeners) {
+            dataReceivedListeners.remove(dataReceivedListener);
+        }
+    }
+
+    /**
+     * Data received listener.
+     *
+     * Event is fired from receiving thread each time new block of data is
+     * received and when receiving is finished. Listener typically schedules
+     * {@link DeltaHexadecimalData#updateSourceLength()} on the event dispatch
+     * thread followed by notification of the code area.
+     */
+    public interface DataReceivedListener {
+
+        void dataReceived(long receivedLength, boolean finished);
+    }
+}
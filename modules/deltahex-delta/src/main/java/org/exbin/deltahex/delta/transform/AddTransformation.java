@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+/**
+ * Transformation adding constant value to each byte.
+ *
+ * Subtraction is performed using negative value.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class AddTransformation implements DataTransformation {
+
+    private final byte value;
+
+    public AddTransformation(int value) {
+        this.value = (byte) value;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return 1;
+    }
+
+    @Override
+    public void transform(long position, byte[] data, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            data[i] += value;
+        }
+    }
+}
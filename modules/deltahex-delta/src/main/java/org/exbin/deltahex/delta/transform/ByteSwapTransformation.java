@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+/**
+ * Transformation swapping order of bytes in 16, 32 or 64 bit words.
+ *
+ * Incomplete word at the end of data is left unchanged.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ByteSwapTransformation implements DataTransformation {
+
+    private final int wordSize;
+
+    /**
+     * Creates byte swap transformation.
+     *
+     * @param wordSize word size in bytes, must be 2, 4 or 8
+     */
+    public ByteSwapTransformation(int wordSize) {
+        if (wordSize != 2 && wordSize != 4 && wordSize != 8) {
+            throw new IllegalArgumentException("Unsupported word size: " + wordSize);
+        }
+        this.wordSize = wordSize;
+    }
+
+    @Override
+    public int getBlockSize() {
+        return wordSize;
+    }
+
+    @Override
+    public void transform(long position, byte[] data, int offset, int length) {
+        int end = offset + length - (length % wordSize);
+        for (int wordStart = offset; wordStart < end; wordStart += wordSize) {
+            int low = wordStart;
+            int high = wordStart + wordSize - 1;
+            while (low < high) {
+                byte swap = data[low];
+                data[low] = data[high];
+                data[high] = swap;
+                low++;
+                high--;
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+
+/**
+ * Keystream transformation for block cipher in counter (CTR) mode.
+ *
+ * Keystream block for data block N is encryption of initial counter increased
+ * by N, so any position can be decrypted without processing preceding data.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class CounterModeTransformation extends KeystreamTransformation {
+
+    private final Cipher cipher;
+    private final byte[] initialCounter;
+    private final int cipherBlockSize;
+    private byte[] counterBlocks = new byte[0];
+    private byte[] keystreamBlocks = new byte[0];
+
+    /**
+     * Creates counter mode transformation.
+     *
+     * @param algorithm block cipher algorithm name, for example "AES"
+     * @param key cipher key
+     * @param initialCounter initial counter block
+     * @throws GeneralSecurityException if cipher is not available
+     */
+    public CounterModeTransformation(String algorithm, SecretKey key, byte[] initialCounter) throws GeneralSecurityException {
+        cipher = Cipher.getInstance(algorithm + "/ECB/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key);
+        cipherBlockSize = cipher.getBlockSize();
+        if (initialCounter.length != cipherBlockSize) {
+            throw new IllegalArgumentException("Counter length must match cipher block size " + cipherBlockSize);
+        }
+        this.initialCounter = initialCounter.clone();
+    }
+
+    @Override
+    protected void generateKeystream(long position, byte[] target, int offset, int length) {
+        long firstBlock = position / cipherBlockSize;
+        int blockOffset = (int) (position % cipherBlockSize);
+        int blocksCount = (blockOffset + length + cipherBlockSize - 1) / cipherBlockSize;
+        int blocksLength = blocksCount * cipherBlockSize;
+        if (counterBlocks.length < blocksLength) {
+            counterBlocks = new byte[blocksLength];
+            keystreamBlocks = new byte[blocksLength];
+        }
+
+        for (int i = 0; i < blocksCount; i++) {
+            setCounter(counterBlocks, i * cipherBlockSize, firstBlock + i);
+        }
+        try {
+            cipher.doFinal(counterBlocks, 0, blocksLength, keystreamBlocks, 0);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+        System.arraycopy(keystreamBlocks, blockOffset, target, offset, length);
+    }
+
+    /**
+     * Stores initial counter increased by given value as big endian number.
+     */
+    private void setCounter(byte[] target, int offset, long increment) {
+        int carry = 0;
+        for (int i = cipherBlockSize - 1; i >= 0; i--) {
+            int sum = (initialCounter[i] & 0xff) + (int) (increment & 0xff) + carry;
+            target[offset + i] = (byte) sum;
+            carry = sum >> 8;
+            increment >>>= 8;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+/**
+ * Transformation of data applied on the fly.
+ *
+ * Transformation is applied on blocks of data in place. Blocks passed to
+ * transformation are always aligned to block size and block length is
+ * multiple of block size with exception of the incomplete block at the end of
+ * the data.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public interface DataTransformation {
+
+    /**
+     * Returns size of the smallest block which can be transformed separately.
+     *
+     * @return block size in bytes
+     */
+    int getBlockSize();
+
+    /**
+     * Transforms block of data in place.
+     *
+     * @param position source position of the first byte of the block
+     * @param data data array
+     * @param offset offset in data array
+     * @param length length of the block
+     */
+    void transform(long position, byte[] data, int offset, int length);
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+/**
+ * Transformation performing XOR with position dependent keystream.
+ *
+ * Suitable for stream ciphers with random access to keystream.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public abstract class KeystreamTransformation implements DataTransformation {
+
+    private byte[] keystream = new byte[0];
+
+    /**
+     * Generates keystream bytes for given position.
+     *
+     * @param position position in data
+     * @param target target array
+     * @param offset offset in target array
+     * @param length length of keystream to generate
+     */
+    protected abstract void generateKeystream(long position, byte[] target, int offset, int length);
+
+    @Override
+    public int getBlockSize() {
+        return 1;
+    }
+
+    @Override
+    public synchronized void transform(long position, byte[] data, int offset, int length) {
+        if (keystream.length < length) {
+            keystream = new byte[length];
+        }
+        generateKeystream(position, keystream, 0, length);
+        for (int i = 0; i < length; i++) {
+            data[offset + i] ^= keystream[i];
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.OutOfBoundsException;
+
+/**
+ * Read only binary data applying transformation on the fly.
+ *
+ * Data are transformed only when accessed, bulk access transforms whole
+ * chunks at once.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class TransformedBinaryData implements BinaryData {
+
+    public static final int CHUNK_SIZE = 65536;
+
+    private final BinaryData data;
+    private final DataTransformation transformation;
+    private final int blockSize;
+
+    /**
+     * Position of the first byte of source data for transformation, aligned
+     * to block size.
+     */
+    private final long transformPosition;
+    /**
+     * Start of the view in source data.
+     */
+    private final long startFrom;
+    /**
+     * Length of the view or -1 for the rest of the source data.
+     */
+    private final long length;
+
+    private byte[] chunk = null;
+    private final byte[] singleByte = new byte[1];
+
+    public TransformedBinaryData(BinaryData data, DataTransformation transformation) {
+        this(data, transformation, 0, 0, -1);
+    }
+
+    private TransformedBinaryData(BinaryData data, DataTransformation transformation, long transformPosition, long startFrom, long length) {
+        this.data = data;
+        this.transformation = transformation;
+        this.transformPosition = transformPosition;
+        this.startFrom = startFrom;
+        this.length = length;
+        blockSize = transformation.getBlockSize();
+    }
+
+    public BinaryData getSourceData() {
+        return data;
+    }
+
+    public DataTransformation getTransformation() {
+        return transformation;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getDataSize() == 0;
+    }
+
+    @Override
+    public long getDataSize() {
+        return length >= 0 ? length : data.getDataSize() - startFrom;
+    }
+
+    @Override
+    public byte getByte(long position) {
+        copyToArray(position, singleByte, 0, 1);
+        return singleByte[0];
+    }
+
+    @Override
+    public BinaryData copy() {
+        return copy(0, getDataSize());
+    }
+
+    @Override
+    public BinaryData copy(long startFrom, long length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > getDataSize()) {
+            throw new OutOfBoundsException("Copy range is out of bounds");
+        }
+
+        long dataPosition = this.startFrom + startFrom;
+        long alignedStart = dataPosition - (dataPosition % blockSize);
+        long alignedEnd = alignToBlock(dataPosition + length);
+        BinaryData sourceCopy = data.copy(alignedStart, alignedEnd - alignedStart);
+        return new TransformedBinaryData(sourceCopy, transformation, transformPosition + alignedStart, dataPosition - alignedStart, length);
+    }
+
+    @Override
+    public void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > getDataSize()) {
+            throw new OutOfBoundsException("Requested range is out of bounds");
+        }
+
+        long dataPosition = this.startFrom + startFrom;
+        if (blockSize == 1 || (dataPosition % blockSize == 0 && alignToBlock(dataPosition + length) == dataPosition + length)) {
+            data.copyToArray(dataPosition, target, offset, length);
+            transformation.transform(transformPosition + dataPosition, target, offset, length);
+            return;
+        }
+
+        // Unaligned access requires transformation of whole blocks
+        if (chunk == null) {
+            chunk = new byte[CHUNK_SIZE - (CHUNK_SIZE % blockSize)];
+        }
+        long chunkStart = dataPosition - (dataPosition % blockSize);
+        long requiredEnd = alignToBlock(dataPosition + length);
+        int done = 0;
+        while (done < length) {
+            int chunkLength = (int) Math.min(chunk.length, requiredEnd - chunkStart);
+            data.copyToArray(chunkStart, chunk, 0, chunkLength);
+            transformation.transform(transformPosition + chunkStart, chunk, 0, chunkLength);
+
+            int chunkOffset = (int) (dataPosition + done - chunkStart);
+            int copyLength = Math.min(chunkLength - chunkOffset, length - done);
+            System.arraycopy(chunk, chunkOffset, target, offset + done, copyLength);
+            done += copyLength;
+            chunkStart += chunkLength;
+        }
+    }
+
+    /**
+     * Rounds source position up to block boundary limited by source size.
+     */
+    private long alignToBlock(long dataPosition) {
+        long remainder = dataPosition % blockSize;
+        long aligned = remainder == 0 ? dataPosition : dataPosition + blockSize - remainder;
+        return Math.min(aligned, data.getDataSize());
+    }
+
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[CHUNK_SIZE];
+        long dataSize = getDataSize();
+        long position = 0;
+        while (position < dataSize) {
+            int toWrite = (int) Math.min(buffer.length, dataSize - position);
+            copyToArray(position, buffer, 0, toWrite);
+            outputStream.write(buffer, 0, toWrite);
+            position += toWrite;
+        }
+    }
+
+    @Override
+    public InputStream getDataInputStream() {
+        return new TransformedDataInputStream();
+    }
+
+    /**
+     * Input stream reading transformed data.
+     */
+    private class TransformedDataInputStream extends InputStream {
+
+        private long position = 0;
+
+        @Override
+        public int read() throws IOException {
+            if (position >= getDataSize()) {
+                return -1;
+            }
+
+            return getByte(position++) & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            long remaining = getDataSize() - position;
+            if (remaining <= 0) {
+                return length == 0 ? 0 : -1;
+            }
+
+            int toRead = (int) Math.min(length, remaining);
+            copyToArray(position, target, offset, toRead);
+            position += toRead;
+            return toRead;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, getDataSize() - position);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+/**
+ * Transformation performing XOR with repeating key.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class XorTransformation implements DataTransformation {
+
+    private final byte[] key;
+
+    /**
+     * Creates XOR transformation with key starting at data position 0.
+     *
+     * @param key key bytes
+     */
+    public XorTransformation(byte[] key) {
+        if (key.length == 0) {
+            throw new IllegalArgumentException("Key cannot be empty");
+        }
+        this.key = key.clone();
+    }
+
+    @Override
+    public int getBlockSize() {
+        return 1;
+    }
+
+    @Override
+    public void transform(long position, byte[] data, int offset, int length) {
+        int keyIndex = (int) (position % key.length);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            data[i] ^= key[keyIndex];
+            keyIndex++;
+            if (keyIndex == key.length) {
+                keyIndex = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.exbin.utils.binary_data.BinaryData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for delta hexadecimal data and its channel.
+ *
+ * Modifications are compared with plain byte array model with focus on
+ * positions at boundaries of segments and source pages.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class DeltaHexadecimalDataTest {
+
+    private static final int SOURCE_LENGTH = DeltaDataPageWindow.PAGE_SIZE * 3 + 123;
+
+    public DeltaHexadecimalDataTest() {
+    }
+
+    @Test
+    public void testUnmodifiedSource() throws IOException {
+        ByteArrayModel model = new ByteArrayModel(createSourceData());
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+        assertMatches(model, data);
+    }
+
+    @Test
+    public void testInsertAtSegmentBoundaries() throws IOException {
+        ByteArrayModel model = new ByteArrayModel(createSourceData());
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+
+        long[] positions = new long[]{0, 1, DeltaDataPageWindow.PAGE_SIZE, DeltaDataPageWindow.PAGE_SIZE + 1, 2000, model.length()};
+        for (long position : positions) {
+            byte[] inserted = createInsertedData((int) position, 5);
+            data.insert(position, inserted);
+            model.insert((int) position, inserted);
+            assertMatches(model, data);
+        }
+
+        // Insert directly before and after previously inserted block
+        data.insert(2000, new byte[]{-1, -2});
+        model.insert(2000, new byte[]{-1, -2});
+        data.insert(2007, new byte[]{-3});
+        model.insert(2007, new byte[]{-3});
+        assertMatches(model, data);
+    }
+
+    @Test
+    public void testRemoveAtSegmentBoundaries() throws IOException {
+        ByteArrayModel model = new ByteArrayModel(createSourceData());
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+        data.insert(1000, createInsertedData(0, 50));
+        model.insert(1000, createInsertedData(0, 50));
+
+        // Removal of whole inserted segment, segment parts and spans over segments
+        data.remove(1000, 50);
+        model.remove(1000, 50);
+        assertMatches(model, data);
+        data.insert(500, createInsertedData(1, 20));
+        model.insert(500, createInsertedData(1, 20));
+        data.remove(510, 30);
+        model.remove(510, 30);
+        assertMatches(model, data);
+        data.remove(490, 15);
+        model.remove(490, 15);
+        assertMatches(model, data);
+        data.remove(0, 1);
+        model.remove(0, 1);
+        data.remove(model.length() - 1, 1);
+        model.remove(model.length() - 1, 1);
+        assertMatches(model, data);
+
+        data.remove(0, model.length());
+        model.remove(0, model.length());
+        assertMatches(model, data);
+        data.insert(0, new byte[]{7, 8, 9});
+        model.insert(0, new byte[]{7, 8, 9});
+        assertMatches(model, data);
+    }
+
+    @Test
+    public void testReplaceAndSetByte() throws IOException {
+        ByteArrayModel model = new ByteArrayModel(createSourceData());
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+
+        byte[] replacement = createInsertedData(3, 40);
+        data.replace(DeltaDataPageWindow.PAGE_SIZE - 20, replacement);
+        model.replace(DeltaDataPageWindow.PAGE_SIZE - 20, replacement);
+        assertMatches(model, data);
+
+        // Replacement extending data beyond its end
+        data.replace(model.length() - 10, replacement);
+        model.replace(model.length() - 10, replacement);
+        assertMatches(model, data);
+
+        long[] positions = new long[]{0, 1, DeltaDataPageWindow.PAGE_SIZE - 21, DeltaDataPageWindow.PAGE_SIZE - 20, DeltaDataPageWindow.PAGE_SIZE + 20, model.length() - 1};
+        for (long position : positions) {
+            data.setByte(position, (byte) 0x5a);
+            model.setByte((int) position, (byte) 0x5a);
+            assertMatches(model, data);
+        }
+    }
+
+    @Test
+    public void testCopy() throws IOException {
+        ByteArrayModel model = new ByteArrayModel(createSourceData());
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+        data.insert(100, createInsertedData(4, 30));
+        model.insert(100, createInsertedData(4, 30));
+        data.remove(DeltaDataPageWindow.PAGE_SIZE, 10);
+        model.remove(DeltaDataPageWindow.PAGE_SIZE, 10);
+
+        assertArrayEquals(model.toArray(), toArray(data.copy()));
+        int[][] ranges = new int[][]{{0, 100}, {90, 50}, {100, 30}, {110, 2000}, {0, model.length()}};
+        for (int[] range : ranges) {
+            byte[] expected = Arrays.copyOfRange(model.toArray(), range[0], range[0] + range[1]);
+            assertArrayEquals(expected, toArray(data.copy(range[0], range[1])));
+        }
+    }
+
+    @Test
+    public void testReplaceRanges() throws IOException {
+        long[] positions = new long[]{0, 99, 110, DeltaDataPageWindow.PAGE_SIZE - 2, DeltaDataPageWindow.PAGE_SIZE * 2, SOURCE_LENGTH + 30 - 4};
+        int[] replacementLengths = new int[]{0, 1, 4, 7};
+        for (int replacementLength : replacementLengths) {
+            ByteArrayModel model = new ByteArrayModel(createSourceData());
+            DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+            // Ranges spanning both inserted and document segments
+            data.insert(100, createInsertedData(5, 30));
+            model.insert(100, createInsertedData(5, 30));
+
+            byte[] replacement = createInsertedData(6, replacementLength * positions.length);
+            MemoryPagedData replacementData = new MemoryPagedData();
+            replacementData.insert(0, replacement);
+            data.replaceRanges(positions, 4, replacementData, replacementLength, false);
+            for (int i = positions.length - 1; i >= 0; i--) {
+                model.remove((int) positions[i], 4);
+                model.insert((int) positions[i], Arrays.copyOfRange(replacement, replacementLength * i, replacementLength * (i + 1)));
+            }
+            assertMatches(model, data);
+
+            data.insert(3, new byte[]{1, 2});
+            model.insert(3, new byte[]{1, 2});
+            assertMatches(model, data);
+        }
+    }
+
+    @Test
+    public void testCopyReadInOtherThread() throws Exception {
+        byte[] sourceData = createSourceData();
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(sourceData));
+        data.insert(10, createInsertedData(6, 10));
+        final byte[] expected = toArray(data);
+        final BinaryData snapshot = data.copy();
+        final Throwable[] failure = new Throwable[1];
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    byte[] actual = new byte[expected.length];
+                    for (int i = 0; i < 5000; i++) {
+                        snapshot.copyToArray(0, actual, 0, actual.length);
+                        assertArrayEquals(expected, actual);
+                    }
+                } catch (Throwable ex) {
+                    failure[0] = ex;
+                }
+            }
+        });
+        reader.start();
+
+        // Original data are edited and read from other pages of the same source
+        Random random = new Random(1);
+        byte[] buffer = new byte[DeltaDataPageWindow.PAGE_SIZE];
+        while (reader.isAlive()) {
+            data.insert(random.nextInt((int) data.getDataSize()), new byte[]{1});
+            data.copyToArray(random.nextInt((int) data.getDataSize() - buffer.length), buffer, 0, buffer.length);
+        }
+        reader.join();
+        assertNull(failure[0]);
+    }
+
+    @Test
+    public void testRandomModifications() throws IOException {
+        Random random = new Random(42);
+        ByteArrayModel model = new ByteArrayModel(createSourceData());
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+        for (int i = 0; i < 300; i++) {
+            int position = random.nextInt(model.length() + 1);
+            switch (random.nextInt(4)) {
+                case 0: {
+                    byte[] inserted = createInsertedData(i, 1 + random.nextInt(100));
+                    data.insert(position, inserted);
+                    model.insert(position, inserted);
+                    break;
+                }
+                case 1: {
+                    int length = Math.min(random.nextInt(200), model.length() - position);
+                    data.remove(position, length);
+                    model.remove(position, length);
+                    break;
+                }
+                case 2: {
+                    byte[] replacement = createInsertedData(i, 1 + random.nextInt(100));
+                    data.replace(position, replacement);
+                    model.replace(position, replacement);
+                    break;
+                }
+                default: {
+                    if (position < model.length()) {
+                        data.setByte(position, (byte) i);
+                        model.setByte(position, (byte) i);
+                    }
+                }
+            }
+            if (i % 10 == 0) {
+                assertMatches(model, data);
+            }
+        }
+        assertMatches(model, data);
+    }
+
+    @Test
+    public void testChannelWriteAndTruncate() throws IOException {
+        ByteArrayModel model = new ByteArrayModel(createSourceData());
+        DeltaHexadecimalData data = new DeltaHexadecimalData(new ByteArrayDataSource(model.toArray()));
+        DeltaHexadecimalDataChannel channel = new DeltaHexadecimalDataChannel(data);
+
+        byte[] written = createInsertedData(5, 16);
+        channel.position(DeltaDataPageWindow.PAGE_SIZE - 8);
+        assertEquals(16, channel.write(ByteBuffer.wrap(written)));
+        model.replace(DeltaDataPageWindow.PAGE_SIZE - 8, written);
+        assertMatches(model, data);
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(4);
+        directBuffer.put(new byte[]{1, 2, 3, 4}).flip();
+        channel.position(model.length() + 2);
+        channel.write(directBuffer);
+        model.replace(model.length(), new byte[]{0, 0, 1, 2, 3, 4});
+        assertMatches(model, data);
+
+        channel.truncate(2000);
+        model.remove(2000, model.length() - 2000);
+        assertEquals(2000, channel.position());
+        assertMatches(model, data);
+    }
+
+    /**
+     * Compares data with model using all access methods.
+     */
+    private static void assertMatches(ByteArrayModel model, DeltaHexadecimalData data) throws IOException {
+        byte[] expected = model.toArray();
+        assertEquals(expected.length, data.getDataSize());
+        byte[] actual = new byte[expected.length];
+        data.copyToArray(0, actual, 0, actual.length);
+        assertArrayEquals(expected, actual);
+
+        for (int position = 0; position < expected.length; position += 37) {
+            assertEquals(expected[position], data.getByte(position));
+        }
+        if (expected.length > 0) {
+            assertEquals(expected[expected.length - 1], data.getByte(expected.length - 1));
+        }
+
+        final byte[] collected = new byte[expected.length];
+        final int[] nextPosition = new int[1];
+        data.forEachBuffer(0, expected.length, new DeltaHexadecimalData.BufferConsumer() {
+            @Override
+            public void accept(long bufferPosition, ByteBuffer buffer) {
+                assertEquals(nextPosition[0], bufferPosition);
+                int length = buffer.remaining();
+                buffer.get(collected, (int) bufferPosition, length);
+                nextPosition[0] += length;
+            }
+        });
+        assertArrayEquals(expected, collected);
+
+        // Channel reads of odd sizes crossing segment and page boundaries
+        assertChannelReads(expected, data, ByteBuffer.allocate(97));
+        assertChannelReads(expected, data, ByteBuffer.allocateDirect(1021));
+    }
+
+    private static void assertChannelReads(byte[] expected, DeltaHexadecimalData data, ByteBuffer buffer) throws IOException {
+        DeltaHexadecimalDataChannel channel = new DeltaHexadecimalDataChannel(data, false);
+        byte[] actual = new byte[expected.length];
+        int position = 0;
+        while (true) {
+            buffer.clear();
+            int red = channel.read(buffer);
+            if (red < 0) {
+                break;
+            }
+            buffer.flip();
+            buffer.get(actual, position, red);
+            position += red;
+            assertEquals(position, channel.position());
+        }
+        assertEquals(expected.length, position);
+        assertArrayEquals(expected, actual);
+        channel.close();
+    }
+
+    private static byte[] toArray(BinaryData binaryData) {
+        byte[] result = new byte[(int) binaryData.getDataSize()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = binaryData.getByte(i);
+        }
+        return result;
+    }
+
+    private static byte[] createSourceData() {
+        byte[] sourceData = new byte[SOURCE_LENGTH];
+        for (int i = 0; i < sourceData.length; i++) {
+            sourceData[i] = (byte) (i * 7 + (i >> 8));
+        }
+        return sourceData;
+    }
+
+    private static byte[] createInsertedData(int seed, int length) {
+        byte[] insertedData = new byte[length];
+        for (int i = 0; i < length; i++) {
+            insertedData[i] = (byte) (0x80 + seed * 13 + i);
+        }
+        return insertedData;
+    }
+
+    /**
+     * Data source reading from byte array.
+     */
+    private static class ByteArrayDataSource extends DeltaDataSource {
+
+        private final byte[] content;
+
+        public ByteArrayDataSource(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public long getFileLength() {
+            return content.length;
+        }
+
+        @Override
+        public int read(long position, byte[] target, int offset, int length) {
+            if (position >= content.length) {
+                return 0;
+            }
+            int copyLength = (int) Math.min(length, content.length - position);
+            System.arraycopy(content, (int) position, target, offset, copyLength);
+            return copyLength;
+        }
+    }
+
+    /**
+     * Reference model of editable data.
+     */
+    private static class ByteArrayModel {
+
+        private byte[] content;
+
+        public ByteArrayModel(byte[] content) {
+            this.content = content.clone();
+        }
+
+        public int length() {
+            return content.length;
+        }
+
+        public byte[] toArray() {
+            return content.clone();
+        }
+
+        public void insert(int position, byte[] inserted) {
+            byte[] newContent = new byte[content.length + inserted.length];
+            System.arraycopy(content, 0, newContent, 0, position);
+            System.arraycopy(inserted, 0, newContent, position, inserted.length);
+            System.arraycopy(content, position, newContent, position + inserted.length, content.length - position);
+            content = newContent;
+        }
+
+        public void remove(int position, int length) {
+            byte[] newContent = new byte[content.length - length];
+            System.arraycopy(content, 0, newContent, 0, position);
+            System.arraycopy(content, position + length, newContent, position, content.length - position - length);
+            content = newContent;
+        }
+
+        public void replace(int position, byte[] replacement) {
+            if (position + replacement.length > content.length) {
+                content = Arrays.copyOf(content, position + replacement.length);
+            }
+            System.arraycopy(replacement, 0, content, position, replacement.length);
+        }
+
+        public void setByte(int position, byte value) {
+            content[position] = value;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for process memory data source.
+ *
+ * Tests open address space of running JVM and are skipped where proc
+ * filesystem is not available.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ProcessMemoryDataSourceTest {
+
+    private static final int COMPARED_LENGTH = 64;
+
+    public ProcessMemoryDataSourceTest() {
+    }
+
+    @Test
+    public void testRegionsParsed() throws IOException {
+        ProcessMemoryDataSource source = openOwnProcess();
+        try {
+            List<ProcessMemoryDataSource.Region> regions = source.getRegions();
+            assertFalse(regions.isEmpty());
+            long previousEnd = 0;
+            for (ProcessMemoryDataSource.Region region : regions) {
+                assertTrue(region.getStart() < region.getEnd());
+                assertTrue(region.getStart() >= previousEnd);
+                assertEquals(region, source.getRegion(region.getStart()));
+                assertEquals(region, source.getRegion(region.getEnd() - 1));
+                previousEnd = region.getEnd();
+            }
+            assertEquals(previousEnd, source.getFileLength());
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void testMappedLibraryContent() throws IOException {
+        ProcessMemoryDataSource source = openOwnProcess();
+        try {
+            // Lowest mapping of shared library starts with file offset 0
+            Set<String> visitedPaths = new HashSet<>();
+            int compared = 0;
+            for (ProcessMemoryDataSource.Region region : source.getRegions()) {
+                String path = region.getPath();
+                if (!visitedPaths.add(path) || !path.endsWith(".so") || !region.isReadable()) {
+                    continue;
+                }
+                File file = new File(path);
+                if (!file.isFile() || file.length() < COMPARED_LENGTH) {
+                    continue;
+                }
+
+                byte[] expected = new byte[COMPARED_LENGTH];
+                try (RandomAccessFile libraryFile = new RandomAccessFile(file, "r")) {
+                    libraryFile.readFully(expected);
+                }
+                byte[] actual = new byte[COMPARED_LENGTH];
+                assertEquals(COMPARED_LENGTH, source.read(region.getStart(), actual, 0, COMPARED_LENGTH));
+                assertArrayEquals(path, expected, actual);
+                assertTrue(source.isMapped(region.getStart()));
+                compared++;
+            }
+            assertTrue("No mapped library found", compared > 0);
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void testUnmappedGapReadAsZeros() throws IOException {
+        ProcessMemoryDataSource source = openOwnProcess();
+        try {
+            List<ProcessMemoryDataSource.Region> regions = source.getRegions();
+            int checked = 0;
+            for (int i = 0; i + 1 < regions.size() && checked < 8; i++) {
+                ProcessMemoryDataSource.Region region = regions.get(i);
+                long gapStart = region.getEnd();
+                long gapEnd = regions.get(i + 1).getStart();
+                if (gapStart == gapEnd) {
+                    continue;
+                }
+
+                // Read across end of the region and into the gap
+                int gapLength = (int) Math.min(gapEnd - gapStart, COMPARED_LENGTH);
+                int length = COMPARED_LENGTH + gapLength;
+                byte[] buffer = new byte[length];
+                Arrays.fill(buffer, (byte) 0x55);
+                assertEquals(length, source.read(gapStart - COMPARED_LENGTH, buffer, 0, length));
+                for (int j = COMPARED_LENGTH; j < length; j++) {
+                    assertEquals(0, buffer[j]);
+                }
+                assertNull(source.getRegion(gapStart));
+                assertFalse(source.isMapped(gapStart));
+                assertFalse(source.isMapped(gapEnd - 1));
+                checked++;
+            }
+            assertTrue("No gap between regions found", checked > 0);
+        } finally {
+            source.close();
+        }
+    }
+
+    private static ProcessMemoryDataSource openOwnProcess() throws IOException {
+        File selfDirectory = new File("/proc/self");
+        assumeTrue(System.getProperty("os.name").startsWith("Linux") && selfDirectory.isDirectory());
+        long pid = Long.parseLong(selfDirectory.getCanonicalFile().getName());
+        return new ProcessMemoryDataSource(pid);
+    }
+}
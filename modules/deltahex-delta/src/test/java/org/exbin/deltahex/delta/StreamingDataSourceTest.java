@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for streaming data source.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class StreamingDataSourceTest {
+
+    public StreamingDataSourceTest() {
+    }
+
+    @Test
+    public void testReceiveBlocks() throws Exception {
+        PipedOutputStream output = new PipedOutputStream();
+        PipedInputStream input = new PipedInputStream(output, 4096);
+        File cacheFile = File.createTempFile("deltahex-test", ".tmp");
+        StreamingDataSource source = new StreamingDataSource(input, cacheFile);
+        DeltaHexadecimalData data = new DeltaHexadecimalData(source);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+        byte[] firstBlock = createBlock(1, 1000);
+        output.write(firstBlock);
+        output.flush();
+        assertEquals(1000, source.waitForData(1000));
+        assertTrue(data.updateSourceLength());
+        assertFalse(data.updateSourceLength());
+        expected.write(firstBlock);
+        assertContent(expected.toByteArray(), data);
+
+        // Received data are appended after modified data
+        data.insert(0, new byte[]{-1, -2});
+        byte[] secondBlock = createBlock(2, DeltaDataPageWindow.PAGE_SIZE + 300);
+        output.write(secondBlock);
+        output.flush();
+        long receivedLength = firstBlock.length + secondBlock.length;
+        assertEquals(receivedLength, source.waitForData(receivedLength));
+        assertTrue(data.updateSourceLength());
+        assertEquals(receivedLength + 2, data.getDataSize());
+        expected.reset();
+        expected.write(new byte[]{-1, -2});
+        expected.write(firstBlock);
+        expected.write(secondBlock);
+        assertContent(expected.toByteArray(), data);
+
+        // Data received after clear are accessible
+        data.clear();
+        byte[] thirdBlock = createBlock(3, 500);
+        output.write(thirdBlock);
+        output.close();
+        receivedLength += thirdBlock.length;
+        assertEquals(receivedLength, source.waitForData(Long.MAX_VALUE));
+        assertTrue(source.isFinished());
+        assertNull(source.getReceiveException());
+        assertTrue(data.updateSourceLength());
+        assertContent(thirdBlock, data);
+
+        source.close();
+        assertFalse(cacheFile.exists());
+    }
+
+    private static byte[] createBlock(int seed, int length) {
+        byte[] block = new byte[length];
+        for (int i = 0; i < length; i++) {
+            block[i] = (byte) (seed * 31 + i * 7);
+        }
+        return block;
+    }
+
+    private static void assertContent(byte[] expected, DeltaHexadecimalData data) {
+        assertEquals(expected.length, data.getDataSize());
+        byte[] content = new byte[expected.length];
+        data.copyToArray(0, content, 0, content.length);
+        assertArrayEquals(expected, content);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], data.getByte(i));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.delta.transform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.ByteArrayEditableData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for transformed binary data and data transformations.
+ *
+ * Transformed views are read at unaligned positions and lengths and compared
+ * with transformation of whole data.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class TransformedBinaryDataTest {
+
+    private static final int DATA_SIZE = TransformedBinaryData.CHUNK_SIZE + 1003;
+
+    public TransformedBinaryDataTest() {
+    }
+
+    @Test
+    public void testXorTransformation() {
+        byte[] key = new byte[]{0x11, 0x22, 0x33, 0x44, 0x55};
+        byte[] source = createSourceData();
+        byte[] expected = source.clone();
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] ^= key[i % key.length];
+        }
+
+        checkTransformation(source, expected, new XorTransformation(key), new XorTransformation(key));
+    }
+
+    @Test
+    public void testAddTransformation() {
+        byte[] source = createSourceData();
+        byte[] expected = source.clone();
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] += 100;
+        }
+
+        checkTransformation(source, expected, new AddTransformation(100), new AddTransformation(-100));
+    }
+
+    @Test
+    public void testByteSwapTransformation() {
+        int[] wordSizes = new int[]{2, 4, 8};
+        for (int wordSize : wordSizes) {
+            byte[] source = createSourceData();
+            byte[] expected = source.clone();
+            // Trailing bytes of incomplete word are kept
+            for (int wordStart = 0; wordStart + wordSize <= expected.length; wordStart += wordSize) {
+                for (int i = 0; i < wordSize; i++) {
+                    expected[wordStart + i] = source[wordStart + wordSize - 1 - i];
+                }
+            }
+
+            checkTransformation(source, expected, new ByteSwapTransformation(wordSize), new ByteSwapTransformation(wordSize));
+        }
+    }
+
+    @Test
+    public void testCounterModeTransformation() throws Exception {
+        SecretKey key = new SecretKeySpec(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}, "AES");
+        // Counter close to overflow of the lowest bytes to check carry
+        byte[] initialCounter = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, (byte) 0xff, (byte) 0xff, (byte) 0xf0};
+        byte[] source = createSourceData();
+        Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(initialCounter));
+        byte[] expected = cipher.doFinal(source);
+
+        checkTransformation(source, expected, new CounterModeTransformation("AES", key, initialCounter), new CounterModeTransformation("AES", key, initialCounter));
+
+        // Ranges around counter block boundaries
+        TransformedBinaryData transformed = new TransformedBinaryData(new ByteArrayEditableData(source), new CounterModeTransformation("AES", key, initialCounter));
+        for (int position = 14; position < 50; position++) {
+            for (int length = 0; length < 20; length++) {
+                byte[] target = new byte[length];
+                transformed.copyToArray(position, target, 0, length);
+                assertArrayEquals("Position " + position + " length " + length, Arrays.copyOfRange(expected, position, position + length), target);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        try {
+            new ByteSwapTransformation(3);
+            fail("Word size 3 should be rejected");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+        try {
+            new XorTransformation(new byte[0]);
+            fail("Empty key should be rejected");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+
+    /**
+     * Checks transformed view against expected data and round trip of
+     * transformation followed by inverse transformation.
+     */
+    private static void checkTransformation(byte[] source, byte[] expected, DataTransformation transformation, DataTransformation inverseTransformation) {
+        TransformedBinaryData transformed = new TransformedBinaryData(new ByteArrayEditableData(source.clone()), transformation);
+        assertEquals(source.length, transformed.getDataSize());
+        assertArrayEquals(expected, readAll(transformed));
+        assertArrayEquals(expected, readStream(transformed));
+        assertRanges(expected, transformed, new Random(29));
+
+        // Copies start at unaligned offsets of source data
+        BinaryData copy = transformed.copy(5, source.length - 11);
+        assertArrayEquals(Arrays.copyOfRange(expected, 5, source.length - 6), readAll(copy));
+        assertRanges(Arrays.copyOfRange(expected, 5, source.length - 6), copy, new Random(30));
+        BinaryData nestedCopy = copy.copy(3, 1000);
+        assertArrayEquals(Arrays.copyOfRange(expected, 8, 1008), readAll(nestedCopy));
+
+        TransformedBinaryData roundTrip = new TransformedBinaryData(transformed, inverseTransformation);
+        assertArrayEquals(source, readAll(roundTrip));
+        assertRanges(source, roundTrip, new Random(31));
+        assertArrayEquals(Arrays.copyOfRange(source, 13, 13 + 4001), readAll(roundTrip.copy(13, 4001)));
+    }
+
+    private static void assertRanges(byte[] expected, BinaryData data, Random random) {
+        for (int i = 0; i < 200; i++) {
+            int position = random.nextInt(expected.length);
+            int length = random.nextInt(Math.min(100, expected.length - position) + 1);
+            byte[] target = new byte[length + 2];
+            data.copyToArray(position, target, 1, length);
+            assertArrayEquals("Position " + position + " length " + length, Arrays.copyOfRange(expected, position, position + length), Arrays.copyOfRange(target, 1, length + 1));
+            if (length > 0) {
+                assertEquals(expected[position + length - 1], data.getByte(position + length - 1));
+            }
+        }
+
+        // Range crossing chunk boundary
+        int position = TransformedBinaryData.CHUNK_SIZE - 7;
+        if (position + 1000 <= expected.length) {
+            byte[] target = new byte[1000];
+            data.copyToArray(position, target, 0, target.length);
+            assertArrayEquals(Arrays.copyOfRange(expected, position, position + 1000), target);
+        }
+    }
+
+    private static byte[] readAll(BinaryData data) {
+        byte[] result = new byte[(int) data.getDataSize()];
+        data.copyToArray(0, result, 0, result.length);
+        return result;
+    }
+
+    private static byte[] readStream(BinaryData data) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[777];
+        try (InputStream input = data.getDataInputStream()) {
+            int red;
+            while ((red = input.read(buffer)) >= 0) {
+                output.write(buffer, 0, red);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] createSourceData() {
+        byte[] source = new byte[DATA_SIZE];
+        new Random(28).nextBytes(source);
+        return source;
+    }
+}
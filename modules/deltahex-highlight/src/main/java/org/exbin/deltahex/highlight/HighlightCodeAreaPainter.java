@@ -16,30 +16,34 @@
 package org.exbin.deltahex.highlight;
 
 import java.awt.Color;
-import java.awt.Graphics;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import org.exbin.deltahex.DefaultCodeAreaPainter;
 import org.exbin.deltahex.CodeArea;
+import org.exbin.deltahex.HighlightLayer;
 
 /**
  * Hexadecimal component painter supporting search matches highlighting.
  *
- * @version 0.1.0 2016/06/24
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
 
-    /**
-     * Matches must be ordered by position.
-     */
-    private final List<SearchMatch> matches = new ArrayList<>();
+    private final SearchMatchStore matchStore = new SearchMatchStore();
     private int currentMatchIndex = -1;
-    private int matchIndex = 0;
-    private long matchPosition = -1;
 
     private CodeArea.ColorsGroup foundMatchesColors;
     private CodeArea.ColorsGroup currentMatchColors;
+    /**
+     * Colors for matches of specific groups indexed by group.
+     */
+    private CodeArea.ColorsGroup[] matchGroupsColors = new CodeArea.ColorsGroup[0];
+    private final HighlightLayer matchesLayer = new SearchMatchesLayer();
 
     public HighlightCodeAreaPainter(CodeArea codeArea) {
         super(codeArea);
@@ -50,72 +54,116 @@ public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
         currentMatchColors.setBackgroundColor(new Color(255, 210, 180));
     }
 
-    @Override
-    public void paintMainArea(Graphics g) {
-        matchIndex = 0;
-        super.paintMainArea(g);
+    /**
+     * Returns highlight layer of search matches.
+     *
+     * Layer is added to code area when painter is set.
+     *
+     * @return search matches layer
+     */
+    public HighlightLayer getMatchesLayer() {
+        return matchesLayer;
     }
 
     @Override
-    public Color getPositionColor(long lineDataPosition, long line, int byteOnLine, int charOnLine, CodeArea.Section section, CodeArea.ColorType colorType, PaintData paintData) {
-        if (section == CodeArea.Section.TEXT_PREVIEW || charOnLine < paintData.getBytesPerLine() * paintData.getCharsPerByte() - 1) {
-            long dataPosition = lineDataPosition + byteOnLine;
-            if (currentMatchIndex >= 0) {
-                SearchMatch currentMatch = matches.get(currentMatchIndex);
-                if (dataPosition >= currentMatch.position && dataPosition < currentMatch.position + currentMatch.length
-                        && (section == CodeArea.Section.TEXT_PREVIEW || charOnLine != ((currentMatch.position + currentMatch.length) - lineDataPosition) * paintData.getCharsPerByte() - 1)) {
-                    return currentMatchColors.getColor(colorType);
-                }
-            }
+    public List<HighlightLayer> getHighlightLayers() {
+        return Collections.singletonList(matchesLayer);
+    }
 
-            if (matchPosition < lineDataPosition) {
-                matchIndex = 0;
-            }
-            int lineMatchIndex = matchIndex;
-            while (lineMatchIndex < matches.size()) {
-                SearchMatch match = matches.get(lineMatchIndex);
-                if (dataPosition >= match.position && dataPosition < match.position + match.length
-                        && (section == CodeArea.Section.TEXT_PREVIEW || charOnLine != ((match.position + match.length) - lineDataPosition) * paintData.getCharsPerByte() - 1)) {
-                    if (byteOnLine == 0) {
-                        matchIndex = lineMatchIndex;
-                        matchPosition = match.position;
-                    }
-                    return foundMatchesColors.getColor(colorType);
-                }
+    private CodeArea.ColorsGroup getMatchColors(int group) {
+        if (group >= 0 && group < matchGroupsColors.length && matchGroupsColors[group] != null) {
+            return matchGroupsColors[group];
+        }
 
-                if (match.position > dataPosition) {
-                    break;
-                }
+        return foundMatchesColors;
+    }
 
-                if (byteOnLine == 0) {
-                    matchIndex = lineMatchIndex;
-                    matchPosition = match.position;
-                }
-                lineMatchIndex++;
+    /**
+     * Returns read only view of matches.
+     *
+     * Items are created on access from compact match store. Returned list
+     * cannot be modified and changes of returned items are not reflected, use
+     * {@link #setMatches(List)}, {@link #addMatches(List)} or
+     * {@link #clearMatches()} to change matches.
+     *
+     * @return list of matches ordered by position
+     */
+    public List<SearchMatch> getMatches() {
+        return new AbstractList<SearchMatch>() {
+            @Override
+            public SearchMatch get(int index) {
+                return matchStore.get(index);
             }
-        }
 
-        return super.getPositionColor(lineDataPosition, line, byteOnLine, charOnLine, section, colorType, paintData);
+            @Override
+            public int size() {
+                return matchStore.size();
+            }
+        };
     }
 
-    public List<SearchMatch> getMatches() {
-        return matches;
+    /**
+     * Returns store of matches.
+     *
+     * @return match store
+     */
+    public SearchMatchStore getMatchStore() {
+        return matchStore;
     }
 
     public void setMatches(List<SearchMatch> matches) {
-        this.matches.clear();
-        this.matches.addAll(matches);
+        matchStore.clear();
         currentMatchIndex = -1;
+        List<SearchMatch> orderedMatches = matches;
+        for (int i = 1; i < matches.size(); i++) {
+            if (matches.get(i - 1).position > matches.get(i).position) {
+                orderedMatches = new ArrayList<>(matches);
+                Collections.sort(orderedMatches, new Comparator<SearchMatch>() {
+                    @Override
+                    public int compare(SearchMatch match1, SearchMatch match2) {
+                        return Long.compare(match1.position, match2.position);
+                    }
+                });
+                break;
+            }
+        }
+        for (SearchMatch match : orderedMatches) {
+            matchStore.add(match.position, match.length, match.group);
+        }
+    }
+
+    /**
+     * Adds batch of matches keeping matches ordered by position.
+     *
+     * Batch must be ordered by position. Batch covering range without
+     * existing matches is inserted without reordering of existing matches.
+     *
+     * @param batch ordered list of matches
+     */
+    public void addMatches(List<SearchMatch> batch) {
+        if (currentMatchIndex < 0) {
+            matchStore.addAll(batch);
+            return;
+        }
+
+        long currentMatchPosition = matchStore.getPosition(currentMatchIndex);
+        long currentMatchLength = matchStore.getLength(currentMatchIndex);
+        matchStore.addAll(batch);
+        int index = matchStore.findIndex(currentMatchPosition);
+        while (matchStore.getLength(index) != currentMatchLength && index + 1 < matchStore.size() && matchStore.getPosition(index + 1) == currentMatchPosition) {
+            index++;
+        }
+        currentMatchIndex = index;
     }
 
     public void clearMatches() {
-        this.matches.clear();
+        matchStore.clear();
         currentMatchIndex = -1;
     }
 
     public SearchMatch getCurrentMatch() {
         if (currentMatchIndex >= 0) {
-            return matches.get(currentMatchIndex);
+            return matchStore.get(currentMatchIndex);
         }
 
         return null;
@@ -145,6 +193,83 @@ public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
         this.currentMatchColors.setBackgroundColor(currentMatchBackgroundColor);
     }
 
+    /**
+     * Returns background color of matches of given group.
+     *
+     * @param group match group
+     * @return background color, found matches color if not set for group
+     */
+    public Color getMatchGroupBackgroundColor(int group) {
+        return getMatchColors(group).getBackgroundColor();
+    }
+
+    /**
+     * Sets background color for matches of given group.
+     *
+     * @param group match group
+     * @param backgroundColor background color or null to use found matches
+     * color
+     */
+    public void setMatchGroupBackgroundColor(int group, Color backgroundColor) {
+        if (group < 0) {
+            throw new IllegalArgumentException("Group cannot be negative");
+        }
+        if (backgroundColor == null) {
+            if (group < matchGroupsColors.length) {
+                matchGroupsColors[group] = null;
+            }
+            return;
+        }
+
+        if (group >= matchGroupsColors.length) {
+            matchGroupsColors = Arrays.copyOf(matchGroupsColors, group + 1);
+        }
+        CodeArea.ColorsGroup groupColors = new CodeArea.ColorsGroup(foundMatchesColors);
+        groupColors.setBackgroundColor(backgroundColor);
+        matchGroupsColors[group] = groupColors;
+    }
+
+    public void clearMatchGroupColors() {
+        matchGroupsColors = new CodeArea.ColorsGroup[0];
+    }
+
+    /**
+     * Highlight layer of search matches.
+     */
+    private class SearchMatchesLayer implements HighlightLayer, SearchMatchStore.MatchIndexConsumer {
+
+        private HighlightLayer.HighlightConsumer consumer;
+
+        @Override
+        public int getPriority() {
+            return PRIORITY_SEARCH;
+        }
+
+        @Override
+        public void addHighlights(long startPosition, long endPosition, HighlightLayer.HighlightConsumer consumer) {
+            // Earlier matches have priority over following overlapping matches
+            this.consumer = consumer;
+            matchStore.findIntersecting(startPosition, endPosition, this);
+            this.consumer = null;
+
+            if (currentMatchIndex >= 0) {
+                long currentMatchPosition = matchStore.getPosition(currentMatchIndex);
+                long currentMatchEnd = currentMatchPosition + matchStore.getLength(currentMatchIndex);
+                if (currentMatchPosition < endPosition && currentMatchEnd > startPosition) {
+                    consumer.addHighlight(currentMatchPosition, currentMatchEnd, currentMatchColors, currentMatchColors);
+                }
+            }
+        }
+
+        @Override
+        public void accept(int index) {
+            long matchPosition = matchStore.getPosition(index);
+            long matchEnd = matchPosition + matchStore.getLength(index);
+            CodeArea.ColorsGroup matchColors = getMatchColors(matchStore.getGroup(index));
+            consumer.addHighlight(matchPosition, matchEnd, matchColors, matchColors);
+        }
+    }
+
     /**
      * Simple POJO class for search match.
      */
@@ -152,6 +277,7 @@ public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
 
         private long position;
         private long length;
+        private int group;
 
         public SearchMatch() {
         }
@@ -161,6 +287,12 @@ public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
             this.length = length;
         }
 
+        public SearchMatch(long position, long length, int group) {
+            this.position = position;
+            this.length = length;
+            this.group = group;
+        }
+
         public long getPosition() {
             return position;
         }
@@ -176,5 +308,18 @@ public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
         public void setLength(long length) {
             this.length = length;
         }
+
+        /**
+         * Returns group used to select match colors.
+         *
+         * @return group, 0 by default
+         */
+        public int getGroup() {
+            return group;
+        }
+
+        public void setGroup(int group) {
+            this.group = group;
+        }
     }
 }
@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.highlight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact storage of search matches ordered by position.
+ *
+ * Matches are stored in primitive arrays split to pages, so large result sets
+ * don't require single huge allocation and batches can be inserted without
+ * shifting of all following matches.
+ *
+ * Matches of each page form implicit balanced interval tree with maximum end
+ * of matches in subtree of each node, like in ranges highlight layer, so
+ * matches intersecting given range are found without scanning matches which
+ * end before it regardless of lengths of other matches.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class SearchMatchStore {
+
+    public static final int PAGE_SIZE = 65536;
+
+    private final List<Page> pages = new ArrayList<>();
+    /**
+     * Index of the first match of each page with total count as last item.
+     */
+    private int[] pageStarts = new int[]{0};
+    /**
+     * Maximum end of matches of each page and all previous pages.
+     */
+    private long[] pagePrefixMaxEnds = new long[0];
+    private long maxLength = 0;
+    private int lastPageIndex = 0;
+
+    public int size() {
+        return pageStarts[pages.size()];
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        pages.clear();
+        pageStarts = new int[]{0};
+        pagePrefixMaxEnds = new long[0];
+        maxLength = 0;
+        lastPageIndex = 0;
+    }
+
+    public long getPosition(int index) {
+        Page page = getPage(index);
+        return page.positions[index - pageStarts[lastPageIndex]];
+    }
+
+    public long getLength(int index) {
+        Page page = getPage(index);
+        return page.lengths[index - pageStarts[lastPageIndex]];
+    }
+
+    public int getGroup(int index) {
+        Page page = getPage(index);
+        return page.groups == null ? 0 : page.groups[index - pageStarts[lastPageIndex]];
+    }
+
+    /**
+     * Returns match at given index as new object.
+     *
+     * @param index match index
+     * @return search match
+     */
+    public HighlightCodeAreaPainter.SearchMatch get(int index) {
+        return new HighlightCodeAreaPainter.SearchMatch(getPosition(index), getLength(index), getGroup(index));
+    }
+
+    /**
+     * Returns page containing given index and sets it as last accessed page.
+     */
+    private Page getPage(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Match index out of range: " + index);
+        }
+        if (index >= pageStarts[lastPageIndex] && index < pageStarts[lastPageIndex + 1]) {
+            return pages.get(lastPageIndex);
+        }
+
+        int low = 0;
+        int high = pages.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (pageStarts[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        lastPageIndex = low;
+        return pages.get(low);
+    }
+
+    /**
+     * Returns maximum length of stored match.
+     *
+     * @return maximum length
+     */
+    public long getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns index of the first match with position greater or equal to given
+     * position.
+     *
+     * @param position position
+     * @return match index or size if there is no such match
+     */
+    public int findIndex(long position) {
+        // Find last page starting before position
+        int low = 0;
+        int high = pages.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (pages.get(middle).positions[0] < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == 0) {
+            return 0;
+        }
+
+        int pageIndex = low - 1;
+        Page page = pages.get(pageIndex);
+        low = 0;
+        high = page.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (page.positions[middle] < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return pageStarts[pageIndex] + low;
+    }
+
+    /**
+     * Reports indexes of all matches intersecting given range.
+     *
+     * Indexes are reported in descending order, so that consumer painting
+     * matches can paint earlier matches over following ones.
+     *
+     * @param startPosition start position
+     * @param endPosition end position, exclusive
+     * @param consumer consumer of match indexes
+     */
+    public void findIntersecting(long startPosition, long endPosition, MatchIndexConsumer consumer) {
+        // Last page starting before end position
+        int low = 0;
+        int high = pages.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (pages.get(middle).positions[0] < endPosition) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (int pageIndex = low - 1; pageIndex >= 0; pageIndex--) {
+            if (pagePrefixMaxEnds[pageIndex] <= startPosition) {
+                break;
+            }
+            Page page = pages.get(pageIndex);
+            if (page.maxEnd <= startPosition) {
+                continue;
+            }
+            page.ensureIndex();
+            page.findIntersecting(0, page.count, startPosition, endPosition, pageStarts[pageIndex], consumer);
+        }
+    }
+
+    /**
+     * Appends match after existing matches.
+     *
+     * @param position match position, must not be lower than position of last
+     * match
+     * @param length match length
+     * @param group match group
+     */
+    public void add(long position, long length, int group) {
+        Page page = pages.isEmpty() ? null : pages.get(pages.size() - 1);
+        if (page != null && page.positions[page.count - 1] > position) {
+            throw new IllegalArgumentException("Matches must be added in order of position");
+        }
+        if (page == null || page.isFull()) {
+            page = new Page(PAGE_SIZE);
+            pages.add(page);
+            pageStarts = Arrays.copyOf(pageStarts, pageStarts.length + 1);
+            pageStarts[pageStarts.length - 1] = pageStarts[pageStarts.length - 2];
+            pagePrefixMaxEnds = Arrays.copyOf(pagePrefixMaxEnds, pagePrefixMaxEnds.length + 1);
+            pagePrefixMaxEnds[pagePrefixMaxEnds.length - 1] = pagePrefixMaxEnds.length > 1 ? pagePrefixMaxEnds[pagePrefixMaxEnds.length - 2] : Long.MIN_VALUE;
+        }
+        page.add(position, length, group);
+        pageStarts[pages.size()]++;
+        int lastIndex = pagePrefixMaxEnds.length - 1;
+        pagePrefixMaxEnds[lastIndex] = Math.max(pagePrefixMaxEnds[lastIndex], position + length);
+        maxLength = Math.max(maxLength, length);
+    }
+
+    /**
+     * Adds ordered batch of matches.
+     *
+     * Batch covering range without existing matches is inserted as new pages.
+     * Batch interleaving with existing matches is merged with all stored
+     * matches, which takes O(n) time for n stored matches.
+     *
+     * @param batch ordered list of matches
+     * @return index of the first inserted match
+     */
+    public int addAll(List<HighlightCodeAreaPainter.SearchMatch> batch) {
+        if (batch.isEmpty()) {
+            return size();
+        }
+
+        long batchStart = batch.get(0).getPosition();
+        long batchLast = batch.get(batch.size() - 1).getPosition();
+        int index = findIndex(batchStart);
+        while (index < size() && getPosition(index) == batchStart) {
+            index++;
+        }
+        if (index == size()) {
+            for (HighlightCodeAreaPainter.SearchMatch match : batch) {
+                add(match.getPosition(), match.getLength(), match.getGroup());
+            }
+            return index;
+        }
+        if (getPosition(index) < batchLast) {
+            merge(batch);
+            return findIndex(batchStart);
+        }
+
+        // Split page at insertion point and insert batch pages between
+        int pageIndex = splitAt(index);
+        List<Page> batchPages = new ArrayList<>();
+        Page page = null;
+        for (HighlightCodeAreaPainter.SearchMatch match : batch) {
+            if (page == null || page.isFull()) {
+                page = new Page(Math.min(PAGE_SIZE, batch.size() - batchPages.size() * PAGE_SIZE));
+                batchPages.add(page);
+            }
+            page.add(match.getPosition(), match.getLength(), match.getGroup());
+            maxLength = Math.max(maxLength, match.getLength());
+        }
+        pages.addAll(pageIndex, batchPages);
+        updatePageStarts();
+        return index;
+    }
+
+    /**
+     * Splits page so that given index starts a page.
+     *
+     * @return index of page starting with given match index
+     */
+    private int splitAt(int index) {
+        getPage(index);
+        int pageIndex = lastPageIndex;
+        int offset = index - pageStarts[pageIndex];
+        if (offset == 0) {
+            return pageIndex;
+        }
+
+        Page page = pages.get(pageIndex);
+        Page tail = new Page(page.count - offset);
+        for (int i = offset; i < page.count; i++) {
+            tail.add(page.positions[i], page.lengths[i], page.groups == null ? 0 : page.groups[i]);
+        }
+        page.count = offset;
+        page.updateMaxEnd();
+        pages.add(pageIndex + 1, tail);
+        updatePageStarts();
+        return pageIndex + 1;
+    }
+
+    /**
+     * Merges interleaving ordered batch with all matches.
+     */
+    private void merge(List<HighlightCodeAreaPainter.SearchMatch> batch) {
+        List<Page> oldPages = new ArrayList<>(pages);
+        int[] oldPageStarts = pageStarts;
+        int oldSize = size();
+        clear();
+
+        int oldIndex = 0;
+        int oldPageIndex = 0;
+        int batchIndex = 0;
+        while (oldIndex < oldSize || batchIndex < batch.size()) {
+            if (oldIndex < oldSize) {
+                while (oldIndex >= oldPageStarts[oldPageIndex + 1]) {
+                    oldPageIndex++;
+                }
+            }
+            Page oldPage = oldIndex < oldSize ? oldPages.get(oldPageIndex) : null;
+            int offset = oldIndex - oldPageStarts[oldPageIndex];
+            if (batchIndex == batch.size() || (oldPage != null && oldPage.positions[offset] <= batch.get(batchIndex).getPosition())) {
+                add(oldPage.positions[offset], oldPage.lengths[offset], oldPage.groups == null ? 0 : oldPage.groups[offset]);
+                oldIndex++;
+            } else {
+                HighlightCodeAreaPainter.SearchMatch match = batch.get(batchIndex);
+                add(match.getPosition(), match.getLength(), match.getGroup());
+                batchIndex++;
+            }
+        }
+    }
+
+    private void updatePageStarts() {
+        int[] starts = new int[pages.size() + 1];
+        long[] prefixMaxEnds = new long[pages.size()];
+        long prefixMaxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < pages.size(); i++) {
+            Page page = pages.get(i);
+            starts[i + 1] = starts[i] + page.count;
+            prefixMaxEnd = Math.max(prefixMaxEnd, page.maxEnd);
+            prefixMaxEnds[i] = prefixMaxEnd;
+        }
+        pageStarts = starts;
+        pagePrefixMaxEnds = prefixMaxEnds;
+        lastPageIndex = 0;
+    }
+
+    /**
+     * Page of matches.
+     */
+    private static class Page {
+
+        private final long[] positions;
+        private final long[] lengths;
+        /**
+         * Groups are allocated only when non-default group is used.
+         */
+        private int[] groups = null;
+        private int count = 0;
+        private long maxEnd = Long.MIN_VALUE;
+        /**
+         * Maximum end of matches in subtree of each node of implicit tree.
+         */
+        private long[] maxEnds = null;
+        private boolean indexValid = false;
+
+        public Page(int capacity) {
+            positions = new long[capacity];
+            lengths = new long[capacity];
+        }
+
+        public boolean isFull() {
+            return count == positions.length;
+        }
+
+        public void add(long position, long length, int group) {
+            positions[count] = position;
+            lengths[count] = length;
+            if (group != 0 && groups == null) {
+                groups = new int[positions.length];
+            }
+            if (groups != null) {
+                groups[count] = group;
+            }
+            count++;
+            maxEnd = Math.max(maxEnd, position + length);
+            indexValid = false;
+        }
+
+        public void updateMaxEnd() {
+            maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                maxEnd = Math.max(maxEnd, positions[i] + lengths[i]);
+            }
+            indexValid = false;
+        }
+
+        public void ensureIndex() {
+            if (indexValid) {
+                return;
+            }
+            if (maxEnds == null) {
+                maxEnds = new long[positions.length];
+            }
+            buildIndex(0, count);
+            indexValid = true;
+        }
+
+        /**
+         * Computes maximum ends for subtree and returns it.
+         */
+        private long buildIndex(int low, int high) {
+            if (low >= high) {
+                return Long.MIN_VALUE;
+            }
+
+            int node = (low + high) >>> 1;
+            long subtreeMaxEnd = Math.max(positions[node] + lengths[node], Math.max(buildIndex(low, node), buildIndex(node + 1, high)));
+            maxEnds[node] = subtreeMaxEnd;
+            return subtreeMaxEnd;
+        }
+
+        /**
+         * Reports matches of subtree in descending order.
+         */
+        private void findIntersecting(int low, int high, long startPosition, long endPosition, int pageStart, MatchIndexConsumer consumer) {
+            while (low < high) {
+                int node = (low + high) >>> 1;
+                if (maxEnds[node] <= startPosition) {
+                    return;
+                }
+
+                if (positions[node] < endPosition) {
+                    findIntersecting(node + 1, high, startPosition, endPosition, pageStart, consumer);
+                    if (positions[node] + lengths[node] > startPosition) {
+                        consumer.accept(pageStart + node);
+                    }
+                }
+                high = node;
+            }
+        }
+    }
+
+    /**
+     * Consumer of match indexes.
+     */
+    public interface MatchIndexConsumer {
+
+        void accept(int index);
+    }
+}
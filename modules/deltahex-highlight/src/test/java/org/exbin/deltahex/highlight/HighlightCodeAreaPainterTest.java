@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.highlight;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.exbin.deltahex.CodeArea;
+import org.exbin.deltahex.DefaultCodeAreaPainter;
+import org.exbin.deltahex.HighlightLayer;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for highlighting code area painter.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class HighlightCodeAreaPainterTest {
+
+    public HighlightCodeAreaPainterTest() {
+    }
+
+    @Test
+    public void testMatchesLayerFollowsPainter() {
+        CodeArea codeArea = new CodeArea();
+        int baseLayersCount = codeArea.getHighlightLayers().size();
+
+        HighlightCodeAreaPainter painter = new HighlightCodeAreaPainter(codeArea);
+        assertFalse(codeArea.getHighlightLayers().contains(painter.getMatchesLayer()));
+        codeArea.setPainter(painter);
+        assertTrue(codeArea.getHighlightLayers().contains(painter.getMatchesLayer()));
+        assertEquals(baseLayersCount + 1, codeArea.getHighlightLayers().size());
+
+        List<HighlightCodeAreaPainter.SearchMatch> matches = new ArrayList<>();
+        matches.add(new HighlightCodeAreaPainter.SearchMatch(10, 4));
+        painter.setMatches(matches);
+        final List<Long> found = new ArrayList<>();
+        painter.getMatchesLayer().addHighlights(0, 100, new HighlightLayer.HighlightConsumer() {
+            @Override
+            public void addHighlight(long startPosition, long endPosition, CodeArea.ColorsGroup codeColors, CodeArea.ColorsGroup previewColors) {
+                found.add(startPosition);
+                found.add(endPosition);
+            }
+        });
+        assertEquals(2, found.size());
+        assertEquals(Long.valueOf(10), found.get(0));
+        assertEquals(Long.valueOf(14), found.get(1));
+
+        // Replaced painter doesn't leave its layer behind
+        HighlightCodeAreaPainter nextPainter = new HighlightCodeAreaPainter(codeArea);
+        codeArea.setPainter(nextPainter);
+        assertFalse(codeArea.getHighlightLayers().contains(painter.getMatchesLayer()));
+        assertTrue(codeArea.getHighlightLayers().contains(nextPainter.getMatchesLayer()));
+        assertEquals(baseLayersCount + 1, codeArea.getHighlightLayers().size());
+
+        codeArea.setPainter(new DefaultCodeAreaPainter(codeArea));
+        assertEquals(baseLayersCount, codeArea.getHighlightLayers().size());
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.highlight;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for search match store.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class SearchMatchStoreTest {
+
+    public SearchMatchStoreTest() {
+    }
+
+    @Test
+    public void testAddAcrossPages() {
+        SearchMatchStore store = new SearchMatchStore();
+        List<HighlightCodeAreaPainter.SearchMatch> model = new ArrayList<>();
+        int count = SearchMatchStore.PAGE_SIZE * 2 + 100;
+        for (int i = 0; i < count; i++) {
+            HighlightCodeAreaPainter.SearchMatch match = new HighlightCodeAreaPainter.SearchMatch(i * 3L, 2, i % 3);
+            store.add(match.getPosition(), match.getLength(), match.getGroup());
+            model.add(match);
+        }
+
+        assertMatches(model, store);
+        assertEquals(0, store.findIndex(-5));
+        assertEquals(SearchMatchStore.PAGE_SIZE, store.findIndex(SearchMatchStore.PAGE_SIZE * 3L));
+        assertEquals(SearchMatchStore.PAGE_SIZE + 1, store.findIndex(SearchMatchStore.PAGE_SIZE * 3L + 1));
+        assertEquals(count, store.findIndex(count * 3L));
+    }
+
+    @Test
+    public void testAddAllSplitsPage() {
+        SearchMatchStore store = new SearchMatchStore();
+        List<HighlightCodeAreaPainter.SearchMatch> model = new ArrayList<>();
+        int count = SearchMatchStore.PAGE_SIZE + 10;
+        for (int i = 0; i < count; i++) {
+            store.add(i * 1000L, 10, 0);
+            model.add(new HighlightCodeAreaPainter.SearchMatch(i * 1000L, 10));
+        }
+
+        // Batches inside gaps are inserted as new pages, in page and at page start
+        long[] gapStarts = new long[]{0, 5000, (SearchMatchStore.PAGE_SIZE - 1) * 1000L, count * 1000L};
+        for (long gapStart : gapStarts) {
+            List<HighlightCodeAreaPainter.SearchMatch> batch = new ArrayList<>();
+            for (int i = 1; i < 20; i++) {
+                batch.add(new HighlightCodeAreaPainter.SearchMatch(gapStart + i * 20, 5, 1));
+            }
+            int index = store.addAll(batch);
+            model.addAll(batch);
+            sortModel(model);
+            assertEquals(store.findIndex(batch.get(0).getPosition()), index);
+            assertMatches(model, store);
+        }
+    }
+
+    @Test
+    public void testAddAllMergesInterleavingBatch() {
+        SearchMatchStore store = new SearchMatchStore();
+        List<HighlightCodeAreaPainter.SearchMatch> model = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            store.add(i * 10L, 3, 0);
+            model.add(new HighlightCodeAreaPainter.SearchMatch(i * 10L, 3));
+        }
+
+        List<HighlightCodeAreaPainter.SearchMatch> batch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            batch.add(new HighlightCodeAreaPainter.SearchMatch(i * 20L + 5, 4, 2));
+        }
+        int index = store.addAll(batch);
+        model.addAll(batch);
+        sortModel(model);
+        assertEquals(1, index);
+        assertMatches(model, store);
+    }
+
+    @Test
+    public void testRandomBatches() {
+        Random random = new Random(7);
+        SearchMatchStore store = new SearchMatchStore();
+        List<HighlightCodeAreaPainter.SearchMatch> model = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            List<HighlightCodeAreaPainter.SearchMatch> batch = new ArrayList<>();
+            long position = random.nextInt(1000000) * 16L;
+            int batchSize = 1 + random.nextInt(2000);
+            for (int j = 0; j < batchSize; j++) {
+                // Odd positions keep positions unique among batches
+                position += 2 + 2 * random.nextInt(i % 2 == 0 ? 4 : 400);
+                batch.add(new HighlightCodeAreaPainter.SearchMatch(position | 1, 1 + random.nextInt(5), random.nextInt(3)));
+            }
+            if (containsPosition(model, batch)) {
+                continue;
+            }
+            store.addAll(batch);
+            model.addAll(batch);
+            sortModel(model);
+        }
+
+        assertMatches(model, store);
+        assertIntersecting(model, store, random);
+    }
+
+    @Test
+    public void testFindIntersectingWithLongMatches() {
+        Random random = new Random(3);
+        SearchMatchStore store = new SearchMatchStore();
+        List<HighlightCodeAreaPainter.SearchMatch> model = new ArrayList<>();
+        long position = 0;
+        for (int i = 0; i < SearchMatchStore.PAGE_SIZE + 5000; i++) {
+            position += random.nextInt(50);
+            long length = random.nextInt(100) == 0 ? 1 + random.nextInt(100000) : 1 + random.nextInt(20);
+            store.add(position, length, 0);
+            model.add(new HighlightCodeAreaPainter.SearchMatch(position, length));
+        }
+
+        assertIntersecting(model, store, random);
+    }
+
+    /**
+     * Compares intersection queries with linear scan.
+     */
+    private static void assertIntersecting(List<HighlightCodeAreaPainter.SearchMatch> model, SearchMatchStore store, Random random) {
+        long maxPosition = model.get(model.size() - 1).getPosition() + 10;
+        for (int i = 0; i < 300; i++) {
+            long startPosition = (long) (random.nextDouble() * maxPosition);
+            long endPosition = startPosition + 1 + random.nextInt(i % 10 == 0 ? 100000 : 64);
+            List<Integer> expected = new ArrayList<>();
+            for (int index = model.size() - 1; index >= 0; index--) {
+                HighlightCodeAreaPainter.SearchMatch match = model.get(index);
+                if (match.getPosition() < endPosition && match.getPosition() + match.getLength() > startPosition) {
+                    expected.add(index);
+                }
+            }
+
+            final List<Integer> found = new ArrayList<>();
+            store.findIntersecting(startPosition, endPosition, new SearchMatchStore.MatchIndexConsumer() {
+                @Override
+                public void accept(int index) {
+                    found.add(index);
+                }
+            });
+            assertEquals(expected, found);
+        }
+    }
+
+    private static void assertMatches(List<HighlightCodeAreaPainter.SearchMatch> model, SearchMatchStore store) {
+        assertEquals(model.size(), store.size());
+        for (int i = 0; i < model.size(); i++) {
+            HighlightCodeAreaPainter.SearchMatch expected = model.get(i);
+            assertEquals(expected.getPosition(), store.getPosition(i));
+            assertEquals(expected.getLength(), store.getLength(i));
+            assertEquals(expected.getGroup(), store.getGroup(i));
+        }
+    }
+
+    private static boolean containsPosition(List<HighlightCodeAreaPainter.SearchMatch> model, List<HighlightCodeAreaPainter.SearchMatch> batch) {
+        List<Long> positions = new ArrayList<>();
+        for (HighlightCodeAreaPainter.SearchMatch match : model) {
+            positions.add(match.getPosition());
+        }
+        for (HighlightCodeAreaPainter.SearchMatch match : batch) {
+            if (Collections.binarySearch(positions, match.getPosition()) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sortModel(List<HighlightCodeAreaPainter.SearchMatch> model) {
+        Collections.sort(model, new Comparator<HighlightCodeAreaPainter.SearchMatch>() {
+            @Override
+            public int compare(HighlightCodeAreaPainter.SearchMatch match1, HighlightCodeAreaPainter.SearchMatch match2) {
+                return Long.compare(match1.getPosition(), match2.getPosition());
+            }
+        });
+    }
+}
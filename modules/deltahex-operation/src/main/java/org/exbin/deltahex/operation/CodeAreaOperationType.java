@@ -18,7 +18,7 @@ package org.exbin.deltahex.operation;
 /**
  * Operation type enumeration.
  *
- * @version 0.1.0 2016/04/30
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public enum CodeAreaOperationType {
@@ -42,7 +42,11 @@ public enum CodeAreaOperationType {
     /**
      * Edit data operation.
      */
-    EDIT_DATA("Edit data");
+    EDIT_DATA("Edit data"),
+    /**
+     * Replace all data operation.
+     */
+    REPLACE_ALL_DATA("Replace all data");
 
     private final String caption;
 
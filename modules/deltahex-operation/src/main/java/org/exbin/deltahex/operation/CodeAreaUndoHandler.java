@@ -107,6 +107,7 @@ public class CodeAreaUndoHandler implements XBUndoHandler {
         commandPosition--;
         Command command = commandList.get((int) commandPosition);
         command.undo();
+        codeArea.notifyDataChanged();
     }
 
     /**
@@ -124,6 +125,7 @@ public class CodeAreaUndoHandler implements XBUndoHandler {
         Command command = commandList.get((int) commandPosition);
         command.redo();
         commandPosition++;
+        codeArea.notifyDataChanged();
     }
 
     /**
@@ -41,6 +41,7 @@ import org.exbin.deltahex.operation.command.HexCompoundCommand;
 import org.exbin.deltahex.operation.command.InsertDataCommand;
 import org.exbin.deltahex.operation.command.ModifyDataCommand;
 import org.exbin.deltahex.operation.command.RemoveDataCommand;
+import org.exbin.deltahex.operation.command.ReplaceAllCommand;
 import org.exbin.utils.binary_data.BinaryData;
 import org.exbin.utils.binary_data.EditableBinaryData;
 import org.exbin.xbup.operation.undo.XBUndoHandler;
@@ -49,7 +50,7 @@ import org.exbin.deltahex.CodeAreaCommandHandler;
 /**
  * Command handler for undo/redo aware hexadecimal editor editing.
  *
- * @version 0.1.0 2016/06/17
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class CodeCommandHandler implements CodeAreaCommandHandler {
@@ -143,6 +144,7 @@ public class CodeCommandHandler implements CodeAreaCommandHandler {
                 if (editCommand != null && editCommand.wasReverted()) {
                     editCommand = null;
                 }
+                boolean inPlace = deleteCommand == null && dataPosition < codeArea.getData().getDataSize();
                 if (codeArea.getEditationMode() == CodeArea.EditationMode.OVERWRITE) {
                     if (editCommand == null || !(editCommand instanceof EditCodeDataCommand) || editCommand.getCommandType() != EditDataCommand.EditCommandType.OVERWRITE) {
                         editCommand = new EditCodeDataCommand(codeArea, EditCodeDataCommand.EditCommandType.OVERWRITE, dataPosition, codeArea.getCodeOffset());
@@ -179,8 +181,15 @@ public class CodeCommandHandler implements CodeAreaCommandHandler {
                     }
 
                     ((EditCodeDataCommand) editCommand).appendEdit((byte) value);
+                    inPlace = false;
+                }
+                if (inPlace) {
+                    codeArea.notifyDataChanged(dataPosition, dataPosition + 1);
+                } else if (deleteCommand != null) {
+                    codeArea.notifyDataChanged();
+                } else {
+                    codeArea.notifyDataChanged(dataPosition, Long.MAX_VALUE);
                 }
-                codeArea.notifyDataChanged();
                 codeArea.moveRight(CodeArea.NO_MODIFIER);
                 codeArea.revealCursor();
             }
@@ -235,9 +244,12 @@ public class CodeCommandHandler implements CodeAreaCommandHandler {
 
                     ((EditCharDataCommand) editCommand).appendEdit(keyChar);
                 }
-                codeArea.notifyDataChanged();
+                if (deleteCommand != null) {
+                    codeArea.notifyDataChanged();
+                } else {
+                    codeArea.notifyDataChanged(dataPosition, Long.MAX_VALUE);
+                }
                 codeArea.revealCursor();
-                codeArea.repaint();
             }
         }
     }
@@ -315,7 +327,7 @@ public class CodeCommandHandler implements CodeAreaCommandHandler {
             long first = selection.getFirst();
             long last = selection.getLast();
 
-            BinaryData copy = ((EditableBinaryData) codeArea.getData()).copy(first, last - first + 1);
+            BinaryData copy = codeArea.getData().copy(first, last - first + 1);
 
             BinaryDataClipboardData binaryData = new BinaryDataClipboardData(copy);
             clipboard.setContents(binaryData, binaryData);
@@ -454,6 +466,34 @@ public class CodeCommandHandler implements CodeAreaCommandHandler {
         return canPaste;
     }
 
+    /**
+     * Replaces all given ranges of the same length as single undoable step.
+     *
+     * @param positions ordered positions of non-overlapping ranges
+     * @param length length of each range
+     * @param replacement replacement data
+     */
+    public void replaceAll(long[] positions, long length, BinaryData replacement) {
+        if (!codeArea.isEditable() || positions.length == 0) {
+            return;
+        }
+
+        editCommand = null;
+        ReplaceAllCommand replaceAllCommand = new ReplaceAllCommand(codeArea, positions, length, replacement);
+        try {
+            undoHandler.execute(replaceAllCommand);
+            if (replacement.getDataSize() == length) {
+                codeArea.notifyDataChanged(positions[0], positions[positions.length - 1] + length);
+            } else {
+                codeArea.notifyDataChanged();
+            }
+            codeArea.computeDimensions();
+            codeArea.updateScrollBars();
+        } catch (Exception ex) {
+            Logger.getLogger(CodeCommandHandler.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
     public class BinaryDataClipboardData implements Transferable, ClipboardOwner {
 
         private final BinaryData data;
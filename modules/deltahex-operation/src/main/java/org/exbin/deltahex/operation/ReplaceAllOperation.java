@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.operation;
+
+import org.exbin.deltahex.CodeArea;
+import org.exbin.deltahex.delta.DeltaHexadecimalData;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.EditableBinaryData;
+import org.exbin.utils.binary_data.PagedData;
+
+/**
+ * Operation for replacing multiple ranges of data at once.
+ *
+ * Ranges of the same length as replacement are replaced in place, otherwise
+ * data are rebuilt in single pass. Undo operation is replace all operation
+ * storing original bytes of all ranges concatenated in single data.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ReplaceAllOperation extends CodeAreaOperation {
+
+    /**
+     * Ordered non-overlapping positions of replaced ranges.
+     */
+    private final long[] positions;
+    private final long length;
+    private final BinaryData replacementData;
+    private final long replacementLength;
+    /**
+     * All ranges are replaced with the whole replacement data, otherwise
+     * replacement data are concatenated replacements for each range.
+     */
+    private final boolean sharedReplacement;
+
+    /**
+     * Creates operation replacing ranges of the same length with the same
+     * replacement.
+     *
+     * @param codeArea code area
+     * @param positions ordered positions of non-overlapping ranges
+     * @param length length of each range
+     * @param replacement replacement data
+     */
+    public ReplaceAllOperation(CodeArea codeArea, long[] positions, long length, BinaryData replacement) {
+        this(codeArea, positions, length, replacement, replacement.getDataSize(), true);
+        for (int i = 1; i < positions.length; i++) {
+            if (positions[i] < positions[i - 1] + length) {
+                throw new IllegalArgumentException("Replaced ranges must be ordered and non-overlapping");
+            }
+        }
+    }
+
+    private ReplaceAllOperation(CodeArea codeArea, long[] positions, long length, BinaryData replacementData, long replacementLength, boolean sharedReplacement) {
+        super(codeArea);
+        this.positions = positions;
+        this.length = length;
+        this.replacementData = replacementData;
+        this.replacementLength = replacementLength;
+        this.sharedReplacement = sharedReplacement;
+    }
+
+    @Override
+    public CodeAreaOperationType getType() {
+        return CodeAreaOperationType.REPLACE_ALL_DATA;
+    }
+
+    /**
+     * Returns count of replaced ranges.
+     *
+     * @return count of ranges
+     */
+    public int getCount() {
+        return positions.length;
+    }
+
+    @Override
+    public void execute() throws Exception {
+        execute(false);
+    }
+
+    @Override
+    public CodeAreaOperation executeWithUndo() throws Exception {
+        return execute(true);
+    }
+
+    private CodeAreaOperation execute(boolean withUndo) {
+        EditableBinaryData data = (EditableBinaryData) codeArea.getData();
+        int count = positions.length;
+
+        CodeAreaOperation undoOperation = null;
+        if (withUndo) {
+            // Store original bytes and compute positions after replacement
+            PagedData originalData = new PagedData();
+            long[] undoPositions = new long[count];
+            long shift = replacementLength - length;
+            for (int i = 0; i < count; i++) {
+                originalData.insert(originalData.getDataSize(), data, positions[i], length);
+                undoPositions[i] = positions[i] + shift * i;
+            }
+            undoOperation = new ReplaceAllOperation(codeArea, undoPositions, replacementLength, originalData, length, false);
+        }
+
+        if (length == replacementLength) {
+            for (int i = 0; i < count; i++) {
+                long replacementOffset = sharedReplacement ? 0 : replacementLength * i;
+                data.replace(positions[i], replacementData, replacementOffset, replacementLength);
+            }
+        } else if (data instanceof DeltaHexadecimalData) {
+            ((DeltaHexadecimalData) data).replaceRanges(positions, length, replacementData, replacementLength, sharedReplacement);
+        } else {
+            // Rebuild data in single pass instead of shifting tail for each range
+            PagedData rebuiltData = new PagedData();
+            long gapStart = 0;
+            for (int i = 0; i < count; i++) {
+                long position = positions[i];
+                long replacementOffset = sharedReplacement ? 0 : replacementLength * i;
+                rebuiltData.insert(rebuiltData.getDataSize(), data, gapStart, position - gapStart);
+                rebuiltData.insert(rebuiltData.getDataSize(), replacementData, replacementOffset, replacementLength);
+                gapStart = position + length;
+            }
+            rebuiltData.insert(rebuiltData.getDataSize(), data, gapStart, data.getDataSize() - gapStart);
+            data.clear();
+            data.insert(0, rebuiltData);
+        }
+
+        return undoOperation;
+    }
+}
@@ -18,7 +18,7 @@ package org.exbin.deltahex.operation.command;
 /**
  * Operation type enumeration.
  *
- * @version 0.1.0 2016/05/05
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public enum CodeAreaCommandType {
@@ -46,7 +46,11 @@ public enum CodeAreaCommandType {
     /**
      * Edit data command.
      */
-    DATA_EDITED("Data edited");
+    DATA_EDITED("Data edited"),
+    /**
+     * Replace all command.
+     */
+    DATA_REPLACED("Data replaced");
 
     private final String caption;
 
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.operation.command;
+
+import org.exbin.deltahex.CodeArea;
+import org.exbin.deltahex.operation.ReplaceAllOperation;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Command for replacing all occurrences in single undoable step.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ReplaceAllCommand extends OpCodeAreaCommand {
+
+    public ReplaceAllCommand(CodeArea codeArea, long[] positions, long length, BinaryData replacement) {
+        super(codeArea);
+        super.setOperation(new ReplaceAllOperation(codeArea, positions, length, replacement));
+    }
+
+    @Override
+    public CodeAreaCommandType getType() {
+        return CodeAreaCommandType.DATA_REPLACED;
+    }
+}
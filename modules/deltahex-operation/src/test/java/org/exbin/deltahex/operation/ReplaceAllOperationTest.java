@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.operation;
+
+import java.io.ByteArrayOutputStream;
+import org.exbin.deltahex.CodeArea;
+import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.ByteArrayEditableData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for replace all operation.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ReplaceAllOperationTest {
+
+    private static final int DATA_SIZE = 200;
+    private static final long[] POSITIONS = new long[]{0, 3, 40, 41 + 3, 120, DATA_SIZE - 3};
+    private static final int LENGTH = 3;
+
+    public ReplaceAllOperationTest() {
+    }
+
+    @Test
+    public void testShorterReplacement() throws Exception {
+        checkReplaceAll(new byte[]{-1});
+    }
+
+    @Test
+    public void testEqualReplacement() throws Exception {
+        checkReplaceAll(new byte[]{-1, -2, -3});
+    }
+
+    @Test
+    public void testLongerReplacement() throws Exception {
+        checkReplaceAll(new byte[]{-1, -2, -3, -4, -5});
+    }
+
+    @Test
+    public void testEmptyReplacement() throws Exception {
+        checkReplaceAll(new byte[0]);
+    }
+
+    private static void checkReplaceAll(byte[] replacement) throws Exception {
+        byte[] original = createData();
+        CodeArea codeArea = new CodeArea();
+        codeArea.setData(new ByteArrayEditableData(original.clone()));
+
+        ReplaceAllOperation operation = new ReplaceAllOperation(codeArea, POSITIONS.clone(), LENGTH, new ByteArrayEditableData(replacement));
+        assertEquals(POSITIONS.length, operation.getCount());
+        CodeAreaOperation undoOperation = operation.executeWithUndo();
+        byte[] expected = replaceAll(original, replacement);
+        assertArrayEquals(expected, toArray(codeArea.getData()));
+
+        CodeAreaOperation redoOperation = undoOperation.executeWithUndo();
+        assertArrayEquals(original, toArray(codeArea.getData()));
+
+        redoOperation.execute();
+        assertArrayEquals(expected, toArray(codeArea.getData()));
+    }
+
+    private static byte[] createData() {
+        byte[] data = new byte[DATA_SIZE];
+        for (int i = 0; i < DATA_SIZE; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    /**
+     * Reference replacement of ranges.
+     */
+    private static byte[] replaceAll(byte[] data, byte[] replacement) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        int gapStart = 0;
+        for (long position : POSITIONS) {
+            result.write(data, gapStart, (int) position - gapStart);
+            result.write(replacement, 0, replacement.length);
+            gapStart = (int) position + LENGTH;
+        }
+        result.write(data, gapStart, data.length - gapStart);
+        return result.toByteArray();
+    }
+
+    private static byte[] toArray(BinaryData binaryData) {
+        byte[] result = new byte[(int) binaryData.getDataSize()];
+        binaryData.copyToArray(0, result, 0, result.length);
+        return result;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import org.exbin.deltahex.delta.DeltaHexadecimalData;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Search engine for binary data.
+ *
+ * Data are read in large chunks overlapping by pattern length, so matches
+ * crossing chunk boundaries are found. Reported matches don't overlap unless
+ * overlapping matches are enabled.
+ *
+ * All search classes read data while holding monitor of the data instance
+ * and code area painter reads data the same way, so readers sharing data
+ * instance don't interleave. Modifications of data are not synchronized, so
+ * search running in background thread of editable document must use
+ * snapshot of the data obtained using {@link BinaryData#copy()}.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class BinaryDataSearch {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final BinaryData data;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private byte[] buffer = null;
+    private boolean overlappingMatches = false;
+    private SearchBlockFilter blockFilter = null;
+    private volatile boolean cancelled = false;
+
+    public BinaryDataSearch(BinaryData data) {
+        this.data = data;
+    }
+
+    public BinaryData getData() {
+        return data;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        buffer = null;
+    }
+
+    public boolean isOverlappingMatches() {
+        return overlappingMatches;
+    }
+
+    /**
+     * Sets whether find all reports every occurrence including occurrences
+     * overlapping previous match.
+     *
+     * @param overlappingMatches true to report overlapping matches
+     */
+    public void setOverlappingMatches(boolean overlappingMatches) {
+        this.overlappingMatches = overlappingMatches;
+    }
+
+    public SearchBlockFilter getBlockFilter() {
+        return blockFilter;
+    }
+
+    /**
+     * Sets filter of blocks where match of searched pattern can start.
+     *
+     * Filter is used for forward search only and must be created for the
+     * pattern of the matcher. Block indexes of the filter describe positions
+     * in unmodified source, so filter is ignored when searched delta data
+     * contain modified segments.
+     *
+     * @param blockFilter block filter or null to search all data
+     */
+    public void setBlockFilter(SearchBlockFilter blockFilter) {
+        this.blockFilter = blockFilter;
+    }
+
+    /**
+     * Requests cancellation of running search.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Finds first match starting at or after given position.
+     *
+     * @param matcher pattern matcher
+     * @param fromPosition start position
+     * @return match position or -1 if not found
+     */
+    public long findNext(PatternMatcher matcher, long fromPosition) {
+        final long[] result = new long[]{-1};
+        search(matcher, fromPosition, data.getDataSize(), new SearchListener() {
+            @Override
+            public void matchFound(long position, long length) {
+                result[0] = position;
+            }
+        }, true);
+
+        return result[0];
+    }
+
+    /**
+     * Finds last match starting before given position.
+     *
+     * @param matcher pattern matcher
+     * @param fromPosition position to search before
+     * @return match position or -1 if not found
+     */
+    public long findPrevious(PatternMatcher matcher, long fromPosition) {
+        cancelled = false;
+        int patternLength = matcher.getPatternLength();
+        long end = Math.min(data.getDataSize(), fromPosition - 1 + patternLength);
+        byte[] chunk = getBuffer(patternLength);
+        long chunkEnd = end;
+        while (chunkEnd >= patternLength && !cancelled) {
+            long chunkStart = Math.max(0, chunkEnd - chunk.length);
+            int chunkLength = (int) (chunkEnd - chunkStart);
+            synchronized (data) {
+                data.copyToArray(chunkStart, chunk, 0, chunkLength);
+            }
+            int match = matcher.findBackward(chunk, chunkStart, 0, chunkLength);
+            if (match >= 0) {
+                return chunkStart + match;
+            }
+            if (chunkStart == 0) {
+                break;
+            }
+            chunkEnd = chunkStart + patternLength - 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds all matches in given range and passes them to listener.
+     *
+     * @param matcher pattern matcher
+     * @param startPosition range start
+     * @param endPosition range end, matches must end before or at this
+     * position
+     * @param listener search listener
+     */
+    public void findAll(PatternMatcher matcher, long startPosition, long endPosition, SearchListener listener) {
+        search(matcher, startPosition, endPosition, listener, false);
+    }
+
+    private void search(PatternMatcher matcher, long startPosition, long endPosition, SearchListener listener, boolean firstOnly) {
+        cancelled = false;
+        SearchBlockFilter filter = blockFilter;
+        if (filter != null && !isBlockFilterApplicable()) {
+            filter = null;
+        }
+        if (filter == null) {
+            searchRange(matcher, startPosition, endPosition, endPosition, listener, firstOnly);
+            return;
+        }
+
+        // Search only in runs of blocks where match can start
+        int patternLength = matcher.getPatternLength();
+        long blockSize = filter.getBlockSize();
+        long matchStartsEnd = endPosition - patternLength + 1;
+        long position = startPosition;
+        while (position < matchStartsEnd && !cancelled) {
+            long block = position / blockSize;
+            while (!filter.isCandidateBlock(block)) {
+                block++;
+                position = block * blockSize;
+                if (position >= matchStartsEnd) {
+                    return;
+                }
+            }
+
+            long rangeEnd;
+            do {
+                block++;
+                rangeEnd = block * blockSize;
+            } while (rangeEnd < matchStartsEnd && filter.isCandidateBlock(block));
+            rangeEnd = Math.min(rangeEnd, matchStartsEnd);
+
+            position = searchRange(matcher, position, Math.min(endPosition, rangeEnd + patternLength - 1), rangeEnd, listener, firstOnly);
+            if (position < 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns false if data positions differ from source positions used by
+     * block filter.
+     */
+    private boolean isBlockFilterApplicable() {
+        if (data instanceof DeltaHexadecimalData) {
+            synchronized (data) {
+                return ((DeltaHexadecimalData) data).isSourceAligned();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Searches for matches starting before given limit.
+     *
+     * @return position where next search can start or -1 if search should
+     * stop
+     */
+    private long searchRange(PatternMatcher matcher, long startPosition, long endPosition, long matchStartsEnd, SearchListener listener, boolean firstOnly) {
+        int patternLength = matcher.getPatternLength();
+        byte[] chunk = getBuffer(patternLength);
+        long chunkStart = startPosition;
+        long nextStart = matchStartsEnd;
+        while (chunkStart + patternLength <= endPosition && !cancelled) {
+            int chunkLength = (int) Math.min(chunk.length, endPosition - chunkStart);
+            synchronized (data) {
+                data.copyToArray(chunkStart, chunk, 0, chunkLength);
+            }
+
+            int offset = 0;
+            int match;
+            while ((match = matcher.findForward(chunk, chunkStart, offset, chunkLength)) >= 0) {
+                long matchPosition = chunkStart + match;
+                if (matchPosition >= matchStartsEnd) {
+                    return nextStart;
+                }
+                listener.matchFound(matchPosition, patternLength);
+                if (firstOnly || cancelled) {
+                    return -1;
+                }
+                offset = overlappingMatches ? match + 1 : match + patternLength;
+                nextStart = Math.max(matchStartsEnd, chunkStart + offset);
+            }
+
+            if (chunkStart + chunkLength >= endPosition) {
+                break;
+            }
+            // Overlap chunks by pattern length, but not before end of last match
+            chunkStart += Math.max(chunkLength - patternLength + 1, offset);
+        }
+
+        return cancelled ? -1 : nextStart;
+    }
+
+    private byte[] getBuffer(int patternLength) {
+        int requiredLength = chunkSize + patternLength - 1;
+        if (buffer == null || buffer.length < requiredLength) {
+            buffer = new byte[requiredLength];
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.exbin.deltahex.delta.DeltaDataSource;
+
+/**
+ * Persistent index of n-grams present in blocks of data source.
+ *
+ * Each block has signature of hashed 4-grams starting in it, like a bloom
+ * filter with single hash function. Signatures are stored bit-sliced: for
+ * each signature bit there is row with one bit per block, so query reads
+ * only rows for n-grams of the pattern regardless of source size.
+ *
+ * Index is stored in file next to the source file and it is valid only while
+ * source length and modification time are unchanged. Index describes source
+ * data, so it can be used for search only when document is not modified.
+ * Binary data search ignores filter when searched delta data are modified.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class BlockNgramIndex {
+
+    public static final String INDEX_FILE_SUFFIX = ".dhidx";
+    public static final int NGRAM_LENGTH = 4;
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+    public static final int DEFAULT_SIGNATURE_BITS = 8192;
+
+    private static final int MAGIC = 0x44484958;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    /**
+     * Count of longs of each row built at once.
+     */
+    private static final int STRIPE_LONGS = 256;
+
+    private final DeltaDataSource source;
+    private final File indexFile;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private int signatureBits = DEFAULT_SIGNATURE_BITS;
+
+    private long blocksCount;
+    private long rowLongs;
+    private RandomAccessFile indexReader = null;
+    private volatile boolean ready = false;
+    private volatile boolean cancelled = false;
+
+    /**
+     * Creates index stored next to source file.
+     *
+     * @param source data source backed by file
+     */
+    public BlockNgramIndex(DeltaDataSource source) {
+        this(source, getDefaultIndexFile(source));
+    }
+
+    /**
+     * Creates index stored in given file.
+     *
+     * @param source data source
+     * @param indexFile index file
+     */
+    public BlockNgramIndex(DeltaDataSource source, File indexFile) {
+        this.source = source;
+        this.indexFile = indexFile;
+    }
+
+    private static File getDefaultIndexFile(DeltaDataSource source) {
+        File sourceFile = source.getSourceFile();
+        if (sourceFile == null) {
+            throw new IllegalArgumentException("Data source is not backed by file");
+        }
+        return new File(sourceFile.getPath() + INDEX_FILE_SUFFIX);
+    }
+
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets size of indexed block used by next build.
+     *
+     * @param blockSize block size
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < NGRAM_LENGTH) {
+            throw new IllegalArgumentException("Block size must be at least " + NGRAM_LENGTH);
+        }
+        this.blockSize = blockSize;
+    }
+
+    public int getSignatureBits() {
+        return signatureBits;
+    }
+
+    /**
+     * Sets count of signature bits per block used by next build.
+     *
+     * @param signatureBits count of bits, must be power of two
+     */
+    public void setSignatureBits(int signatureBits) {
+        if (signatureBits < 64 || Integer.bitCount(signatureBits) != 1) {
+            throw new IllegalArgumentException("Signature bits must be power of two at least 64");
+        }
+        this.signatureBits = signatureBits;
+    }
+
+    /**
+     * Returns true if index is loaded or built and can be queried.
+     *
+     * @return true if ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads index from index file if it's valid for current source.
+     *
+     * @return true if index was loaded
+     * @throws IOException if reading fails
+     */
+    public synchronized boolean load() throws IOException {
+        closeReader();
+        if (!indexFile.isFile()) {
+            return false;
+        }
+
+        RandomAccessFile reader = new RandomAccessFile(indexFile, "r");
+        try {
+            if (reader.length() < HEADER_SIZE || reader.readInt() != MAGIC || reader.readInt() != VERSION) {
+                reader.close();
+                return false;
+            }
+            long sourceLength = reader.readLong();
+            long sourceModified = reader.readLong();
+            int indexBlockSize = reader.readInt();
+            int indexSignatureBits = reader.readInt();
+            int ngramLength = reader.readInt();
+            if (sourceLength != source.getFileLength() || sourceModified != getSourceModified() || ngramLength != NGRAM_LENGTH
+                    || indexBlockSize < NGRAM_LENGTH || indexSignatureBits < 64 || Integer.bitCount(indexSignatureBits) != 1) {
+                reader.close();
+                return false;
+            }
+
+            long indexBlocksCount = (sourceLength + indexBlockSize - 1) / indexBlockSize;
+            long indexRowLongs = (indexBlocksCount + 63) / 64;
+            if (reader.length() != HEADER_SIZE + indexSignatureBits * indexRowLongs * 8) {
+                reader.close();
+                return false;
+            }
+
+            blockSize = indexBlockSize;
+            signatureBits = indexSignatureBits;
+            blocksCount = indexBlocksCount;
+            rowLongs = indexRowLongs;
+            indexReader = reader;
+            ready = true;
+            return true;
+        } catch (IOException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Builds index and stores it to index file.
+     *
+     * @param progressListener progress listener or null
+     * @return true if finished, false if cancelled
+     * @throws IOException if reading of source or writing of index fails
+     */
+    public synchronized boolean build(SearchProgressListener progressListener) throws IOException {
+        cancelled = false;
+        closeReader();
+        long sourceLength = source.getFileLength();
+        blocksCount = (sourceLength + blockSize - 1) / blockSize;
+        rowLongs = (blocksCount + 63) / 64;
+        long rowBytes = rowLongs * 8;
+        int hashShift = 32 - Integer.numberOfTrailingZeros(signatureBits);
+
+        File tempFile = new File(indexFile.getPath() + ".tmp");
+        File sourceFile = source.getSourceFile();
+        try (RandomAccessFile output = new RandomAccessFile(tempFile, "rw");
+                RandomAccessFile sourceReader = sourceFile == null ? null : new RandomAccessFile(sourceFile, "r")) {
+            output.setLength(0);
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(sourceLength);
+            output.writeLong(getSourceModified());
+            output.writeInt(blockSize);
+            output.writeInt(signatureBits);
+            output.writeInt(NGRAM_LENGTH);
+            output.writeInt(0);
+            output.setLength(HEADER_SIZE + signatureBits * rowBytes);
+
+            long[] stripe = new long[signatureBits * STRIPE_LONGS];
+            ByteBuffer rowBuffer = ByteBuffer.allocate(STRIPE_LONGS * 8);
+            byte[] buffer = new byte[blockSize + NGRAM_LENGTH - 1];
+            for (long stripeStart = 0; stripeStart < rowLongs; stripeStart += STRIPE_LONGS) {
+                if (cancelled) {
+                    return false;
+                }
+
+                Arrays.fill(stripe, 0);
+                int stripeLongs = (int) Math.min(STRIPE_LONGS, rowLongs - stripeStart);
+                long firstBlock = stripeStart * 64;
+                long lastBlock = Math.min(blocksCount, (stripeStart + stripeLongs) * 64);
+                for (long block = firstBlock; block < lastBlock; block++) {
+                    long position = block * blockSize;
+                    int length = (int) Math.min(buffer.length, sourceLength - position);
+                    readSource(sourceReader, position, buffer, length);
+
+                    int localBlock = (int) (block - firstBlock);
+                    int stripeOffset = localBlock >>> 6;
+                    long blockBit = 1L << (localBlock & 63);
+                    int gram = 0;
+                    for (int i = 0; i < length; i++) {
+                        gram = (gram << 8) | (buffer[i] & 0xff);
+                        if (i >= NGRAM_LENGTH - 1) {
+                            int row = (gram * 0x9e3779b1) >>> hashShift;
+                            stripe[row * STRIPE_LONGS + stripeOffset] |= blockBit;
+                        }
+                    }
+                }
+
+                for (int row = 0; row < signatureBits; row++) {
+                    rowBuffer.clear();
+                    rowBuffer.asLongBuffer().put(stripe, row * STRIPE_LONGS, stripeLongs);
+                    output.seek(HEADER_SIZE + row * rowBytes + stripeStart * 8);
+                    output.write(rowBuffer.array(), 0, stripeLongs * 8);
+                }
+
+                if (progressListener != null) {
+                    progressListener.searchProgress(Math.min(sourceLength, lastBlock * blockSize), sourceLength);
+                }
+            }
+        }
+
+        if (indexFile.exists() && !indexFile.delete()) {
+            throw new IOException("Unable to replace index file " + indexFile.getPath());
+        }
+        if (!tempFile.renameTo(indexFile)) {
+            throw new IOException("Unable to create index file " + indexFile.getPath());
+        }
+        indexReader = new RandomAccessFile(indexFile, "r");
+        ready = true;
+        return true;
+    }
+
+    /**
+     * Loads valid index or builds new one in background thread.
+     *
+     * @param progressListener progress listener or null
+     * @param indexReadyListener listener notified when index is ready or
+     * failed
+     */
+    public void buildInBackground(final SearchProgressListener progressListener, final IndexReadyListener indexReadyListener) {
+        Thread buildThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                boolean success;
+                try {
+                    success = load() || build(progressListener);
+                } catch (IOException ex) {
+                    Logger.getLogger(BlockNgramIndex.class.getName()).log(Level.SEVERE, null, ex);
+                    success = false;
+                }
+                if (indexReadyListener != null) {
+                    indexReadyListener.indexReady(success);
+                }
+            }
+        }, "BlockNgramIndex");
+        buildThread.setDaemon(true);
+        buildThread.start();
+    }
+
+    /**
+     * Requests cancellation of running build.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void readSource(RandomAccessFile sourceReader, long position, byte[] buffer, int length) throws IOException {
+        if (sourceReader == null) {
+            synchronized (source) {
+                source.read(position, buffer, 0, length);
+            }
+            return;
+        }
+
+        sourceReader.seek(position);
+        sourceReader.readFully(buffer, 0, length);
+    }
+
+    private long getSourceModified() {
+        File sourceFile = source.getSourceFile();
+        return sourceFile == null ? 0 : sourceFile.lastModified();
+    }
+
+    /**
+     * Creates block filter for search of given pattern.
+     *
+     * @param pattern searched bytes
+     * @return block filter or null if pattern is too short for index
+     * @throws IOException if reading of index fails
+     */
+    public synchronized SearchBlockFilter createFilter(byte[] pattern) throws IOException {
+        if (!ready) {
+            throw new IllegalStateException("Index is not ready");
+        }
+        if (pattern.length < NGRAM_LENGTH) {
+            return null;
+        }
+
+        // Match starting in block spans at most two blocks for n-grams used
+        int hashShift = 32 - Integer.numberOfTrailingZeros(signatureBits);
+        int gramsCount = Math.min(pattern.length, blockSize) - NGRAM_LENGTH + 1;
+        Map<Integer, long[]> rows = new HashMap<>();
+        long[] candidates = null;
+        int gram = 0;
+        for (int i = 0; i < NGRAM_LENGTH - 1 + gramsCount; i++) {
+            gram = (gram << 8) | (pattern[i] & 0xff);
+            if (i < NGRAM_LENGTH - 1) {
+                continue;
+            }
+
+            int rowIndex = (gram * 0x9e3779b1) >>> hashShift;
+            long[] row = rows.get(rowIndex);
+            if (row == null) {
+                row = readRow(rowIndex);
+                rows.put(rowIndex, row);
+            }
+            if (candidates == null) {
+                candidates = row.clone();
+            } else {
+                for (int j = 0; j < candidates.length; j++) {
+                    long nextBlocks = (row[j] >>> 1) | (j + 1 < row.length ? row[j + 1] << 63 : 0);
+                    candidates[j] &= row[j] | nextBlocks;
+                }
+            }
+        }
+
+        return new IndexBlockFilter(blockSize, blocksCount, candidates);
+    }
+
+    private long[] readRow(int rowIndex) throws IOException {
+        long[] row = new long[(int) rowLongs];
+        byte[] bytes = new byte[(int) Math.min(rowLongs * 8, 1024 * 1024)];
+        int rowPosition = 0;
+        indexReader.seek(HEADER_SIZE + rowIndex * rowLongs * 8);
+        while (rowPosition < row.length) {
+            int longs = Math.min(bytes.length / 8, row.length - rowPosition);
+            indexReader.readFully(bytes, 0, longs * 8);
+            ByteBuffer.wrap(bytes, 0, longs * 8).asLongBuffer().get(row, rowPosition, longs);
+            rowPosition += longs;
+        }
+        return row;
+    }
+
+    /**
+     * Closes index file.
+     *
+     * @throws IOException if close fails
+     */
+    public synchronized void close() throws IOException {
+        closeReader();
+    }
+
+    private void closeReader() throws IOException {
+        ready = false;
+        if (indexReader != null) {
+            indexReader.close();
+            indexReader = null;
+        }
+    }
+
+    /**
+     * Block filter backed by bit set of candidate blocks.
+     */
+    private static class IndexBlockFilter implements SearchBlockFilter {
+
+        private final int blockSize;
+        private final long blocksCount;
+        private final long[] candidates;
+
+        public IndexBlockFilter(int blockSize, long blocksCount, long[] candidates) {
+            this.blockSize = blockSize;
+            this.blocksCount = blocksCount;
+            this.candidates = candidates;
+        }
+
+        @Override
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        @Override
+        public boolean isCandidateBlock(long blockIndex) {
+            if (blockIndex >= blocksCount) {
+                // Data outside of indexed source
+                return true;
+            }
+            return (candidates[(int) (blockIndex >>> 6)] & (1L << (blockIndex & 63))) != 0;
+        }
+    }
+
+    /**
+     * Index ready listener.
+     *
+     * Event is fired from build thread.
+     */
+    public interface IndexReadyListener {
+
+        void indexReady(boolean success);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+/**
+ * Matcher for exact sequence of bytes using Boyer-Moore-Horspool algorithm.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ByteSequenceMatcher implements PatternMatcher {
+
+    private final byte[] pattern;
+    /**
+     * Shift of search window for forward search by last byte of the window.
+     */
+    private final int[] forwardShift = new int[256];
+    /**
+     * Shift of search window for backward search by first byte of the window.
+     */
+    private final int[] backwardShift = new int[256];
+
+    public ByteSequenceMatcher(byte[] pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Pattern cannot be empty");
+        }
+        this.pattern = pattern.clone();
+
+        int length = pattern.length;
+        for (int i = 0; i < 256; i++) {
+            forwardShift[i] = length;
+            backwardShift[i] = length;
+        }
+        for (int i = 0; i < length - 1; i++) {
+            forwardShift[pattern[i] & 0xff] = length - 1 - i;
+        }
+        for (int i = length - 1; i > 0; i--) {
+            backwardShift[pattern[i] & 0xff] = i;
+        }
+    }
+
+    public byte[] getPattern() {
+        return pattern.clone();
+    }
+
+    @Override
+    public int getPatternLength() {
+        return pattern.length;
+    }
+
+    @Override
+    public int findForward(byte[] buffer, long bufferPosition, int from, int to) {
+        int length = pattern.length;
+        int last = length - 1;
+        byte lastByte = pattern[last];
+        int position = from;
+        int limit = to - length;
+        while (position <= limit) {
+            byte windowLast = buffer[position + last];
+            if (windowLast == lastByte && matchesAt(buffer, position, last)) {
+                return position;
+            }
+            position += forwardShift[windowLast & 0xff];
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int findBackward(byte[] buffer, long bufferPosition, int from, int to) {
+        int length = pattern.length;
+        byte firstByte = pattern[0];
+        int position = to - length;
+        while (position >= from) {
+            byte windowFirst = buffer[position];
+            if (windowFirst == firstByte && matchesAt(buffer, position, length)) {
+                return position;
+            }
+            position -= backwardShift[windowFirst & 0xff];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Compares given count of pattern bytes with buffer.
+     */
+    private boolean matchesAt(byte[] buffer, int position, int count) {
+        for (int i = 0; i < count; i++) {
+            if (buffer[position + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,477 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.exbin.deltahex.highlight.HighlightCodeAreaPainter;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Incremental search session for search as you type.
+ *
+ * Session keeps positions of all occurrences of current pattern including
+ * overlapping ones. When pattern is extended, every new occurrence must start
+ * at one of existing positions, so positions are only filtered. Any other
+ * change of the pattern starts rescan. Both filtering and rescan run in
+ * background thread, results of outdated pattern are discarded.
+ *
+ * Count of kept positions is limited. When limit is exceeded, only positions
+ * up to the limit are kept together with position where scan stopped. On
+ * extension of the pattern kept positions are filtered and scan continues
+ * from that position with extended pattern.
+ *
+ * Search runs on snapshot copy of the data taken on first search and reused
+ * until {@link #reset()}, so it is not affected by modifications, see
+ * {@link BinaryDataSearch}. Candidates are not updated on modification, call
+ * {@link #reset()} after modification of the data.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class IncrementalSearchSession {
+
+    public static final int DEFAULT_MAX_CANDIDATES = 1024 * 1024;
+    private static final int FILTER_BUFFER_SIZE = 65536;
+    private static final int FILTER_CHECK_INTERVAL = 4096;
+
+    private final BinaryData data;
+    private final List<CandidatesChangedListener> candidatesChangedListeners = new ArrayList<>();
+
+    private byte[] pattern = new byte[0];
+    private int maxCandidates = DEFAULT_MAX_CANDIDATES;
+    private boolean complete = true;
+    /**
+     * Snapshot of the data shared by searches until reset.
+     */
+    private BinaryData snapshot = null;
+
+    /**
+     * Positions for candidates pattern, null if there are no usable
+     * positions.
+     */
+    private byte[] candidatesPattern = new byte[0];
+    private long[] candidates = new long[0];
+    private int candidatesCount = 0;
+    private boolean truncated = false;
+    /**
+     * Position where truncated scan stopped, positions starting before it are
+     * kept in candidates.
+     */
+    private long resumePosition = 0;
+
+    /**
+     * Generation of the pattern used to discard results of outdated searches.
+     */
+    private volatile long generation = 0;
+    private BinaryDataSearch runningSearch = null;
+
+    public IncrementalSearchSession(BinaryData data) {
+        this.data = data;
+    }
+
+    public BinaryData getData() {
+        return data;
+    }
+
+    public synchronized int getMaxCandidates() {
+        return maxCandidates;
+    }
+
+    /**
+     * Sets limit of count of kept positions.
+     *
+     * Limit is applied on next search.
+     *
+     * @param maxCandidates maximum count of positions
+     */
+    public synchronized void setMaxCandidates(int maxCandidates) {
+        if (maxCandidates <= 0) {
+            throw new IllegalArgumentException("Maximum count of candidates must be positive");
+        }
+        this.maxCandidates = maxCandidates;
+    }
+
+    public synchronized byte[] getPattern() {
+        return pattern.clone();
+    }
+
+    /**
+     * Changes searched pattern.
+     *
+     * Candidates are updated in background thread, extension of the pattern
+     * is processed by filtering of current candidates.
+     *
+     * @param newPattern new pattern
+     */
+    public void setPattern(byte[] newPattern) {
+        synchronized (this) {
+            pattern = newPattern.clone();
+            generation++;
+            stopSearch();
+            if (newPattern.length == 0) {
+                candidatesPattern = pattern;
+                candidatesCount = 0;
+                truncated = false;
+                complete = true;
+            } else {
+                startSearch();
+            }
+        }
+        notifyCandidatesChanged();
+    }
+
+    /**
+     * Restarts search for current pattern, for example after data change.
+     */
+    public void reset() {
+        synchronized (this) {
+            generation++;
+            stopSearch();
+            snapshot = null;
+            candidatesPattern = null;
+            candidatesCount = 0;
+            truncated = false;
+            if (pattern.length == 0) {
+                candidatesPattern = pattern;
+                complete = true;
+            } else {
+                startSearch();
+            }
+        }
+        notifyCandidatesChanged();
+    }
+
+    /**
+     * Stops background search if running.
+     */
+    public synchronized void cancel() {
+        generation++;
+        stopSearch();
+    }
+
+    private static boolean isExtension(byte[] oldPattern, byte[] newPattern) {
+        if (newPattern.length < oldPattern.length) {
+            return false;
+        }
+        for (int i = 0; i < oldPattern.length; i++) {
+            if (oldPattern[i] != newPattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startSearch() {
+        complete = false;
+        if (snapshot == null) {
+            synchronized (data) {
+                snapshot = data.copy();
+            }
+        }
+
+        final long searchGeneration = generation;
+        final byte[] searchPattern = pattern;
+        final int searchMaxCandidates = maxCandidates;
+        final BinaryData searchData = snapshot;
+        Thread searchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                search(searchData, searchPattern, searchMaxCandidates, searchGeneration);
+            }
+        }, "IncrementalSearchSession");
+        searchThread.setDaemon(true);
+        searchThread.start();
+    }
+
+    private void stopSearch() {
+        if (runningSearch != null) {
+            runningSearch.cancel();
+            runningSearch = null;
+        }
+    }
+
+    /**
+     * Updates candidates for given pattern by filtering of current candidates
+     * if possible or by full scan.
+     */
+    private void search(BinaryData searchData, byte[] searchPattern, int searchMaxCandidates, long searchGeneration) {
+        byte[] basePattern;
+        long[] baseCandidates;
+        int baseCount;
+        boolean baseTruncated;
+        long baseResumePosition;
+        synchronized (this) {
+            if (generation != searchGeneration) {
+                return;
+            }
+            basePattern = candidatesPattern;
+            baseCandidates = candidates;
+            baseCount = candidatesCount;
+            baseTruncated = truncated;
+            baseResumePosition = resumePosition;
+        }
+
+        CandidatesBuilder builder = new CandidatesBuilder(searchMaxCandidates);
+        long scanStart = 0;
+        if (basePattern != null && basePattern.length > 0 && isExtension(basePattern, searchPattern)) {
+            if (!filterCandidates(searchData, baseCandidates, baseCount, basePattern.length, searchPattern, builder, searchGeneration)) {
+                return;
+            }
+            // Positions after the end of truncated scan are not known yet
+            scanStart = baseTruncated && !builder.truncated ? baseResumePosition : -1;
+        }
+
+        if (scanStart >= 0) {
+            final BinaryDataSearch search = new BinaryDataSearch(searchData);
+            search.setOverlappingMatches(true);
+            synchronized (this) {
+                if (generation != searchGeneration) {
+                    return;
+                }
+                runningSearch = search;
+            }
+            if (!scan(search, searchPattern, scanStart, builder, searchGeneration)) {
+                return;
+            }
+        }
+
+        synchronized (this) {
+            if (generation != searchGeneration) {
+                return;
+            }
+            candidatesPattern = searchPattern;
+            candidates = builder.positions;
+            candidatesCount = builder.count;
+            truncated = builder.truncated;
+            resumePosition = builder.resumePosition;
+            complete = true;
+            runningSearch = null;
+        }
+        notifyCandidatesChanged();
+    }
+
+    /**
+     * Keeps only candidates followed by the extension of the pattern.
+     *
+     * Candidates are ordered, so data are read sequentially in blocks.
+     *
+     * @return false if search became outdated
+     */
+    private boolean filterCandidates(BinaryData searchData, long[] baseCandidates, int baseCount, int oldLength, byte[] newPattern, CandidatesBuilder builder, long searchGeneration) {
+        int extensionLength = newPattern.length - oldLength;
+        if (extensionLength == 0) {
+            builder.addAll(baseCandidates, baseCount);
+            return true;
+        }
+
+        long dataSize = searchData.getDataSize();
+        byte[] buffer = new byte[Math.max(FILTER_BUFFER_SIZE, newPattern.length)];
+        long bufferPosition = 0;
+        int bufferLength = 0;
+        for (int i = 0; i < baseCount; i++) {
+            if (i % FILTER_CHECK_INTERVAL == 0 && generation != searchGeneration) {
+                return false;
+            }
+
+            long position = baseCandidates[i];
+            if (position + newPattern.length > dataSize) {
+                continue;
+            }
+            if (position < bufferPosition || position + newPattern.length > bufferPosition + bufferLength) {
+                bufferPosition = position;
+                bufferLength = (int) Math.min(buffer.length, dataSize - position);
+                searchData.copyToArray(position, buffer, 0, bufferLength);
+            }
+            int offset = (int) (position - bufferPosition) + oldLength;
+            boolean matches = true;
+            for (int j = 0; j < extensionLength; j++) {
+                if (buffer[offset + j] != newPattern[oldLength + j]) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                builder.add(position);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scans data from given position adding occurrences up to the limit.
+     *
+     * @return false if search became outdated
+     */
+    private boolean scan(final BinaryDataSearch search, byte[] searchPattern, long startPosition, final CandidatesBuilder builder, final long searchGeneration) {
+        search.findAll(new ByteSequenceMatcher(searchPattern), startPosition, search.getData().getDataSize(), new SearchListener() {
+            @Override
+            public void matchFound(long position, long length) {
+                if (generation != searchGeneration) {
+                    search.cancel();
+                    return;
+                }
+                if (!builder.add(position)) {
+                    search.cancel();
+                }
+            }
+        });
+
+        return generation == searchGeneration && (!search.isCancelled() || builder.truncated);
+    }
+
+    /**
+     * Returns true if candidates are complete for current pattern.
+     *
+     * @return false while rescan is running
+     */
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns true if count of positions exceeded limit and only positions up
+     * to the limit are kept.
+     *
+     * @return true if candidates are truncated
+     */
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Returns count of positions, zero while search is running.
+     *
+     * @return count of positions
+     */
+    public synchronized int getCandidatesCount() {
+        return complete ? candidatesCount : 0;
+    }
+
+    public synchronized long getCandidate(int index) {
+        if (index < 0 || index >= getCandidatesCount()) {
+            throw new IndexOutOfBoundsException("Candidate index out of range: " + index);
+        }
+        return candidates[index];
+    }
+
+    /**
+     * Returns copy of ordered positions of all occurrences.
+     *
+     * @return array of positions
+     */
+    public synchronized long[] getCandidates() {
+        return Arrays.copyOf(candidates, getCandidatesCount());
+    }
+
+    /**
+     * Returns non-overlapping occurrences for highlighting.
+     *
+     * @return list of matches
+     */
+    public synchronized List<HighlightCodeAreaPainter.SearchMatch> getMatches() {
+        List<HighlightCodeAreaPainter.SearchMatch> matches = new ArrayList<>();
+        long patternLength = pattern.length;
+        long lastMatchEnd = Long.MIN_VALUE;
+        int count = getCandidatesCount();
+        for (int i = 0; i < count; i++) {
+            long position = candidates[i];
+            if (position >= lastMatchEnd) {
+                matches.add(new HighlightCodeAreaPainter.SearchMatch(position, patternLength));
+                lastMatchEnd = position + patternLength;
+            }
+        }
+        return matches;
+    }
+
+    private void notifyCandidatesChanged() {
+        List<CandidatesChangedListener> listeners;
+        synchronized (candidatesChangedListeners) {
+            listeners = new ArrayList<>(candidatesChangedListeners);
+        }
+        for (CandidatesChangedListener listener : listeners) {
+            listener.candidatesChanged();
+        }
+    }
+
+    public void addCandidatesChangedListener(CandidatesChangedListener candidatesChangedListener) {
+        synchronized (candidatesChangedListeners) {
+            candidatesChangedListeners.add(candidatesChangedListener);
+        }
+    }
+
+    public void removeCandidatesChangedListener(CandidatesChangedListener candidatesChangedListener) {
+        synchronized (candidatesChangedListeners) {
+            candidatesChangedListeners.remove(candidatesChangedListener);
+        }
+    }
+
+    /**
+     * Candidates changed listener.
+     *
+     * Event is fired from calling thread when pattern is changed and from
+     * background thread when search is finished.
+     */
+    public interface CandidatesChangedListener {
+
+        void candidatesChanged();
+    }
+
+    /**
+     * Ordered positions collected up to the limit.
+     */
+    private static class CandidatesBuilder {
+
+        private final int maxCandidates;
+        private long[] positions;
+        private int count = 0;
+        private boolean truncated = false;
+        private long resumePosition = 0;
+
+        public CandidatesBuilder(int maxCandidates) {
+            this.maxCandidates = maxCandidates;
+            positions = new long[Math.min(64, maxCandidates)];
+        }
+
+        /**
+         * Adds position, returns false if limit was exceeded.
+         */
+        public boolean add(long position) {
+            if (truncated) {
+                return false;
+            }
+            if (count >= maxCandidates) {
+                truncated = true;
+                resumePosition = position;
+                return false;
+            }
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, (int) Math.min((long) positions.length * 2, Math.max(maxCandidates, count + 1)));
+            }
+            positions[count++] = position;
+            return true;
+        }
+
+        /**
+         * Adds all given positions regardless of the limit.
+         */
+        public void addAll(long[] addedPositions, int addedCount) {
+            positions = Arrays.copyOf(addedPositions, addedCount);
+            count = addedCount;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+/**
+ * Matcher for sequence of bytes with per-bit masks.
+ *
+ * Pattern can be parsed from hexadecimal text where question mark stands for
+ * any nibble, for example "4D 5A ?? ?? 50 45" or "F? 0F". Optional alignment
+ * limits matches to positions which are multiple of given value.
+ *
+ * Search uses Horspool-like skipping keyed on the last fixed byte of the
+ * pattern for forward search and on the first fixed byte for backward search.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class MaskedPatternMatcher implements PatternMatcher {
+
+    private final byte[] pattern;
+    private final byte[] mask;
+    private final int alignment;
+
+    /**
+     * Index of pattern byte checked first in forward search.
+     */
+    private final int forwardKey;
+    private final int[] forwardShift = new int[256];
+    /**
+     * Index of pattern byte checked first in backward search.
+     */
+    private final int backwardKey;
+    private final int[] backwardShift = new int[256];
+
+    /**
+     * Creates matcher for masked pattern.
+     *
+     * @param pattern pattern bytes
+     * @param mask mask of significant bits for each pattern byte
+     */
+    public MaskedPatternMatcher(byte[] pattern, byte[] mask) {
+        this(pattern, mask, 1);
+    }
+
+    /**
+     * Creates matcher for masked pattern with alignment.
+     *
+     * @param pattern pattern bytes
+     * @param mask mask of significant bits for each pattern byte
+     * @param alignment match position must be multiple of this value
+     */
+    public MaskedPatternMatcher(byte[] pattern, byte[] mask, int alignment) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Pattern cannot be empty");
+        }
+        if (pattern.length != mask.length) {
+            throw new IllegalArgumentException("Mask length must be equal to pattern length");
+        }
+        if (alignment <= 0) {
+            throw new IllegalArgumentException("Alignment must be positive");
+        }
+        int length = pattern.length;
+        this.pattern = new byte[length];
+        this.mask = mask.clone();
+        for (int i = 0; i < length; i++) {
+            this.pattern[i] = (byte) (pattern[i] & mask[i]);
+        }
+        this.alignment = alignment;
+
+        forwardKey = selectKey(length - 1, -1);
+        for (int value = 0; value < 256; value++) {
+            int shift = forwardKey + 1;
+            for (int i = forwardKey - 1; i >= 0; i--) {
+                if (matchesByte(value, i)) {
+                    shift = forwardKey - i;
+                    break;
+                }
+            }
+            forwardShift[value] = alignShift(shift);
+        }
+
+        backwardKey = selectKey(0, 1);
+        for (int value = 0; value < 256; value++) {
+            int shift = length - backwardKey;
+            for (int i = backwardKey + 1; i < length; i++) {
+                if (matchesByte(value, i)) {
+                    shift = i - backwardKey;
+                    break;
+                }
+            }
+            backwardShift[value] = alignShift(shift);
+        }
+    }
+
+    /**
+     * Parses pattern from hexadecimal text.
+     *
+     * Whitespace is ignored and question mark represents any nibble.
+     *
+     * @param text pattern text
+     * @param alignment match position must be multiple of this value
+     * @return matcher
+     * @throws IllegalArgumentException if text is not valid pattern
+     */
+    public static MaskedPatternMatcher parse(String text, int alignment) {
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (!Character.isWhitespace(character)) {
+                digits.append(character);
+            }
+        }
+        if (digits.length() % 2 != 0) {
+            throw new IllegalArgumentException("Pattern must consist of whole bytes");
+        }
+
+        int length = digits.length() / 2;
+        byte[] pattern = new byte[length];
+        byte[] mask = new byte[length];
+        for (int i = 0; i < length; i++) {
+            int value = 0;
+            int valueMask = 0;
+            for (int nibble = 0; nibble < 2; nibble++) {
+                char character = digits.charAt(i * 2 + nibble);
+                value <<= 4;
+                valueMask <<= 4;
+                if (character != '?') {
+                    int digit = Character.digit(character, 16);
+                    if (digit < 0) {
+                        throw new IllegalArgumentException("Invalid character in pattern: " + character);
+                    }
+                    value |= digit;
+                    valueMask |= 0xf;
+                }
+            }
+            pattern[i] = (byte) value;
+            mask[i] = (byte) valueMask;
+        }
+
+        return new MaskedPatternMatcher(pattern, mask, alignment);
+    }
+
+    public static MaskedPatternMatcher parse(String text) {
+        return parse(text, 1);
+    }
+
+    /**
+     * Selects first fully fixed byte in given direction, or the most
+     * restrictive byte if there is no fixed byte.
+     */
+    private int selectKey(int start, int direction) {
+        int key = start;
+        int keyBits = -1;
+        for (int i = start; i >= 0 && i < mask.length; i += direction) {
+            int bits = Integer.bitCount(mask[i] & 0xff);
+            if (bits == 8) {
+                return i;
+            }
+            if (bits > keyBits) {
+                key = i;
+                keyBits = bits;
+            }
+        }
+        return key;
+    }
+
+    private boolean matchesByte(int value, int index) {
+        return (value & mask[index]) == (pattern[index] & 0xff);
+    }
+
+    /**
+     * Rounds shift up to multiple of alignment.
+     */
+    private int alignShift(int shift) {
+        return ((shift + alignment - 1) / alignment) * alignment;
+    }
+
+    public byte[] getPattern() {
+        return pattern.clone();
+    }
+
+    public byte[] getMask() {
+        return mask.clone();
+    }
+
+    public int getAlignment() {
+        return alignment;
+    }
+
+    @Override
+    public int getPatternLength() {
+        return pattern.length;
+    }
+
+    @Override
+    public int findForward(byte[] buffer, long bufferPosition, int from, int to) {
+        int length = pattern.length;
+        int key = forwardKey;
+        int keyMask = mask[key];
+        int keyValue = pattern[key];
+        int position = from + alignmentPadding(bufferPosition + from);
+        int limit = to - length;
+        while (position <= limit) {
+            int windowKey = buffer[position + key];
+            if (((windowKey ^ keyValue) & keyMask) == 0 && matchesAt(buffer, position)) {
+                return position;
+            }
+            position += forwardShift[windowKey & 0xff];
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int findBackward(byte[] buffer, long bufferPosition, int from, int to) {
+        int length = pattern.length;
+        int key = backwardKey;
+        int keyMask = mask[key];
+        int keyValue = pattern[key];
+        int position = to - length;
+        if (position < from) {
+            return -1;
+        }
+        position -= (int) ((bufferPosition + position) % alignment);
+        while (position >= from) {
+            int windowKey = buffer[position + key];
+            if (((windowKey ^ keyValue) & keyMask) == 0 && matchesAt(buffer, position)) {
+                return position;
+            }
+            position -= backwardShift[windowKey & 0xff];
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns distance to the nearest aligned position.
+     */
+    private int alignmentPadding(long position) {
+        long remainder = position % alignment;
+        return remainder == 0 ? 0 : (int) (alignment - remainder);
+    }
+
+    private boolean matchesAt(byte[] buffer, int position) {
+        for (int i = 0; i < pattern.length; i++) {
+            if (((buffer[position + i] ^ pattern[i]) & mask[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
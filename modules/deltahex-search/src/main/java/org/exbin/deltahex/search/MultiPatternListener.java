@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+/**
+ * Listener for multiple patterns search results.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public interface MultiPatternListener {
+
+    /**
+     * Reports single match.
+     *
+     * Matches are reported in order of their end position and can overlap.
+     *
+     * @param position match position
+     * @param length match length
+     * @param patternId index of matched pattern
+     */
+    void matchFound(long position, long length, int patternId);
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.exbin.deltahex.highlight.HighlightCodeAreaPainter;
+
+/**
+ * Multiple patterns search listener collecting matches for highlighting.
+ *
+ * Pattern ids are translated to match groups using optional groups table.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class MultiPatternMatchCollector implements MultiPatternListener {
+
+    private final List<HighlightCodeAreaPainter.SearchMatch> matches = new ArrayList<>();
+    private final int[] patternGroups;
+    private boolean sorted = true;
+
+    /**
+     * Creates collector using pattern id as match group.
+     */
+    public MultiPatternMatchCollector() {
+        this(null);
+    }
+
+    /**
+     * Creates collector with groups table.
+     *
+     * @param patternGroups group for each pattern id
+     */
+    public MultiPatternMatchCollector(int[] patternGroups) {
+        this.patternGroups = patternGroups;
+    }
+
+    @Override
+    public void matchFound(long position, long length, int patternId) {
+        int group = patternGroups == null ? patternId : patternGroups[patternId];
+        if (sorted && !matches.isEmpty() && matches.get(matches.size() - 1).getPosition() > position) {
+            sorted = false;
+        }
+        matches.add(new HighlightCodeAreaPainter.SearchMatch(position, length, group));
+    }
+
+    /**
+     * Returns matches ordered by position.
+     *
+     * @return list of matches
+     */
+    public List<HighlightCodeAreaPainter.SearchMatch> getMatches() {
+        if (!sorted) {
+            Collections.sort(matches, new Comparator<HighlightCodeAreaPainter.SearchMatch>() {
+                @Override
+                public int compare(HighlightCodeAreaPainter.SearchMatch match1, HighlightCodeAreaPainter.SearchMatch match2) {
+                    return Long.compare(match1.getPosition(), match2.getPosition());
+                }
+            });
+            sorted = true;
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.util.Arrays;
+import java.util.List;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Scanner searching for multiple byte patterns in single pass.
+ *
+ * Uses Aho-Corasick automaton compiled to deterministic transition table.
+ * Bytes not present in any pattern share single input class, so the table
+ * has only one column per distinct pattern byte. Table entries store offset
+ * of the target row and are negative when target state reports matches.
+ *
+ * Scanner is immutable and can be shared between threads. Data are read
+ * following locking policy of {@link BinaryDataSearch}.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class MultiPatternScanner {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final int[] patternLengths;
+    /**
+     * Input class for each byte value.
+     */
+    private final int[] byteClasses = new int[256];
+    private final int classesCount;
+    /**
+     * Transitions table with row of classesCount items per state.
+     */
+    private final int[] transitions;
+    /**
+     * Range of outputs for each state with total count as last item.
+     */
+    private final int[] outputStarts;
+    /**
+     * Pattern ids matched in states.
+     */
+    private final int[] outputs;
+
+    /**
+     * Creates scanner for given patterns.
+     *
+     * @param patterns list of patterns, index is used as pattern id
+     */
+    public MultiPatternScanner(List<byte[]> patterns) {
+        int patternsCount = patterns.size();
+        patternLengths = new int[patternsCount];
+        int maxStates = 1;
+        int classes = 1;
+        for (int i = 0; i < patternsCount; i++) {
+            byte[] pattern = patterns.get(i);
+            if (pattern.length == 0) {
+                throw new IllegalArgumentException("Pattern " + i + " is empty");
+            }
+            patternLengths[i] = pattern.length;
+            maxStates += pattern.length;
+            for (byte value : pattern) {
+                if (byteClasses[value & 0xff] == 0) {
+                    byteClasses[value & 0xff] = classes++;
+                }
+            }
+        }
+        classesCount = classes;
+
+        // Build trie, -1 marks missing edge
+        int[] table = new int[maxStates * classesCount];
+        Arrays.fill(table, -1);
+        int[] ownFirst = new int[maxStates];
+        Arrays.fill(ownFirst, -1);
+        int[] ownNext = new int[patternsCount];
+        int statesCount = 1;
+        for (int i = 0; i < patternsCount; i++) {
+            int state = 0;
+            for (byte value : patterns.get(i)) {
+                int index = state * classesCount + byteClasses[value & 0xff];
+                if (table[index] < 0) {
+                    table[index] = statesCount++;
+                }
+                state = table[index];
+            }
+            ownNext[i] = ownFirst[state];
+            ownFirst[state] = i;
+        }
+
+        // Compute failure links in breadth-first order and complete transitions
+        int[] fail = new int[statesCount];
+        int[] queue = new int[statesCount];
+        int queueEnd = 0;
+        for (int inputClass = 0; inputClass < classesCount; inputClass++) {
+            int target = table[inputClass];
+            if (target < 0) {
+                table[inputClass] = 0;
+            } else {
+                fail[target] = 0;
+                queue[queueEnd++] = target;
+            }
+        }
+        for (int queueIndex = 0; queueIndex < queueEnd; queueIndex++) {
+            int state = queue[queueIndex];
+            int row = state * classesCount;
+            int failRow = fail[state] * classesCount;
+            for (int inputClass = 0; inputClass < classesCount; inputClass++) {
+                int target = table[row + inputClass];
+                if (target < 0) {
+                    table[row + inputClass] = table[failRow + inputClass];
+                } else {
+                    fail[target] = table[failRow + inputClass];
+                    queue[queueEnd++] = target;
+                }
+            }
+        }
+
+        // Collect outputs including outputs of failure states
+        int[] outputCounts = new int[statesCount];
+        for (int queueIndex = 0; queueIndex < queueEnd; queueIndex++) {
+            int state = queue[queueIndex];
+            int count = outputCounts[fail[state]];
+            for (int patternId = ownFirst[state]; patternId >= 0; patternId = ownNext[patternId]) {
+                count++;
+            }
+            outputCounts[state] = count;
+        }
+        outputStarts = new int[statesCount + 1];
+        for (int state = 0; state < statesCount; state++) {
+            outputStarts[state + 1] = outputStarts[state] + outputCounts[state];
+        }
+        outputs = new int[outputStarts[statesCount]];
+        for (int queueIndex = 0; queueIndex < queueEnd; queueIndex++) {
+            int state = queue[queueIndex];
+            int outputIndex = outputStarts[state];
+            for (int patternId = ownFirst[state]; patternId >= 0; patternId = ownNext[patternId]) {
+                outputs[outputIndex++] = patternId;
+            }
+            int failState = fail[state];
+            int failCount = outputCounts[failState];
+            System.arraycopy(outputs, outputStarts[failState], outputs, outputIndex, failCount);
+        }
+
+        // Convert states to row offsets with match flag
+        transitions = new int[statesCount * classesCount];
+        for (int index = 0; index < transitions.length; index++) {
+            int target = table[index];
+            int targetRow = target * classesCount;
+            transitions[index] = outputCounts[target] > 0 ? ~targetRow : targetRow;
+        }
+    }
+
+    public int getPatternsCount() {
+        return patternLengths.length;
+    }
+
+    public int getPatternLength(int patternId) {
+        return patternLengths[patternId];
+    }
+
+    /**
+     * Returns count of states of the automaton.
+     *
+     * @return count of states
+     */
+    public int getStatesCount() {
+        return outputStarts.length - 1;
+    }
+
+    /**
+     * Scans given range of data for all patterns in single pass.
+     *
+     * @param data binary data
+     * @param startPosition range start
+     * @param endPosition range end, matches must end before or at this
+     * position
+     * @param listener listener for matches
+     */
+    public void scan(BinaryData data, long startPosition, long endPosition, MultiPatternListener listener) {
+        scan(data, startPosition, endPosition, DEFAULT_CHUNK_SIZE, listener);
+    }
+
+    /**
+     * Scans given range of data for all patterns in single pass.
+     *
+     * @param data binary data
+     * @param startPosition range start
+     * @param endPosition range end, matches must end before or at this
+     * position
+     * @param chunkSize size of the block of data loaded at once
+     * @param listener listener for matches
+     */
+    public void scan(BinaryData data, long startPosition, long endPosition, int chunkSize, MultiPatternListener listener) {
+        byte[] buffer = new byte[(int) Math.max(0, Math.min(chunkSize, endPosition - startPosition))];
+        ScanState scanState = new ScanState();
+        long chunkStart = startPosition;
+        while (chunkStart < endPosition) {
+            int chunkLength = (int) Math.min(buffer.length, endPosition - chunkStart);
+            synchronized (data) {
+                data.copyToArray(chunkStart, buffer, 0, chunkLength);
+            }
+            scan(buffer, 0, chunkLength, chunkStart, scanState, listener);
+            chunkStart += chunkLength;
+        }
+    }
+
+    /**
+     * Scans block of data continuing from given state.
+     *
+     * @param buffer data buffer
+     * @param offset start offset in buffer
+     * @param length length of data in buffer
+     * @param bufferPosition position of buffer start in data
+     * @param scanState state of the scan, updated on return
+     * @param listener listener for matches
+     */
+    public void scan(byte[] buffer, int offset, int length, long bufferPosition, ScanState scanState, MultiPatternListener listener) {
+        final int[] table = transitions;
+        final int[] classes = byteClasses;
+        int row = scanState.row;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            int next = table[row + classes[buffer[i] & 0xff]];
+            if (next < 0) {
+                row = ~next;
+                long matchEnd = bufferPosition + (i - offset) + 1;
+                int state = row / classesCount;
+                for (int outputIndex = outputStarts[state]; outputIndex < outputStarts[state + 1]; outputIndex++) {
+                    int patternId = outputs[outputIndex];
+                    int patternLength = patternLengths[patternId];
+                    listener.matchFound(matchEnd - patternLength, patternLength, patternId);
+                }
+            } else {
+                row = next;
+            }
+        }
+        scanState.row = row;
+    }
+
+    /**
+     * State of the automaton carried between scanned blocks.
+     */
+    public static class ScanState {
+
+        private int row = 0;
+
+        public void reset() {
+            row = 0;
+        }
+    }
+}
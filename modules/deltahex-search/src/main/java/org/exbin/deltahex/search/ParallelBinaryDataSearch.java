@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import org.exbin.deltahex.highlight.HighlightCodeAreaPainter;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Parallel search engine for finding all matches in binary data.
+ *
+ * Range is split to chunks overlapping by pattern length which are scanned
+ * in fork-join pool in batches. Matches are selected in each chunk separately
+ * and selections are joined on chunk boundaries in order of chunks. Access to
+ * data is synchronized on data instance, so only matching runs in parallel.
+ * Matcher must be thread safe.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ParallelBinaryDataSearch {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    /**
+     * Count of chunks per thread searched in single batch.
+     */
+    public static final int CHUNKS_PER_THREAD = 4;
+
+    private final BinaryData data;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private SearchProgressListener progressListener = null;
+    private volatile boolean cancelled = false;
+
+    public ParallelBinaryDataSearch(BinaryData data) {
+        this.data = data;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public SearchProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    public void setProgressListener(SearchProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Requests cancellation of running search.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns true if last search was cancelled and its result is incomplete.
+     *
+     * @return true if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Finds all non-overlapping matches in given range.
+     *
+     * All matches are collected in memory, use
+     * {@link #findAll(PatternMatcher, long, long, SearchListener)} for ranges
+     * with possibly huge number of matches.
+     *
+     * @param matcher thread safe pattern matcher
+     * @param startPosition range start
+     * @param endPosition range end, matches must end before or at this
+     * position
+     * @return list of matches ordered by position
+     */
+    public List<HighlightCodeAreaPainter.SearchMatch> findAll(PatternMatcher matcher, long startPosition, long endPosition) {
+        final List<HighlightCodeAreaPainter.SearchMatch> matches = new ArrayList<>();
+        findAll(matcher, startPosition, endPosition, new SearchListener() {
+            @Override
+            public void matchFound(long position, long length) {
+                matches.add(new HighlightCodeAreaPainter.SearchMatch(position, length));
+            }
+        });
+
+        return matches;
+    }
+
+    /**
+     * Finds all non-overlapping matches in given range and reports them to
+     * listener in order of position.
+     *
+     * Chunks are processed in batches, so only matches of single batch are
+     * held in memory. Listener is called from the calling thread.
+     *
+     * @param matcher thread safe pattern matcher
+     * @param startPosition range start
+     * @param endPosition range end, matches must end before or at this
+     * position
+     * @param listener listener for matches
+     */
+    public void findAll(PatternMatcher matcher, long startPosition, long endPosition, SearchListener listener) {
+        cancelled = false;
+        int patternLength = matcher.getPatternLength();
+        if (endPosition - startPosition < patternLength) {
+            return;
+        }
+
+        long matchStartsEnd = endPosition - patternLength + 1;
+        SearchContext context = new SearchContext(matcher, endPosition, matchStartsEnd - startPosition);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long lastMatchEnd = startPosition;
+            long batchStart = startPosition;
+            int batchChunks = parallelism * CHUNKS_PER_THREAD;
+            while (batchStart < matchStartsEnd && !cancelled) {
+                final List<ChunkSearchTask> tasks = new ArrayList<>();
+                long chunkStart = batchStart;
+                while (tasks.size() < batchChunks && chunkStart < matchStartsEnd) {
+                    long chunkEnd = Math.min(chunkStart + chunkSize, matchStartsEnd);
+                    tasks.add(new ChunkSearchTask(context, chunkStart, chunkEnd));
+                    chunkStart = chunkEnd;
+                }
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+
+                for (ChunkSearchTask task : tasks) {
+                    if (cancelled) {
+                        return;
+                    }
+                    lastMatchEnd = reportChunkMatches(context, task, lastMatchEnd, listener);
+                }
+                batchStart = chunkStart;
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Reports matches of chunk following previous chunk ending with match at
+     * given position.
+     *
+     * Chunk matches are selected starting at chunk start. If the last match of
+     * previous chunk overlaps chunk start, matches are searched again from its
+     * end until selection joins one of chunk matches.
+     *
+     * @return end of the last reported match
+     */
+    private long reportChunkMatches(SearchContext context, ChunkSearchTask chunk, long lastMatchEnd, SearchListener listener) {
+        MatchPositions positions = chunk.result;
+        int patternLength = context.matcher.getPatternLength();
+        int index = 0;
+        if (positions.count > 0 && positions.positions[0] < lastMatchEnd) {
+            byte[] buffer = context.getBuffer();
+            long bufferPosition = lastMatchEnd;
+            int chunkLength = (int) (chunk.endPosition - bufferPosition);
+            int readLength = chunk.readData(buffer, bufferPosition);
+            int offset = 0;
+            int match;
+            while (offset < chunkLength && (match = context.matcher.findForward(buffer, bufferPosition, offset, readLength)) >= 0 && match < chunkLength) {
+                long position = bufferPosition + match;
+                while (index < positions.count && positions.positions[index] < position) {
+                    index++;
+                }
+                if (index < positions.count && positions.positions[index] == position) {
+                    break;
+                }
+
+                listener.matchFound(position, patternLength);
+                lastMatchEnd = position + patternLength;
+                offset = match + patternLength;
+            }
+            if (index == positions.count || positions.positions[index] < lastMatchEnd) {
+                return lastMatchEnd;
+            }
+        }
+
+        for (int i = index; i < positions.count; i++) {
+            listener.matchFound(positions.positions[i], patternLength);
+        }
+        return positions.count > index ? positions.positions[positions.count - 1] + patternLength : lastMatchEnd;
+    }
+    /**
+     * Shared state of single search.
+     */
+    private class SearchContext {
+
+        private final PatternMatcher matcher;
+        private final long endPosition;
+        private final long totalLength;
+        private final AtomicLong processed = new AtomicLong();
+        private final ThreadLocal<byte[]> buffers = new ThreadLocal<>();
+
+        public SearchContext(PatternMatcher matcher, long endPosition, long totalLength) {
+            this.matcher = matcher;
+            this.endPosition = endPosition;
+            this.totalLength = totalLength;
+        }
+
+        private byte[] getBuffer() {
+            byte[] buffer = buffers.get();
+            if (buffer == null) {
+                buffer = new byte[chunkSize + matcher.getPatternLength() - 1];
+                buffers.set(buffer);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Task searching for non-overlapping matches in given range of match
+     * starts.
+     */
+    private class ChunkSearchTask extends RecursiveAction {
+
+        private final SearchContext context;
+        private final long startPosition;
+        private final long endPosition;
+        private final MatchPositions result = new MatchPositions();
+
+        public ChunkSearchTask(SearchContext context, long startPosition, long endPosition) {
+            this.context = context;
+            this.startPosition = startPosition;
+            this.endPosition = endPosition;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+
+            byte[] buffer = context.getBuffer();
+            int chunkLength = (int) (endPosition - startPosition);
+            int readLength = readData(buffer, startPosition);
+            int patternLength = context.matcher.getPatternLength();
+            int offset = 0;
+            int match;
+            while (offset < chunkLength && (match = context.matcher.findForward(buffer, startPosition, offset, readLength)) >= 0 && match < chunkLength) {
+                result.add(startPosition + match);
+                offset = match + patternLength;
+            }
+
+            long processed = context.processed.addAndGet(chunkLength);
+            SearchProgressListener listener = progressListener;
+            if (listener != null) {
+                listener.searchProgress(processed, context.totalLength);
+            }
+        }
+
+        /**
+         * Reads data from given position to the end of the chunk including
+         * tail of the last possible match.
+         *
+         * @return length of data read
+         */
+        private int readData(byte[] buffer, long fromPosition) {
+            int readLength = (int) (Math.min(context.endPosition, endPosition + context.matcher.getPatternLength() - 1) - fromPosition);
+            synchronized (data) {
+                data.copyToArray(fromPosition, buffer, 0, readLength);
+            }
+            return readLength;
+        }
+    }
+
+    /**
+     * Growable array of match positions of single chunk.
+     *
+     * Matches of chunk do not overlap, so count is bounded by chunk size.
+     */
+    private static class MatchPositions {
+
+        private long[] positions = new long[16];
+        private int count = 0;
+
+        public void add(long position) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[count++] = position;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+/**
+ * Matcher searching for pattern in block of data.
+ *
+ * Position of the buffer in data is provided for matchers constrained by
+ * absolute position such as alignment.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public interface PatternMatcher {
+
+    /**
+     * Returns length of matched pattern.
+     *
+     * @return pattern length in bytes
+     */
+    int getPatternLength();
+
+    /**
+     * Finds first match in given range of buffer.
+     *
+     * @param buffer data buffer
+     * @param bufferPosition position of buffer start in data
+     * @param from first possible match start
+     * @param to end of the range, match must end before or at this index
+     * @return index of match start or -1 if not found
+     */
+    int findForward(byte[] buffer, long bufferPosition, int from, int to);
+
+    /**
+     * Finds last match in given range of buffer.
+     *
+     * @param buffer data buffer
+     * @param bufferPosition position of buffer start in data
+     * @param from first possible match start
+     * @param to end of the range, match must end before or at this index
+     * @return index of match start or -1 if not found
+     */
+    int findBackward(byte[] buffer, long bufferPosition, int from, int to);
+}
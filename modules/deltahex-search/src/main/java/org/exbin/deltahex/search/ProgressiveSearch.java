@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import org.exbin.deltahex.CodeArea;
+import org.exbin.deltahex.highlight.HighlightCodeAreaPainter;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Progressive find all search feeding matches to highlight painter.
+ *
+ * Visible range of the code area is searched first and search then expands
+ * outward in growing blocks alternating after and before already searched
+ * range. Matches are passed to painter in ordered batches on the event
+ * dispatch thread and only lines with visible changed matches are
+ * repainted.
+ *
+ * Matches are non-overlapping within single block only.
+ *
+ * Search runs on snapshot copy of the data taken when search is started.
+ * Modification of the data reported by the code area cancels the search and
+ * matches found so far are kept.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ProgressiveSearch {
+
+    public static final int INITIAL_BLOCK_SIZE = 1024 * 1024;
+    public static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+    public static final int BATCH_SIZE = 4096;
+
+    private final CodeArea codeArea;
+    private final HighlightCodeAreaPainter painter;
+    private SearchProgressListener progressListener = null;
+
+    private volatile long generation = 0;
+    private BinaryDataSearch runningSearch = null;
+    private final CodeArea.DataChangedListener dataChangedListener = new CodeArea.DataChangedListener() {
+        @Override
+        public void dataChanged() {
+            stopSearch();
+        }
+    };
+
+    public ProgressiveSearch(CodeArea codeArea, HighlightCodeAreaPainter painter) {
+        this.codeArea = codeArea;
+        this.painter = painter;
+    }
+
+    public SearchProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Sets listener for search progress.
+     *
+     * Listener is called from search thread.
+     *
+     * @param progressListener progress listener
+     */
+    public void setProgressListener(SearchProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Clears matches in painter and starts search in background thread.
+     *
+     * Must be called from event dispatch thread.
+     *
+     * @param matcher pattern matcher
+     */
+    public void start(final PatternMatcher matcher) {
+        cancel();
+        painter.clearMatches();
+        codeArea.repaint();
+
+        BinaryData data = codeArea.getData();
+        BinaryData snapshot;
+        synchronized (data) {
+            snapshot = data.copy();
+        }
+        long dataSize = snapshot.getDataSize();
+        int bytesPerLine = Math.max(1, codeArea.getBytesPerLine());
+        int lineHeight = Math.max(1, codeArea.getLineHeight());
+        long firstLine = codeArea.getScrollPosition().getScrollLinePosition();
+        long linesPerRect = codeArea.getCodeSectionRectangle().height / lineHeight + 2;
+        final long visibleStart = Math.min(dataSize, firstLine * bytesPerLine);
+        final long visibleEnd = Math.min(dataSize, (firstLine + linesPerRect) * bytesPerLine);
+
+        final long searchGeneration = ++generation;
+        final BinaryDataSearch search = new BinaryDataSearch(snapshot);
+        runningSearch = search;
+        codeArea.addDataChangedListener(dataChangedListener);
+        Thread searchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                searchProgressively(search, matcher, visibleStart, visibleEnd, searchGeneration);
+            }
+        }, "ProgressiveSearch");
+        searchThread.setDaemon(true);
+        searchThread.start();
+    }
+
+    /**
+     * Cancels running search, matches found so far are kept.
+     *
+     * Must be called from event dispatch thread.
+     */
+    public void cancel() {
+        stopSearch();
+        codeArea.removeDataChangedListener(dataChangedListener);
+    }
+
+    private void stopSearch() {
+        generation++;
+        BinaryDataSearch search = runningSearch;
+        if (search != null) {
+            search.cancel();
+            runningSearch = null;
+        }
+    }
+
+    private void searchProgressively(BinaryDataSearch search, PatternMatcher matcher, long visibleStart, long visibleEnd, long searchGeneration) {
+        long dataSize = search.getData().getDataSize();
+        long processed = 0;
+        searchBlock(search, matcher, visibleStart, visibleEnd, dataSize, searchGeneration);
+        processed += visibleEnd - visibleStart;
+        reportProgress(processed, dataSize);
+
+        long forwardPosition = visibleEnd;
+        long backwardPosition = visibleStart;
+        long blockSize = INITIAL_BLOCK_SIZE;
+        while ((forwardPosition < dataSize || backwardPosition > 0) && generation == searchGeneration) {
+            if (forwardPosition < dataSize) {
+                long blockEnd = Math.min(dataSize, forwardPosition + blockSize);
+                searchBlock(search, matcher, forwardPosition, blockEnd, dataSize, searchGeneration);
+                processed += blockEnd - forwardPosition;
+                forwardPosition = blockEnd;
+            }
+            if (backwardPosition > 0 && generation == searchGeneration) {
+                long blockStart = Math.max(0, backwardPosition - blockSize);
+                searchBlock(search, matcher, blockStart, backwardPosition, dataSize, searchGeneration);
+                processed += backwardPosition - blockStart;
+                backwardPosition = blockStart;
+            }
+            reportProgress(processed, dataSize);
+            blockSize = Math.min(MAX_BLOCK_SIZE, blockSize * 2);
+        }
+
+        finishSearch(searchGeneration);
+    }
+
+    private void finishSearch(final long searchGeneration) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if (generation == searchGeneration) {
+                    runningSearch = null;
+                    codeArea.removeDataChangedListener(dataChangedListener);
+                }
+            }
+        });
+    }
+
+    /**
+     * Searches for matches starting in given range.
+     */
+    private void searchBlock(final BinaryDataSearch search, PatternMatcher matcher, long startPosition, final long endPosition, long dataSize, final long searchGeneration) {
+        if (startPosition >= endPosition) {
+            return;
+        }
+
+        final List<HighlightCodeAreaPainter.SearchMatch> batch = new ArrayList<>();
+        long searchEnd = Math.min(dataSize, endPosition + matcher.getPatternLength() - 1);
+        search.findAll(matcher, startPosition, searchEnd, new SearchListener() {
+            @Override
+            public void matchFound(long position, long length) {
+                if (generation != searchGeneration) {
+                    search.cancel();
+                    return;
+                }
+                if (position >= endPosition) {
+                    return;
+                }
+
+                batch.add(new HighlightCodeAreaPainter.SearchMatch(position, length));
+                if (batch.size() == BATCH_SIZE) {
+                    publishBatch(new ArrayList<>(batch), searchGeneration);
+                    batch.clear();
+                }
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            publishBatch(batch, searchGeneration);
+        }
+    }
+
+    private void reportProgress(long processed, long total) {
+        SearchProgressListener listener = progressListener;
+        if (listener != null) {
+            listener.searchProgress(processed, total);
+        }
+    }
+
+    private void publishBatch(final List<HighlightCodeAreaPainter.SearchMatch> batch, final long searchGeneration) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != searchGeneration) {
+                    return;
+                }
+                painter.addMatches(batch);
+                repaintMatches(batch);
+            }
+        });
+    }
+
+    /**
+     * Repaints band of visible lines covered by given matches.
+     */
+    private void repaintMatches(List<HighlightCodeAreaPainter.SearchMatch> batch) {
+        int bytesPerLine = codeArea.getBytesPerLine();
+        int lineHeight = codeArea.getLineHeight();
+        if (bytesPerLine <= 0 || lineHeight <= 0) {
+            return;
+        }
+
+        Rectangle codeRect = codeArea.getCodeSectionRectangle();
+        CodeArea.ScrollPosition scrollPosition = codeArea.getScrollPosition();
+        long firstVisibleLine = scrollPosition.getScrollLinePosition();
+        long lastVisibleLine = firstVisibleLine + (codeRect.height + scrollPosition.getScrollLineOffset()) / lineHeight;
+
+        long firstLine = Long.MAX_VALUE;
+        long lastLine = Long.MIN_VALUE;
+        for (HighlightCodeAreaPainter.SearchMatch match : batch) {
+            long matchFirstLine = match.getPosition() / bytesPerLine;
+            long matchLastLine = (match.getPosition() + match.getLength() - 1) / bytesPerLine;
+            if (matchLastLine < firstVisibleLine) {
+                continue;
+            }
+            if (matchFirstLine > lastVisibleLine) {
+                break;
+            }
+            firstLine = Math.min(firstLine, Math.max(matchFirstLine, firstVisibleLine));
+            lastLine = Math.max(lastLine, Math.min(matchLastLine, lastVisibleLine));
+        }
+
+        if (firstLine <= lastLine) {
+            int positionY = codeRect.y - scrollPosition.getScrollLineOffset() + (int) (firstLine - firstVisibleLine) * lineHeight;
+            codeArea.repaint(0, positionY, codeArea.getWidth(), (int) (lastLine - firstLine + 1) * lineHeight);
+        }
+    }
+}
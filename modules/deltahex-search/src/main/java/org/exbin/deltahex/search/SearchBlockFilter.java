@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+/**
+ * Filter of data blocks which might contain start of the match.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public interface SearchBlockFilter {
+
+    /**
+     * Returns size of the block.
+     *
+     * @return block size in bytes
+     */
+    int getBlockSize();
+
+    /**
+     * Returns true if match might start in given block.
+     *
+     * @param blockIndex index of block
+     * @return false if block certainly doesn't contain start of the match
+     */
+    boolean isCandidateBlock(long blockIndex);
+}
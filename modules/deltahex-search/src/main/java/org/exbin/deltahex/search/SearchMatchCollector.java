@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.exbin.deltahex.highlight.HighlightCodeAreaPainter;
+
+/**
+ * Search listener collecting matches for highlighting.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class SearchMatchCollector implements SearchListener {
+
+    private final List<HighlightCodeAreaPainter.SearchMatch> matches = new ArrayList<>();
+
+    @Override
+    public void matchFound(long position, long length) {
+        matches.add(new HighlightCodeAreaPainter.SearchMatch(position, length));
+    }
+
+    public List<HighlightCodeAreaPainter.SearchMatch> getMatches() {
+        return matches;
+    }
+}
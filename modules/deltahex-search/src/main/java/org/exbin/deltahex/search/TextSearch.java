@@ -0,0 +1,607 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.exbin.deltahex.PreviewCharDecoder;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Search for text in binary data decoded using given charset.
+ *
+ * Data is decoded incrementally in chunks using single reusable decoder and
+ * byte position of each decoded character is tracked, so matches are
+ * reported as byte ranges usable for highlighting. Bytes of character split
+ * by chunk boundary are carried to the next chunk. Invalid sequences are
+ * decoded as replacement character.
+ *
+ * Chunk is decoded in single call and byte positions are recovered from
+ * fixed code unit length for UTF-16 and UTF-32 and from lead byte of each
+ * sequence for UTF-8, Shift_JIS and GBK. Runs of such sequences containing
+ * invalid or unmapped sequence and other charsets are decoded character by
+ * character.
+ *
+ * Consecutive chunks overlap by maximum match length, longer regular
+ * expression matches might be cut at chunk boundary.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class TextSearch {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    public static final int DEFAULT_MAX_MATCH_LENGTH = 1024;
+
+    private final BinaryData data;
+    private final Charset charset;
+    private final CharsetDecoder decoder;
+    private final DecodingMode decodingMode;
+    /**
+     * Count of bytes per code unit for code units decoding mode.
+     */
+    private final int codeUnitLength;
+    /**
+     * Decoder detects byte order mark at start of input.
+     */
+    private final boolean byteOrderMarkDetected;
+    /**
+     * Decoder of lengths of sequences for lead bytes decoding mode.
+     */
+    private final PreviewCharDecoder sequenceDecoder;
+    /**
+     * Maximum trail byte of double byte charset, 0 for UTF-8.
+     */
+    private final int trailByteMax;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxMatchLength = DEFAULT_MAX_MATCH_LENGTH;
+    private volatile boolean cancelled = false;
+
+    private byte[] bytes;
+    private char[] chars;
+    private CharBuffer charBuffer;
+    private boolean byteOrderMarkPending;
+    /**
+     * Byte position of each decoded character with position after the last
+     * character as extra item.
+     */
+    private long[] charPositions;
+
+    /**
+     * Creates text search.
+     *
+     * @param data binary data
+     * @param charset charset, typically charset of the code area
+     */
+    public TextSearch(BinaryData data, Charset charset) {
+        this.data = data;
+        this.charset = charset;
+        decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        switch (charset.name()) {
+            case "UTF-16":
+            case "UTF-16BE":
+            case "UTF-16LE":
+                codeUnitLength = 2;
+                break;
+            case "UTF-32":
+            case "UTF-32BE":
+            case "UTF-32LE":
+                codeUnitLength = 4;
+                break;
+            default:
+                codeUnitLength = 0;
+        }
+        byteOrderMarkDetected = "UTF-16".equals(charset.name()) || "UTF-32".equals(charset.name());
+
+        PreviewCharDecoder previewCharDecoder = charset.canEncode() ? new PreviewCharDecoder(charset, (int) charset.newEncoder().maxBytesPerChar()) : null;
+        if (decoder.maxCharsPerByte() == 1 && isSingleByteEncoding(charset)) {
+            decodingMode = DecodingMode.SINGLE_BYTE;
+        } else if (codeUnitLength > 0) {
+            decodingMode = DecodingMode.CODE_UNITS;
+        } else if (previewCharDecoder != null && previewCharDecoder.isSequenceLengthKnown()) {
+            decodingMode = DecodingMode.LEAD_BYTES;
+        } else {
+            decodingMode = DecodingMode.CHARACTERS;
+        }
+        sequenceDecoder = decodingMode == DecodingMode.LEAD_BYTES ? previewCharDecoder : null;
+        trailByteMax = "UTF-8".equals(charset.name()) ? 0 : "GBK".equals(charset.name()) ? 0xFE : 0xFC;
+    }
+
+    private static boolean isSingleByteEncoding(Charset charset) {
+        if (!charset.canEncode()) {
+            return false;
+        }
+        CharsetEncoder encoder = charset.newEncoder();
+        return encoder.maxBytesPerChar() == 1;
+    }
+
+    public BinaryData getData() {
+        return data;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets count of bytes decoded at once.
+     *
+     * @param chunkSize chunk size
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxMatchLength() {
+        return maxMatchLength;
+    }
+
+    /**
+     * Sets maximum length of match in characters guaranteed to be found
+     * across chunk boundaries.
+     *
+     * @param maxMatchLength maximum match length
+     */
+    public void setMaxMatchLength(int maxMatchLength) {
+        if (maxMatchLength <= 0) {
+            throw new IllegalArgumentException("Maximum match length must be positive");
+        }
+        this.maxMatchLength = maxMatchLength;
+    }
+
+    /**
+     * Requests cancellation of running search.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Compiles pattern for plain text search.
+     *
+     * @param text searched text
+     * @param matchCase true for case sensitive search
+     * @return pattern
+     */
+    public static Pattern compileText(String text, boolean matchCase) {
+        return Pattern.compile(text, Pattern.LITERAL | (matchCase ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+    }
+
+    /**
+     * Compiles pattern for regular expression search.
+     *
+     * @param regex regular expression
+     * @param matchCase true for case sensitive search
+     * @return pattern
+     */
+    public static Pattern compileRegex(String regex, boolean matchCase) {
+        return Pattern.compile(regex, matchCase ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * Finds first match starting at or after given position.
+     *
+     * @param pattern pattern
+     * @param fromPosition start position, should be at character boundary
+     * @return match or null if not found
+     */
+    public long[] findNext(Pattern pattern, long fromPosition) {
+        final long[] result = new long[2];
+        result[0] = -1;
+        search(pattern, fromPosition, data.getDataSize(), new SearchListener() {
+            @Override
+            public void matchFound(long position, long length) {
+                result[0] = position;
+                result[1] = length;
+            }
+        }, true);
+
+        return result[0] >= 0 ? result : null;
+    }
+
+    /**
+     * Finds all non-overlapping matches in given range and passes them to
+     * listener as byte ranges.
+     *
+     * @param pattern pattern
+     * @param startPosition range start, should be at character boundary
+     * @param endPosition range end
+     * @param listener search listener
+     */
+    public void findAll(Pattern pattern, long startPosition, long endPosition, SearchListener listener) {
+        search(pattern, startPosition, endPosition, listener, false);
+    }
+
+    private void search(Pattern pattern, long startPosition, long endPosition, SearchListener listener, boolean firstOnly) {
+        cancelled = false;
+        prepareBuffers();
+        decoder.reset();
+        byteOrderMarkPending = byteOrderMarkDetected;
+        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+        byteBuffer.limit(0);
+        /* Position of byte buffer start in data */
+        long bytesPosition = startPosition;
+        long readPosition = startPosition;
+        int charsCount = 0;
+        boolean inputFinished = false;
+        boolean flushed = false;
+        Matcher matcher = null;
+
+        while (!cancelled) {
+            // Load next block of bytes after bytes left from previous chunk
+            if (!inputFinished && byteBuffer.remaining() < bytes.length / 2) {
+                bytesPosition += byteBuffer.position();
+                byteBuffer.compact();
+                int toRead = (int) Math.min(byteBuffer.remaining(), endPosition - readPosition);
+                if (toRead > 0) {
+                    synchronized (data) {
+                        data.copyToArray(readPosition, bytes, byteBuffer.position(), toRead);
+                    }
+                    readPosition += toRead;
+                }
+                byteBuffer.position(byteBuffer.position() + toRead);
+                byteBuffer.flip();
+                inputFinished = readPosition >= endPosition;
+            }
+
+            charsCount = decode(byteBuffer, bytesPosition, charsCount, inputFinished);
+            boolean lastChunk = false;
+            if (inputFinished && !byteBuffer.hasRemaining()) {
+                if (!flushed) {
+                    charBuffer.limit(chars.length);
+                    charBuffer.position(charsCount);
+                    // Last block might be decoded in runs without end of input
+                    decoder.decode(byteBuffer, charBuffer, true);
+                    if (decoder.flush(charBuffer).isUnderflow()) {
+                        flushed = true;
+                    }
+                    int produced = charBuffer.position() - charsCount;
+                    for (int i = 0; i < produced; i++) {
+                        charPositions[charsCount + i] = endPosition;
+                    }
+                    charsCount += produced;
+                }
+                lastChunk = flushed;
+            }
+            charPositions[charsCount] = bytesPosition + byteBuffer.position();
+
+            // Search in decoded characters
+            charBuffer.limit(charsCount);
+            charBuffer.position(0);
+            if (matcher == null) {
+                matcher = pattern.matcher(charBuffer);
+            } else {
+                matcher.reset(charBuffer);
+            }
+            int searchLimit = lastChunk ? charsCount : charsCount - maxMatchLength;
+            int keepFrom = Math.max(0, searchLimit);
+            int from = 0;
+            while (from <= charsCount && matcher.find(from)) {
+                int start = matcher.start();
+                int end = matcher.end();
+                if (start >= searchLimit || (!lastChunk && matcher.hitEnd() && start > 0)) {
+                    // Match might continue in next chunk
+                    keepFrom = Math.min(start, keepFrom);
+                    break;
+                }
+
+                if (end > start) {
+                    listener.matchFound(charPositions[start], charPositions[end] - charPositions[start]);
+                    if (firstOnly || cancelled) {
+                        return;
+                    }
+                    keepFrom = Math.max(end, keepFrom);
+                    from = end;
+                } else {
+                    from = end + 1;
+                }
+            }
+
+            if (lastChunk) {
+                return;
+            }
+
+            // Keep tail of characters for matches crossing chunk boundary
+            charsCount -= keepFrom;
+            System.arraycopy(chars, keepFrom, chars, 0, charsCount);
+            System.arraycopy(charPositions, keepFrom, charPositions, 0, charsCount + 1);
+        }
+    }
+
+    private void prepareBuffers() {
+        int charsLength = chunkSize + maxMatchLength + 1;
+        if (bytes == null || bytes.length != chunkSize) {
+            bytes = new byte[chunkSize];
+        }
+        if (chars == null || chars.length != charsLength) {
+            chars = new char[charsLength];
+            charPositions = new long[charsLength + 1];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+    }
+
+    /**
+     * Decodes bytes to free space of characters buffer recording byte position
+     * of each character.
+     *
+     * @return new count of characters
+     */
+    private int decode(ByteBuffer byteBuffer, long bytesPosition, int charsCount, boolean endOfInput) {
+        switch (decodingMode) {
+            case SINGLE_BYTE:
+                return decodeSingleBytes(byteBuffer, bytesPosition, charsCount, endOfInput);
+            case CODE_UNITS: {
+                if (byteOrderMarkPending) {
+                    // Byte order mark is skipped without character
+                    int inputStart = byteBuffer.position();
+                    charsCount = decodeCharacters(byteBuffer, bytesPosition, charsCount, endOfInput, inputStart + 1);
+                    if (byteBuffer.position() == inputStart) {
+                        return charsCount;
+                    }
+                    byteOrderMarkPending = false;
+                }
+                return decodeCodeUnits(byteBuffer, bytesPosition, charsCount, endOfInput);
+            }
+            case LEAD_BYTES:
+                return decodeSequences(byteBuffer, bytesPosition, charsCount, endOfInput);
+            case CHARACTERS:
+                return decodeCharacters(byteBuffer, bytesPosition, charsCount, endOfInput, byteBuffer.limit());
+            default:
+                throw new IllegalStateException("Unexpected decoding mode: " + decodingMode.name());
+        }
+    }
+
+    private int decodeSingleBytes(ByteBuffer byteBuffer, long bytesPosition, int charsCount, boolean endOfInput) {
+        // Last item is reserved for position after last character
+        int capacity = chars.length - 1;
+        int inputStart = byteBuffer.position();
+        charBuffer.limit(capacity);
+        charBuffer.position(charsCount);
+        decoder.decode(byteBuffer, charBuffer, endOfInput);
+        int produced = charBuffer.position() - charsCount;
+        long position = bytesPosition + inputStart;
+        for (int i = 0; i < produced; i++) {
+            charPositions[charsCount + i] = position + i;
+        }
+        return charsCount + produced;
+    }
+
+    /**
+     * Decodes UTF-16 or UTF-32 data where each code unit produces single
+     * character except for UTF-32 supplementary character producing surrogate
+     * pair.
+     *
+     * Replacement character might stand for malformed sequence of multiple
+     * code units, so decoding continues character by character from the first
+     * replacement character.
+     */
+    private int decodeCodeUnits(ByteBuffer byteBuffer, long bytesPosition, int charsCount, boolean endOfInput) {
+        int capacity = chars.length - 1;
+        while (charsCount < capacity && byteBuffer.hasRemaining()) {
+            int inputStart = byteBuffer.position();
+            charBuffer.limit(capacity);
+            charBuffer.position(charsCount);
+            decoder.decode(byteBuffer, charBuffer, endOfInput);
+            int producedEnd = charBuffer.position();
+            int offset = inputStart;
+            int charIndex = charsCount;
+            while (charIndex < producedEnd && chars[charIndex] != '\uFFFD') {
+                charPositions[charIndex] = bytesPosition + offset;
+                if (codeUnitLength == 4 && Character.isHighSurrogate(chars[charIndex]) && charIndex + 1 < producedEnd) {
+                    charIndex++;
+                    charPositions[charIndex] = bytesPosition + offset;
+                }
+                charIndex++;
+                offset += codeUnitLength;
+            }
+            charsCount = charIndex;
+            if (charIndex == producedEnd) {
+                break;
+            }
+
+            // Decoders of code units keep no input between calls, so input can be rewound
+            byteBuffer.position(offset);
+            charsCount = decodeCharacters(byteBuffer, bytesPosition, charsCount, endOfInput, offset + 1);
+            if (byteBuffer.position() == offset) {
+                break;
+            }
+        }
+
+        return charsCount;
+    }
+
+    /**
+     * Decodes runs of valid sequences at once with positions given by lengths
+     * of sequences.
+     *
+     * Run is decoded character by character if any sequence doesn't produce
+     * exactly one character, such as unmapped sequence decoded as
+     * replacement character.
+     */
+    private int decodeSequences(ByteBuffer byteBuffer, long bytesPosition, int charsCount, boolean endOfInput) {
+        int capacity = chars.length - 1;
+        int limit = byteBuffer.limit();
+        while (charsCount < capacity && byteBuffer.hasRemaining()) {
+            int runStart = byteBuffer.position();
+            int position = runStart;
+            int runChars = 0;
+            while (position < limit) {
+                int length = getValidSequenceLength(position, limit);
+                if (length == 0) {
+                    break;
+                }
+                // Supplementary character of UTF-8 is decoded as surrogate pair
+                int sequenceChars = length == 4 ? 2 : 1;
+                if (charsCount + runChars + sequenceChars > capacity) {
+                    break;
+                }
+                for (int i = 0; i < sequenceChars; i++) {
+                    charPositions[charsCount + runChars] = bytesPosition + position;
+                    runChars++;
+                }
+                position += length;
+            }
+
+            if (runChars > 0) {
+                byteBuffer.limit(position);
+                charBuffer.limit(capacity);
+                charBuffer.position(charsCount);
+                // Run consists of complete sequences, so nothing is left in decoder
+                decoder.decode(byteBuffer, charBuffer, endOfInput);
+                byteBuffer.limit(limit);
+                if (charBuffer.position() - charsCount == runChars && byteBuffer.position() == position && !containsReplacement(charsCount, runChars)) {
+                    charsCount += runChars;
+                    continue;
+                }
+
+                byteBuffer.position(runStart);
+                decoder.reset();
+                charsCount = decodeCharacters(byteBuffer, bytesPosition, charsCount, endOfInput, position);
+            } else {
+                charsCount = decodeCharacters(byteBuffer, bytesPosition, charsCount, endOfInput, runStart + 1);
+            }
+
+            if (byteBuffer.position() == runStart) {
+                // Incomplete sequence waits for next block of data
+                break;
+            }
+        }
+
+        return charsCount;
+    }
+
+    private boolean containsReplacement(int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] == '\uFFFD') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns length of complete valid sequence starting at given offset of
+     * bytes buffer.
+     *
+     * @return length of sequence or 0 if sequence is invalid or incomplete
+     */
+    private int getValidSequenceLength(int offset, int limit) {
+        int leadByte = bytes[offset] & 0xFF;
+        if (leadByte < 0x80) {
+            return 1;
+        }
+
+        int length = sequenceDecoder.getSequenceLength(bytes[offset]);
+        if (offset + length > limit) {
+            return 0;
+        }
+        if (length == 1) {
+            // Single byte of UTF-8 above ASCII is always invalid
+            return trailByteMax == 0 ? 0 : 1;
+        }
+
+        int second = bytes[offset + 1] & 0xFF;
+        if (trailByteMax > 0) {
+            return (second >= 0x40 && second <= 0x7E) || (second >= 0x80 && second <= trailByteMax) ? 2 : 0;
+        }
+
+        int secondMin = 0x80;
+        int secondMax = 0xBF;
+        if (leadByte == 0xE0) {
+            secondMin = 0xA0;
+        } else if (leadByte == 0xED) {
+            secondMax = 0x9F;
+        } else if (leadByte == 0xF0) {
+            secondMin = 0x90;
+        } else if (leadByte == 0xF4) {
+            secondMax = 0x8F;
+        }
+        if (second < secondMin || second > secondMax) {
+            return 0;
+        }
+        for (int i = 2; i < length; i++) {
+            int next = bytes[offset + i] & 0xFF;
+            if (next < 0x80 || next > 0xBF) {
+                return 0;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Decodes characters one by one to track byte positions until given
+     * offset of bytes buffer is reached.
+     */
+    private int decodeCharacters(ByteBuffer byteBuffer, long bytesPosition, int charsCount, boolean endOfInput, int untilOffset) {
+        int capacity = chars.length - 1;
+        while (charsCount < capacity && byteBuffer.hasRemaining() && byteBuffer.position() < untilOffset) {
+            int inputStart = byteBuffer.position();
+            charBuffer.limit(charsCount + 1);
+            charBuffer.position(charsCount);
+            CoderResult result = decoder.decode(byteBuffer, charBuffer, endOfInput);
+            if (charBuffer.position() == charsCount && result.isOverflow()) {
+                // Surrogate pair requires two characters
+                if (charsCount + 2 > capacity) {
+                    break;
+                }
+                charBuffer.limit(charsCount + 2);
+                result = decoder.decode(byteBuffer, charBuffer, endOfInput);
+            }
+
+            int produced = charBuffer.position() - charsCount;
+            if (produced == 0) {
+                break;
+            }
+            long position = bytesPosition + inputStart;
+            for (int i = 0; i < produced; i++) {
+                charPositions[charsCount + i] = position;
+            }
+            charsCount += produced;
+            if (result.isUnderflow() && byteBuffer.position() == inputStart) {
+                break;
+            }
+        }
+
+        return charsCount;
+    }
+
+    /**
+     * Way of tracking of byte positions of decoded characters.
+     */
+    private enum DecodingMode {
+        SINGLE_BYTE, CODE_UNITS, LEAD_BYTES, CHARACTERS
+    }
+}
@@ -0,0 +1,550 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.exbin.deltahex.delta.DeltaDataSource;
+import org.exbin.deltahex.delta.DeltaHexadecimalData;
+import org.exbin.deltahex.highlight.HighlightCodeAreaPainter;
+import org.exbin.utils.binary_data.ByteArrayEditableData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for binary data search.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class BinaryDataSearchTest {
+
+    public BinaryDataSearchTest() {
+    }
+
+    @Test
+    public void testFindAllAcrossChunks() {
+        byte[] content = createSampleContent();
+        byte[] pattern = new byte[]{1, 2, 3, 0};
+        BinaryDataSearch search = new BinaryDataSearch(new ByteArrayEditableData(content));
+        search.setChunkSize(64);
+
+        final List<Long> found = new ArrayList<>();
+        search.findAll(new ByteSequenceMatcher(pattern), 0, content.length, new SearchListener() {
+            @Override
+            public void matchFound(long position, long length) {
+                found.add(position);
+            }
+        });
+
+        assertEquals(naiveFindAll(content, pattern), found);
+    }
+
+    @Test
+    public void testFindNextAndPrevious() {
+        byte[] content = createSampleContent();
+        byte[] pattern = new byte[]{1, 2, 3, 0};
+        List<Long> expected = naiveFindAll(content, pattern);
+        BinaryDataSearch search = new BinaryDataSearch(new ByteArrayEditableData(content));
+        search.setChunkSize(50);
+        ByteSequenceMatcher matcher = new ByteSequenceMatcher(pattern);
+
+        long position = search.findNext(matcher, 0);
+        assertEquals((long) expected.get(0), position);
+        position = search.findNext(matcher, position + pattern.length);
+        assertEquals((long) expected.get(1), position);
+
+        long last = expected.get(expected.size() - 1);
+        assertEquals(last, search.findPrevious(matcher, content.length));
+        assertEquals((long) expected.get(expected.size() - 2), search.findPrevious(matcher, last));
+        assertEquals(-1, search.findPrevious(matcher, expected.get(0)));
+    }
+
+    @Test
+    public void testParallelFindAll() {
+        byte[] content = createSampleContent();
+        byte[] pattern = new byte[]{1, 1, 1};
+        ParallelBinaryDataSearch search = new ParallelBinaryDataSearch(new ByteArrayEditableData(content));
+        search.setChunkSize(37);
+        search.setParallelism(4);
+
+        List<HighlightCodeAreaPainter.SearchMatch> matches = search.findAll(new ByteSequenceMatcher(pattern), 0, content.length);
+        List<Long> found = new ArrayList<>();
+        for (HighlightCodeAreaPainter.SearchMatch match : matches) {
+            found.add(match.getPosition());
+        }
+
+        assertEquals(naiveFindAll(content, pattern), found);
+    }
+
+    @Test
+    public void testParallelFindAllJoinsChunks() {
+        // Uniform content where selections of neighbouring chunks never join
+        byte[] content = new byte[5000];
+        Arrays.fill(content, (byte) 7);
+        content[2500] = 8;
+        byte[][] patterns = new byte[][]{{7, 7}, {7, 7, 7}, {7, 7, 7, 7, 7, 7, 7}};
+        int[] chunkSizes = new int[]{1, 2, 5, 64, 333};
+        for (byte[] pattern : patterns) {
+            for (int chunkSize : chunkSizes) {
+                ParallelBinaryDataSearch search = new ParallelBinaryDataSearch(new ByteArrayEditableData(content));
+                search.setChunkSize(chunkSize);
+                search.setParallelism(3);
+                final List<Long> found = new ArrayList<>();
+                search.findAll(new ByteSequenceMatcher(pattern), 10, content.length - 3, new SearchListener() {
+                    @Override
+                    public void matchFound(long position, long length) {
+                        found.add(position);
+                    }
+                });
+
+                List<Long> expected = new ArrayList<>();
+                for (long position : naiveFindAll(Arrays.copyOfRange(content, 10, content.length - 3), pattern)) {
+                    expected.add(position + 10);
+                }
+                assertEquals(expected, found);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiPatternScan() {
+        byte[] content = createSampleContent();
+        List<byte[]> patterns = new ArrayList<>();
+        patterns.add(new byte[]{1, 2, 3, 0});
+        patterns.add(new byte[]{2, 3});
+        patterns.add(new byte[]{1, 1});
+        patterns.add(new byte[]{3, 3, 3, 3, 2});
+        MultiPatternScanner scanner = new MultiPatternScanner(patterns);
+        MultiPatternMatchCollector collector = new MultiPatternMatchCollector(new int[]{0, 1, 1, 2});
+        scanner.scan(new ByteArrayEditableData(content), 0, content.length, 33, collector);
+
+        int[] counts = new int[3];
+        for (HighlightCodeAreaPainter.SearchMatch match : collector.getMatches()) {
+            counts[match.getGroup()]++;
+        }
+        assertEquals(naiveCount(content, patterns.get(0)), counts[0]);
+        assertEquals(naiveCount(content, patterns.get(1)) + naiveCount(content, patterns.get(2)), counts[1]);
+        assertEquals(naiveCount(content, patterns.get(3)), counts[2]);
+    }
+
+    @Test
+    public void testMaskedPattern() {
+        byte[] content = createSampleContent();
+        for (int alignment = 1; alignment <= 4; alignment++) {
+            MaskedPatternMatcher matcher = MaskedPatternMatcher.parse("01 ?? 0? 00", alignment);
+            BinaryDataSearch search = new BinaryDataSearch(new ByteArrayEditableData(content));
+            search.setChunkSize(61);
+            final List<Long> found = new ArrayList<>();
+            search.findAll(matcher, 0, content.length, new SearchListener() {
+                @Override
+                public void matchFound(long position, long length) {
+                    found.add(position);
+                }
+            });
+
+            List<Long> expected = new ArrayList<>();
+            for (int position = 0; position + 4 <= content.length; position += alignment) {
+                if (content[position] == 1 && content[position + 2] < 16 && content[position + 3] == 0) {
+                    if (expected.isEmpty() || expected.get(expected.size() - 1) + 4 <= position) {
+                        expected.add((long) position);
+                    }
+                }
+            }
+            assertEquals(expected, found);
+            assertEquals((long) expected.get(expected.size() - 1), search.findPrevious(matcher, content.length));
+        }
+    }
+
+    @Test
+    public void testTextSearch() {
+        String[] charsets = new String[]{"UTF-8", "UTF-16LE", "Shift_JIS", "EUC-JP"};
+        for (String charsetName : charsets) {
+            Charset charset = Charset.forName(charsetName);
+            StringBuilder builder = new StringBuilder();
+            Random random = new Random(1);
+            String[] words = new String[]{"abc", "\u65e5\u672c", "Hello", "x", "HELLO", "  "};
+            for (int i = 0; i < 300; i++) {
+                builder.append(words[random.nextInt(words.length)]);
+            }
+            String text = builder.toString();
+            byte[] content = text.getBytes(charset);
+
+            TextSearch search = new TextSearch(new ByteArrayEditableData(content), charset);
+            search.setChunkSize(37);
+            search.setMaxMatchLength(8);
+            final List<Long> found = new ArrayList<>();
+            search.findAll(TextSearch.compileText("\u672cHello", false), 0, content.length, new SearchListener() {
+                @Override
+                public void matchFound(long position, long length) {
+                    found.add(position);
+                }
+            });
+
+            List<Long> expected = new ArrayList<>();
+            String lowerText = text.toLowerCase();
+            int index = 0;
+            while ((index = lowerText.indexOf("\u672chello", index)) >= 0) {
+                expected.add((long) text.substring(0, index).getBytes(charset).length);
+                index += 6;
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, found);
+        }
+    }
+
+    @Test
+    public void testTextSearchPositions() {
+        String[] charsets = new String[]{"UTF-8", "UTF-16", "UTF-16BE", "UTF-16LE", "UTF-32", "UTF-32LE", "Shift_JIS", "windows-31j", "GBK", "EUC-JP", "ISO-8859-1"};
+        String text = "abc \u65e5\u672c\u8a9e \u00e9\u00e8 \ud83d\ude00 \uff76\uff85 Hello";
+        Random random = new Random(35);
+        for (String charsetName : charsets) {
+            Charset charset = Charset.forName(charsetName);
+            // Valid text interleaved with random bytes
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            for (int i = 0; i < 40; i++) {
+                byte[] textBytes = text.getBytes(charset);
+                output.write(textBytes, 0, textBytes.length);
+                byte[] noise = new byte[random.nextInt(8)];
+                random.nextBytes(noise);
+                output.write(noise, 0, noise.length);
+            }
+            byte[] content = output.toByteArray();
+            List<Long> expected = referenceCharRanges(content, charset);
+
+            for (int chunkSize : new int[]{37, 64, 1000, TextSearch.DEFAULT_CHUNK_SIZE}) {
+                TextSearch search = new TextSearch(new ByteArrayEditableData(content), charset);
+                search.setChunkSize(chunkSize);
+                search.setMaxMatchLength(4);
+                final List<Long> found = new ArrayList<>();
+                search.findAll(Pattern.compile(".", Pattern.DOTALL), 0, content.length, new SearchListener() {
+                    @Override
+                    public void matchFound(long position, long length) {
+                        found.add(position);
+                        found.add(length);
+                    }
+                });
+                assertEquals(charsetName + " chunk " + chunkSize, expected, found);
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalSearchSession() throws InterruptedException {
+        byte[] content = createSampleContent();
+        IncrementalSearchSession session = new IncrementalSearchSession(new ByteArrayEditableData(content));
+        final Object lock = new Object();
+        session.addCandidatesChangedListener(new IncrementalSearchSession.CandidatesChangedListener() {
+            @Override
+            public void candidatesChanged() {
+                synchronized (lock) {
+                    lock.notifyAll();
+                }
+            }
+        });
+
+        session.setPattern(new byte[]{1});
+        synchronized (lock) {
+            while (!session.isComplete()) {
+                lock.wait(1000);
+            }
+        }
+        assertEquals(naiveCount(content, new byte[]{1}), session.getCandidatesCount());
+
+        byte[] pattern = new byte[]{1, 2, 3};
+        session.setPattern(pattern);
+        waitForCompletion(session, lock);
+        assertEquals(naiveCount(content, pattern), session.getCandidatesCount());
+
+        session.setPattern(new byte[]{1, 2});
+        synchronized (lock) {
+            while (!session.isComplete()) {
+                lock.wait(1000);
+            }
+        }
+        assertEquals(naiveCount(content, new byte[]{1, 2}), session.getCandidatesCount());
+    }
+
+    @Test
+    public void testIncrementalSearchSessionLimit() throws InterruptedException {
+        byte[] content = createSampleContent();
+        IncrementalSearchSession session = new IncrementalSearchSession(new ByteArrayEditableData(content));
+        final Object lock = new Object();
+        session.addCandidatesChangedListener(new IncrementalSearchSession.CandidatesChangedListener() {
+            @Override
+            public void candidatesChanged() {
+                synchronized (lock) {
+                    lock.notifyAll();
+                }
+            }
+        });
+        session.setMaxCandidates(10);
+
+        session.setPattern(new byte[]{1});
+        waitForCompletion(session, lock);
+        assertTrue(session.isTruncated());
+        assertArrayEquals(toArray(naiveFindAllOverlapping(content, new byte[]{1}).subList(0, 10)), session.getCandidates());
+
+        // Truncated candidates are filtered and scan resumes with extended pattern
+        byte[] pattern = new byte[]{1, 2, 3, 0, 1};
+        for (int length = 2; length <= pattern.length; length++) {
+            byte[] prefix = Arrays.copyOf(pattern, length);
+            session.setPattern(prefix);
+            waitForCompletion(session, lock);
+            List<Long> expected = naiveFindAllOverlapping(content, prefix);
+            assertEquals(expected.size() > 10, session.isTruncated());
+            assertArrayEquals(toArray(expected.subList(0, Math.min(10, expected.size()))), session.getCandidates());
+        }
+        assertFalse(session.isTruncated());
+
+        // Patterns changed faster than search finishes
+        session.setMaxCandidates(1000);
+        session.setPattern(new byte[]{2});
+        session.setPattern(new byte[]{2, 1});
+        session.setPattern(new byte[]{3});
+        session.setPattern(new byte[]{3, 3});
+        waitForCompletion(session, lock);
+        assertArrayEquals(toArray(naiveFindAllOverlapping(content, new byte[]{3, 3})), session.getCandidates());
+    }
+
+    @Test
+    public void testIncrementalSearchSessionReset() throws InterruptedException {
+        byte[] content = createSampleContent();
+        ByteArrayEditableData data = new ByteArrayEditableData(content);
+        IncrementalSearchSession session = new IncrementalSearchSession(data);
+        final Object lock = new Object();
+        session.addCandidatesChangedListener(new IncrementalSearchSession.CandidatesChangedListener() {
+            @Override
+            public void candidatesChanged() {
+                synchronized (lock) {
+                    lock.notifyAll();
+                }
+            }
+        });
+
+        byte[] pattern = new byte[]{0, 1, 2};
+        session.setPattern(pattern);
+        waitForCompletion(session, lock);
+        assertArrayEquals(toArray(naiveFindAllOverlapping(content, pattern)), session.getCandidates());
+
+        // Snapshot is kept until reset
+        data.insert(0, pattern);
+        session.setPattern(new byte[]{0, 1, 2, 3});
+        waitForCompletion(session, lock);
+        assertArrayEquals(toArray(naiveFindAllOverlapping(content, new byte[]{0, 1, 2, 3})), session.getCandidates());
+
+        session.setPattern(pattern);
+        session.reset();
+        waitForCompletion(session, lock);
+        byte[] modified = new byte[(int) data.getDataSize()];
+        data.copyToArray(0, modified, 0, modified.length);
+        assertArrayEquals(toArray(naiveFindAllOverlapping(modified, pattern)), session.getCandidates());
+        assertEquals(0, session.getCandidate(0));
+    }
+
+    @Test
+    public void testBlockIndexFilter() throws IOException {
+        byte[] content = new byte[200000];
+        Random random = new Random(2);
+        random.nextBytes(content);
+        byte[] pattern = new byte[]{10, 20, 30, 40, 50, 60};
+        for (int i = 0; i < 5; i++) {
+            System.arraycopy(pattern, 0, content, random.nextInt(content.length - pattern.length), pattern.length);
+        }
+        // Match crossing block boundary
+        System.arraycopy(pattern, 0, content, 4096 * 3 - 2, pattern.length);
+
+        File sourceFile = File.createTempFile("dhx", ".bin");
+        File indexFile = new File(sourceFile.getPath() + BlockNgramIndex.INDEX_FILE_SUFFIX);
+        try {
+            try (FileOutputStream output = new FileOutputStream(sourceFile)) {
+                output.write(content);
+            }
+            DeltaDataSource source = new DeltaDataSource(sourceFile);
+            BlockNgramIndex index = new BlockNgramIndex(source);
+            assertFalse(index.load());
+            assertTrue(index.build(null));
+            index.close();
+            assertTrue(index.load());
+
+            BinaryDataSearch search = new BinaryDataSearch(new ByteArrayEditableData(content));
+            SearchMatchCollector expected = new SearchMatchCollector();
+            search.findAll(new ByteSequenceMatcher(pattern), 0, content.length, expected);
+            search.setBlockFilter(index.createFilter(pattern));
+            SearchMatchCollector found = new SearchMatchCollector();
+            search.findAll(new ByteSequenceMatcher(pattern), 0, content.length, found);
+
+            assertEquals(expected.getMatches().size(), found.getMatches().size());
+            for (int i = 0; i < found.getMatches().size(); i++) {
+                assertEquals(expected.getMatches().get(i).getPosition(), found.getMatches().get(i).getPosition());
+            }
+
+            // Filter is not applied to modified document with shifted data
+            DeltaHexadecimalData deltaData = new DeltaHexadecimalData(source);
+            BinaryDataSearch deltaSearch = new BinaryDataSearch(deltaData);
+            deltaSearch.setBlockFilter(index.createFilter(pattern));
+            SearchMatchCollector deltaFound = new SearchMatchCollector();
+            deltaSearch.findAll(new ByteSequenceMatcher(pattern), 0, content.length, deltaFound);
+            assertEquals(expected.getMatches().size(), deltaFound.getMatches().size());
+
+            deltaData.insert(0, new byte[4096 + 100]);
+            deltaData.replace(50000, pattern);
+            assertFalse(deltaData.isSourceAligned());
+            byte[] modifiedContent = new byte[(int) deltaData.getDataSize()];
+            deltaData.copyToArray(0, modifiedContent, 0, modifiedContent.length);
+            deltaFound = new SearchMatchCollector();
+            deltaSearch.findAll(new ByteSequenceMatcher(pattern), 0, modifiedContent.length, deltaFound);
+            List<Long> deltaPositions = new ArrayList<>();
+            for (HighlightCodeAreaPainter.SearchMatch match : deltaFound.getMatches()) {
+                deltaPositions.add(match.getPosition());
+            }
+            assertEquals(naiveFindAll(modifiedContent, pattern), deltaPositions);
+            index.close();
+            source.close();
+        } finally {
+            sourceFile.delete();
+            indexFile.delete();
+        }
+    }
+
+    private static int naiveCount(byte[] content, byte[] pattern) {
+        int count = 0;
+        for (int position = 0; position + pattern.length <= content.length; position++) {
+            boolean match = true;
+            for (int i = 0; i < pattern.length; i++) {
+                if (content[position + i] != pattern[i]) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns byte position and length of each code point decoding data
+     * character by character.
+     */
+    private static List<Long> referenceCharRanges(byte[] content, Charset charset) {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer byteBuffer = ByteBuffer.wrap(content);
+        CharBuffer charBuffer = CharBuffer.allocate(content.length + 2);
+        List<Long> positions = new ArrayList<>();
+        while (byteBuffer.hasRemaining()) {
+            int inputStart = byteBuffer.position();
+            int charsStart = charBuffer.position();
+            charBuffer.limit(charsStart + 1);
+            CoderResult result = decoder.decode(byteBuffer, charBuffer, true);
+            if (charBuffer.position() == charsStart && result.isOverflow()) {
+                charBuffer.limit(charsStart + 2);
+                decoder.decode(byteBuffer, charBuffer, true);
+            }
+            for (int i = charsStart; i < charBuffer.position(); i++) {
+                positions.add((long) inputStart);
+            }
+        }
+        charBuffer.limit(charBuffer.capacity());
+        decoder.flush(charBuffer);
+        while (positions.size() < charBuffer.position()) {
+            positions.add((long) content.length);
+        }
+        positions.add((long) content.length);
+
+        List<Long> ranges = new ArrayList<>();
+        int charsCount = charBuffer.position();
+        for (int i = 0; i < charsCount; i++) {
+            int next = Character.isHighSurrogate(charBuffer.get(i)) && i + 1 < charsCount && Character.isLowSurrogate(charBuffer.get(i + 1)) ? i + 2 : i + 1;
+            ranges.add(positions.get(i));
+            ranges.add(positions.get(next) - positions.get(i));
+            i = next - 1;
+        }
+        return ranges;
+    }
+
+    private static void waitForCompletion(IncrementalSearchSession session, Object lock) throws InterruptedException {
+        synchronized (lock) {
+            while (!session.isComplete()) {
+                lock.wait(1000);
+            }
+        }
+    }
+
+    private static List<Long> naiveFindAllOverlapping(byte[] content, byte[] pattern) {
+        List<Long> result = new ArrayList<>();
+        for (int position = 0; position + pattern.length <= content.length; position++) {
+            if (Arrays.equals(pattern, Arrays.copyOfRange(content, position, position + pattern.length))) {
+                result.add((long) position);
+            }
+        }
+        return result;
+    }
+
+    private static long[] toArray(List<Long> positions) {
+        long[] result = new long[positions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = positions.get(i);
+        }
+        return result;
+    }
+
+    private static byte[] createSampleContent() {
+        byte[] content = new byte[1000];
+        Random random = new Random(0);
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) random.nextInt(4);
+        }
+        return content;
+    }
+
+    private static List<Long> naiveFindAll(byte[] content, byte[] pattern) {
+        List<Long> result = new ArrayList<>();
+        int position = 0;
+        while (position + pattern.length <= content.length) {
+            boolean match = true;
+            for (int i = 0; i < pattern.length; i++) {
+                if (content[position + i] != pattern[i]) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                result.add((long) position);
+                position += pattern.length;
+            } else {
+                position++;
+            }
+        }
+        return result;
+    }
+}
@@ -22,6 +22,7 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.GraphicsDevice;
 import java.awt.Insets;
 import java.awt.Point;
@@ -39,22 +40,26 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
+import java.awt.image.VolatileImage;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import javax.swing.JComponent;
 import javax.swing.JScrollBar;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.border.Border;
 import org.exbin.utils.binary_data.BinaryData;
+import org.exbin.utils.binary_data.EditableBinaryData;
 
 /**
  * Hexadecimal viewer/editor component.
  *
  * Also supports binary, octal and decimal codes.
  *
- * @version 0.1.0 2016/06/24
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class CodeArea extends JComponent {
@@ -85,6 +90,7 @@ public class CodeArea extends JComponent {
     private CharRenderingMode charRenderingMode = CharRenderingMode.AUTO;
     private CharAntialiasingMode charAntialiasingMode = CharAntialiasingMode.AUTO;
     private HexCharactersCase hexCharactersCase = HexCharactersCase.UPPER;
+    private BufferingMode bufferingMode = BufferingMode.DIRECT;
     private final CodeAreaSpace headerSpace = new CodeAreaSpace(CodeAreaSpace.SpaceType.HALF_UNIT);
     private final CodeAreaSpace lineNumberSpace = new CodeAreaSpace();
     private final CodeAreaLineNumberLength lineNumberLength = new CodeAreaLineNumberLength();
@@ -107,6 +113,30 @@ public class CodeArea extends JComponent {
     private JScrollBar horizontalScrollBar;
     private JScrollBar verticalScrollBar;
     private ScrollPosition scrollPosition = new ScrollPosition();
+    /**
+     * Mapping of vertical scroll position to scroll bar range.
+     */
+    private final ScrollBarScale verticalScrollBarScale = new ScrollBarScale();
+    /**
+     * Vertical scroll bar value set for current scroll position, precise
+     * scroll position is kept while scroll bar has this value.
+     */
+    private int verticalScrollBarValue = 0;
+    /**
+     * Line where caret was painted last time.
+     */
+    private long paintedCaretLine = -1;
+    /**
+     * Rectangles reused by paint operations.
+     */
+    private final Rectangle paintClipBounds = new Rectangle();
+    private final Rectangle paintSectionClip = new Rectangle();
+    private final Rectangle paintCaretLineRect = new Rectangle();
+    /**
+     * Offscreen buffer, not initialized in field declaration as repaint can
+     * be called from parent constructor.
+     */
+    private OffscreenBuffer offscreenBuffer;
 
     /**
      * Component colors. Parent foreground and background are used for header
@@ -119,6 +149,12 @@ public class CodeArea extends JComponent {
     private Color cursorColor;
     private Color decorationLineColor;
 
+    /**
+     * Highlight layers ordered by priority.
+     */
+    private final List<HighlightLayer> highlightLayers = new ArrayList<>();
+    private final List<HighlightLayer> highlightLayersView = Collections.unmodifiableList(highlightLayers);
+
     /**
      * Listeners.
      */
@@ -135,6 +171,10 @@ public class CodeArea extends JComponent {
         caret = new CodeAreaCaret(this);
         painter = new DefaultCodeAreaPainter(this);
         commandHandler = new DefaultCodeAreaCommandHandler(this);
+        highlightLayers.add(new SelectionHighlightLayer(this));
+        for (HighlightLayer painterLayer : painter.getHighlightLayers()) {
+            addHighlightLayer(painterLayer);
+        }
 
         Color textColor = UIManager.getColor("TextArea.foreground");
         Color backgroundColor = UIManager.getColor("TextArea.background");
@@ -193,7 +233,22 @@ public class CodeArea extends JComponent {
 
     @Override
     public void paintComponent(Graphics g) {
-        Rectangle clipBounds = g.getClipBounds();
+        if (offscreenBuffer != null && offscreenBuffer.paint(g)) {
+            return;
+        }
+
+        paintContent(g);
+    }
+
+    /**
+     * Paints content of the component limited by clip bounds.
+     *
+     * @param g graphics
+     */
+    private void paintContent(Graphics g) {
+        Rectangle clipBounds = paintClipBounds;
+        clipBounds.setBounds(0, 0, getWidth(), getHeight());
+        g.getClipBounds(clipBounds);
         if (charAntialiasingMode != CharAntialiasingMode.OFF && g instanceof Graphics2D) {
             Object antialiasingHint = getAntialiasingHint((Graphics2D) g);
             ((Graphics2D) g).setRenderingHint(
@@ -207,24 +262,70 @@ public class CodeArea extends JComponent {
 
         painter.paintOverall(g);
         Rectangle hexRect = dimensionsCache.codeSectionRectangle;
+        Rectangle sectionClip = paintSectionClip;
         if (showHeader) {
-            g.setClip(clipBounds.createIntersection(new Rectangle(hexRect.x, 0, hexRect.width, hexRect.y)));
-            painter.paintHeader(g);
+            sectionClip.setBounds(clipBounds);
+            SwingUtilities.computeIntersection(hexRect.x, 0, hexRect.width, hexRect.y, sectionClip);
+            if (!sectionClip.isEmpty()) {
+                g.setClip(sectionClip.x, sectionClip.y, sectionClip.width, sectionClip.height);
+                painter.paintHeader(g);
+            }
         }
 
-        g.setClip(clipBounds.createIntersection(new Rectangle(0, hexRect.y, hexRect.x + hexRect.width, hexRect.height)));
+        sectionClip.setBounds(clipBounds);
+        SwingUtilities.computeIntersection(0, hexRect.y, hexRect.x + hexRect.width, hexRect.height, sectionClip);
+        g.setClip(sectionClip.x, sectionClip.y, sectionClip.width, sectionClip.height);
         painter.paintBackground(g);
         if (showLineNumbers) {
             painter.paintLineNumbers(g);
-            g.setClip(clipBounds.createIntersection(new Rectangle(hexRect.x, hexRect.y, hexRect.width, hexRect.height)));
+            sectionClip.setBounds(clipBounds);
+            SwingUtilities.computeIntersection(hexRect.x, hexRect.y, hexRect.width, hexRect.height, sectionClip);
+            g.setClip(sectionClip.x, sectionClip.y, sectionClip.width, sectionClip.height);
         }
 
         painter.paintMainArea(g);
 
         if (hasFocus()) {
             caret.paint(g);
+            if (dimensionsCache.bytesPerLine > 0) {
+                long caretLine = caret.getDataPosition() / dimensionsCache.bytesPerLine;
+                if (computeLinesRectangle(caretLine, caretLine, paintCaretLineRect) && paintCaretLineRect.intersects(clipBounds)) {
+                    paintedCaretLine = caretLine;
+                }
+            }
+        }
+        g.setClip(clipBounds.x, clipBounds.y, clipBounds.width, clipBounds.height);
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        if (offscreenBuffer != null) {
+            offscreenBuffer.addDamage(x, y, width, height);
+        }
+        super.repaint(tm, x, y, width, height);
+    }
+
+    /**
+     * Repaints component after change of scroll position.
+     *
+     * In offscreen buffering mode content of the buffer is shifted and only
+     * newly exposed lines are repainted.
+     */
+    private void repaintScrolled() {
+        if (offscreenBuffer != null) {
+            offscreenBuffer.scrolled();
+            super.repaint(0, 0, 0, getWidth(), getHeight());
+        } else {
+            repaint();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (offscreenBuffer != null) {
+            offscreenBuffer.flush();
         }
-        g.setClip(clipBounds);
+        super.removeNotify();
     }
 
     private Object getAntialiasingHint(Graphics2D g) {
@@ -287,7 +388,9 @@ public class CodeArea extends JComponent {
         Point scrollPoint = getScrollPoint();
         int bytesPerLine = dimensionsCache.bytesPerLine;
         int cursorCharX = (me.getX() - hexRect.x + scrollPoint.x) / dimensionsCache.charWidth;
-        int cursorLineY = (me.getY() - hexRect.y + scrollPoint.y) / dimensionsCache.lineHeight;
+        int cursorY = me.getY() - hexRect.y + scrollPosition.scrollLineOffset;
+        int lineHeight = dimensionsCache.lineHeight;
+        long cursorLineY = scrollPosition.scrollLinePosition + (cursorY >= 0 ? cursorY / lineHeight : -((lineHeight - 1 - cursorY) / lineHeight));
         if (cursorLineY < 0) {
             cursorLineY = 0;
         }
@@ -338,6 +441,7 @@ public class CodeArea extends JComponent {
     }
 
     private void notifyCaretMoved() {
+        repaintCaret();
         for (CaretMovedListener caretMovedListener : caretMovedListeners) {
             caretMovedListener.caretMoved(caret.getCaretPosition(), caret.getSection());
         }
@@ -349,10 +453,40 @@ public class CodeArea extends JComponent {
         }
     }
 
+    /**
+     * Notifies about change of whole data.
+     *
+     * Painter caches formatted lines, so any change of data done outside of
+     * command handlers, for example by undo and redo of operations or by
+     * direct modification of data, must be reported using this method or
+     * {@link #notifyDataChanged(long, long)}.
+     */
     public void notifyDataChanged() {
+        notifyDataChanged(0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Notifies about change of data in given range.
+     *
+     * Painter invalidates only cached lines affected by the change.
+     *
+     * @param startPosition start position of changed data
+     * @param endPosition end position of changed data (exclusive) or
+     * Long.MAX_VALUE if all data after start position might be shifted
+     */
+    public void notifyDataChanged(long startPosition, long endPosition) {
+        painter.dataChanged(startPosition, endPosition);
+        if (startPosition == 0 && endPosition == Long.MAX_VALUE) {
+            repaint();
+        } else {
+            // Preview of previous line might contain character continuing on changed line
+            repaintPositions(Math.max(0, startPosition - dimensionsCache.bytesPerLine), endPosition);
+        }
         if (caret.getDataPosition() > data.getDataSize()) {
             caret.setCaretPosition(0);
             notifyCaretMoved();
+        } else {
+            repaintCaret();
         }
 
         for (DataChangedListener dataChangedListener : dataChangedListeners) {
@@ -360,8 +494,18 @@ public class CodeArea extends JComponent {
         }
     }
 
+    /**
+     * Returns scroll position in pixels.
+     *
+     * Vertical position of large data exceeds integer range and is limited to
+     * Integer.MAX_VALUE, use {@link #getScrollPosition()} for positioning
+     * relative to scrolled lines instead.
+     *
+     * @return scroll point
+     */
     public Point getScrollPoint() {
-        return new Point(scrollPosition.scrollBytePosition * dimensionsCache.charWidth + scrollPosition.scrollByteOffset, (int) scrollPosition.scrollLinePosition * dimensionsCache.lineHeight + scrollPosition.scrollLineOffset);
+        long scrollY = scrollPosition.scrollLinePosition * dimensionsCache.lineHeight + scrollPosition.scrollLineOffset;
+        return new Point(scrollPosition.scrollBytePosition * dimensionsCache.charWidth + scrollPosition.scrollByteOffset, (int) Math.min(scrollY, Integer.MAX_VALUE));
     }
 
     public ScrollPosition getScrollPosition() {
@@ -427,21 +571,26 @@ public class CodeArea extends JComponent {
     }
 
     public void updateScrollBars() {
+        long verticalPosition;
         if (verticalScrollMode == VerticalScrollMode.PER_LINE) {
-            verticalScrollBar.setValue((int) scrollPosition.scrollLinePosition);
+            verticalPosition = scrollPosition.scrollLinePosition;
         } else {
-            verticalScrollBar.setValue((int) (scrollPosition.scrollLinePosition * dimensionsCache.lineHeight + scrollPosition.scrollLineOffset));
+            verticalPosition = scrollPosition.scrollLinePosition * dimensionsCache.lineHeight + scrollPosition.scrollLineOffset;
         }
+        verticalScrollBarValue = verticalScrollBarScale.toScrollBarValue(verticalPosition);
+        verticalScrollBar.setValue(verticalScrollBarValue);
 
         if (horizontalScrollMode == HorizontalScrollMode.PER_CHAR) {
             horizontalScrollBar.setValue(scrollPosition.scrollBytePosition);
         } else {
             horizontalScrollBar.setValue(scrollPosition.scrollBytePosition * dimensionsCache.charWidth + scrollPosition.scrollByteOffset);
         }
-        repaint();
+        repaintScrolled();
     }
 
     private void updateSelection(int modifiers, CaretPosition caretPosition) {
+        long previousFirst = selection == null ? -1 : selection.getFirst();
+        long previousLast = selection == null ? -1 : selection.getLast();
         if ((modifiers & KeyEvent.SHIFT_DOWN_MASK) > 0) {
             long currentPosition = caret.getDataPosition();
             long end = currentPosition;
@@ -466,7 +615,7 @@ public class CodeArea extends JComponent {
         } else {
             clearSelection();
         }
-        repaint();
+        repaintSelectionChange(previousFirst, previousLast);
     }
 
     public void moveRight(int modifiers) {
@@ -516,16 +665,153 @@ public class CodeArea extends JComponent {
     public void selectAll() {
         long dataSize = data.getDataSize();
         if (dataSize > 0) {
+            long previousFirst = selection == null ? -1 : selection.getFirst();
+            long previousLast = selection == null ? -1 : selection.getLast();
             selection = new SelectionRange(0, dataSize - 1);
             notifySelectionChanged();
-            repaint();
+            repaintSelectionChange(previousFirst, previousLast);
         }
     }
 
     public void clearSelection() {
+        if (selection != null) {
+            repaintPositions(selection.getFirst(), selection.getLast() + 1);
+        }
         selection = null;
         notifySelectionChanged();
-        repaint();
+    }
+
+    /**
+     * Repaints lines affected by change of selection from given range to
+     * current selection.
+     *
+     * @param previousFirst first position of previous selection or -1 if
+     * there was no selection
+     * @param previousLast last position of previous selection or -1 if there
+     * was no selection
+     */
+    private void repaintSelectionChange(long previousFirst, long previousLast) {
+        if (selection == null) {
+            if (previousFirst >= 0) {
+                repaintPositions(previousFirst, previousLast + 1);
+            }
+            return;
+        }
+
+        long first = selection.getFirst();
+        long last = selection.getLast();
+        if (previousFirst < 0) {
+            repaintPositions(first, last + 1);
+        } else if (previousFirst == first) {
+            repaintPositions(Math.min(previousLast, last), Math.max(previousLast, last) + 1);
+        } else if (previousLast == last) {
+            repaintPositions(Math.min(previousFirst, first), Math.max(previousFirst, first) + 1);
+        } else {
+            repaintPositions(previousFirst, previousLast + 1);
+            repaintPositions(first, last + 1);
+        }
+    }
+
+    /**
+     * Repaints lines containing caret and line where caret was painted
+     * previously.
+     */
+    private void repaintCaret() {
+        if (dimensionsCache.bytesPerLine == 0) {
+            repaint();
+            return;
+        }
+
+        long caretLine = caret.getDataPosition() / dimensionsCache.bytesPerLine;
+        if (paintedCaretLine >= 0 && paintedCaretLine != caretLine) {
+            repaintLines(paintedCaretLine, paintedCaretLine);
+        }
+        repaintLines(caretLine, caretLine);
+    }
+
+    /**
+     * Repaints lines containing given range of data.
+     *
+     * @param startPosition start position
+     * @param endPosition end position (exclusive) or Long.MAX_VALUE for all
+     * following lines
+     */
+    public void repaintPositions(long startPosition, long endPosition) {
+        if (dimensionsCache.bytesPerLine == 0) {
+            repaint();
+            return;
+        }
+
+        long firstLine = startPosition / dimensionsCache.bytesPerLine;
+        long lastLine = endPosition == Long.MAX_VALUE ? Long.MAX_VALUE : (endPosition - 1) / dimensionsCache.bytesPerLine;
+        repaintLines(firstLine, lastLine < firstLine ? firstLine : lastLine);
+    }
+
+    /**
+     * Repaints given range of lines including line numbers.
+     *
+     * Only visible part of the range is repainted.
+     *
+     * @param firstLine first line
+     * @param lastLine last line (inclusive) or Long.MAX_VALUE for all
+     * following lines
+     */
+    public void repaintLines(long firstLine, long lastLine) {
+        Rectangle linesRect = getLinesRectangle(firstLine, lastLine);
+        if (linesRect != null) {
+            repaint(linesRect);
+        }
+    }
+
+    /**
+     * Returns visible rectangle of given range of lines including line numbers.
+     *
+     * @param firstLine first line
+     * @param lastLine last line (inclusive)
+     * @return rectangle or null if no line of the range is visible
+     */
+    public Rectangle getLinesRectangle(long firstLine, long lastLine) {
+        Rectangle linesRect = new Rectangle();
+        return computeLinesRectangle(firstLine, lastLine, linesRect) ? linesRect : null;
+    }
+
+    /**
+     * Computes visible rectangle of given range of lines into given
+     * rectangle.
+     *
+     * @param firstLine first line
+     * @param lastLine last line (inclusive)
+     * @param target target rectangle
+     * @return false if no line of the range is visible
+     */
+    private boolean computeLinesRectangle(long firstLine, long lastLine, Rectangle target) {
+        int lineHeight = dimensionsCache.lineHeight;
+        if (dimensionsCache.fontMetrics == null || lineHeight == 0) {
+            return false;
+        }
+
+        Rectangle hexRect = dimensionsCache.codeSectionRectangle;
+        long visibleLines = hexRect.height / lineHeight + 2;
+        long firstVisibleLine = scrollPosition.scrollLinePosition;
+        if (lastLine < firstVisibleLine || firstLine > firstVisibleLine + visibleLines) {
+            return false;
+        }
+
+        int top = hexRect.y - scrollPosition.scrollLineOffset;
+        if (firstLine > firstVisibleLine) {
+            top += (int) (firstLine - firstVisibleLine) * lineHeight;
+        }
+        int bottom = hexRect.y + hexRect.height;
+        if (lastLine < firstVisibleLine + visibleLines) {
+            bottom = Math.min(bottom, hexRect.y - scrollPosition.scrollLineOffset + (int) (lastLine - firstVisibleLine + 1) * lineHeight);
+        }
+        top = Math.max(top, hexRect.y);
+        if (bottom <= top) {
+            return false;
+        }
+
+        target.setBounds(0, top, hexRect.x + hexRect.width, bottom - top);
+        return true;
     }
 
     private void notifySelectionChanged() {
@@ -539,8 +825,11 @@ public class CodeArea extends JComponent {
     }
 
     public void setSelection(SelectionRange selection) {
+        long previousFirst = this.selection == null ? -1 : this.selection.getFirst();
+        long previousLast = this.selection == null ? -1 : this.selection.getLast();
         this.selection = selection;
         notifySelectionChanged();
+        repaintSelectionChange(previousFirst, previousLast);
     }
 
     public void addSelectionChangedListener(SelectionChangedListener selectionChangedListener) {
@@ -551,6 +840,35 @@ public class CodeArea extends JComponent {
         selectionChangedListeners.remove(selectionChangedListener);
     }
 
+    /**
+     * Returns highlight layers including selection layer.
+     *
+     * @return read only list of layers ordered by priority
+     */
+    public List<HighlightLayer> getHighlightLayers() {
+        return highlightLayersView;
+    }
+
+    /**
+     * Adds highlight layer after layers with lower or equal priority.
+     *
+     * @param highlightLayer highlight layer
+     */
+    public void addHighlightLayer(HighlightLayer highlightLayer) {
+        int index = highlightLayers.size();
+        while (index > 0 && highlightLayers.get(index - 1).getPriority() > highlightLayer.getPriority()) {
+            index--;
+        }
+        highlightLayers.add(index, highlightLayer);
+        repaint();
+    }
+
+    public void removeHighlightLayer(HighlightLayer highlightLayer) {
+        if (highlightLayers.remove(highlightLayer)) {
+            repaint();
+        }
+    }
+
     public void addCaretMovedListener(CaretMovedListener caretMovedListener) {
         caretMovedListeners.add(caretMovedListener);
     }
@@ -679,12 +997,26 @@ public class CodeArea extends JComponent {
         return painter;
     }
 
+    /**
+     * Sets painter.
+     *
+     * Highlight layers of previous painter are removed and layers of new
+     * painter are added.
+     *
+     * @param painter painter
+     */
     public void setPainter(CodeAreaPainter painter) {
         if (painter == null) {
             throw new NullPointerException("Painter cannot be null");
         }
 
+        for (HighlightLayer painterLayer : this.painter.getHighlightLayers()) {
+            highlightLayers.remove(painterLayer);
+        }
         this.painter = painter;
+        for (HighlightLayer painterLayer : painter.getHighlightLayers()) {
+            addHighlightLayer(painterLayer);
+        }
         repaint();
     }
 
@@ -794,7 +1126,7 @@ public class CodeArea extends JComponent {
         } else {
             bytesPerLine = lineLength;
         }
-        int lines = (int) (data.getDataSize() / bytesPerLine) + 1;
+        long lines = data.getDataSize() / bytesPerLine + 1;
         CodeAreaSpace.SpaceType headerSpaceType = headerSpace.getSpaceType();
         switch (headerSpaceType) {
             case NONE: {
@@ -879,7 +1211,7 @@ public class CodeArea extends JComponent {
                 if (bytesPerLine <= 0) {
                     bytesPerLine = 1;
                 }
-                lines = (int) (data.getDataSize() / bytesPerLine) + 1;
+                lines = data.getDataSize() / bytesPerLine + 1;
             }
         }
 
@@ -934,15 +1266,16 @@ public class CodeArea extends JComponent {
             verticalScrollBar.setBounds(compRect.x + compRect.width - dimensionsCache.scrollBarThickness, hexRect.y, dimensionsCache.scrollBarThickness, verticalScrollBarHeight);
 
             int verticalVisibleAmount;
-            int verticalMaximum = lines;
+            long verticalMaximum = lines;
             if (verticalScrollMode == VerticalScrollMode.PIXEL) {
                 verticalVisibleAmount = hexRect.height;
                 verticalMaximum *= dimensionsCache.lineHeight;
             } else {
                 verticalVisibleAmount = hexRect.height / dimensionsCache.lineHeight;
             }
-            verticalScrollBar.setMaximum(verticalMaximum);
-            verticalScrollBar.setVisibleAmount(verticalVisibleAmount);
+            verticalScrollBarScale.setRange(verticalMaximum, verticalVisibleAmount);
+            verticalScrollBar.setMaximum(verticalScrollBarScale.getScrollBarMaximum());
+            verticalScrollBar.setVisibleAmount(verticalScrollBarScale.getScrollBarVisibleAmount());
 
             // Cap vertical scrolling
             if (verticalVisibleAmount < verticalMaximum) {
@@ -1041,6 +1374,50 @@ public class CodeArea extends JComponent {
         return new ColorsGroup(mirrorSelectionColors);
     }
 
+    /**
+     * Returns main colors without copying for painting.
+     *
+     * Returned instance is shared and must not be modified.
+     *
+     * @return main colors
+     */
+    ColorsGroup getSharedMainColors() {
+        return mainColors;
+    }
+
+    /**
+     * Returns alternate colors without copying for painting.
+     *
+     * Returned instance is shared and must not be modified.
+     *
+     * @return alternate colors
+     */
+    ColorsGroup getSharedAlternateColors() {
+        return alternateColors;
+    }
+
+    /**
+     * Returns selection colors without copying for painting.
+     *
+     * Returned instance is shared and must not be modified.
+     *
+     * @return selection colors
+     */
+    ColorsGroup getSharedSelectionColors() {
+        return selectionColors;
+    }
+
+    /**
+     * Returns mirror selection colors without copying for painting.
+     *
+     * Returned instance is shared and must not be modified.
+     *
+     * @return mirror selection colors
+     */
+    ColorsGroup getSharedMirrorSelectionColors() {
+        return mirrorSelectionColors;
+    }
+
     public void setMainColors(ColorsGroup colorsGroup) {
         mainColors.setColors(colorsGroup);
         repaint();
@@ -1187,8 +1564,15 @@ public class CodeArea extends JComponent {
         repaint();
     }
 
+    /**
+     * Returns true if data can be edited.
+     *
+     * Data not implementing EditableBinaryData are always read only.
+     *
+     * @return true if editable
+     */
     public boolean isEditable() {
-        return editable;
+        return editable && data instanceof EditableBinaryData;
     }
 
     public void setEditable(boolean editable) {
@@ -1267,6 +1651,23 @@ public class CodeArea extends JComponent {
         repaint();
     }
 
+    public BufferingMode getBufferingMode() {
+        return bufferingMode;
+    }
+
+    public void setBufferingMode(BufferingMode bufferingMode) {
+        this.bufferingMode = bufferingMode;
+        if (bufferingMode == BufferingMode.OFFSCREEN) {
+            if (offscreenBuffer == null) {
+                offscreenBuffer = new OffscreenBuffer();
+            }
+        } else if (offscreenBuffer != null) {
+            offscreenBuffer.flush();
+            offscreenBuffer = null;
+        }
+        repaint();
+    }
+
     public HexCharactersCase getHexCharactersCase() {
         return hexCharactersCase;
     }
@@ -1644,9 +2045,13 @@ public class CodeArea extends JComponent {
      * TOP_LEFT - Render each character from top left corner of it's position
      *
      * CENTER - Centers each character in it's area
+     *
+     * GLYPH_ATLAS - Centers each character in it's area copying glyphs
+     * pre-rendered for current font, color and antialiasing, characters not
+     * available in atlas are rendered directly
      */
     public static enum CharRenderingMode {
-        AUTO, LINE_AT_ONCE, TOP_LEFT, CENTER
+        AUTO, LINE_AT_ONCE, TOP_LEFT, CENTER, GLYPH_ATLAS
     }
 
     public static enum CharAntialiasingMode {
@@ -1657,6 +2062,19 @@ public class CodeArea extends JComponent {
         LOWER, UPPER
     }
 
+    /**
+     * Buffering mode.
+     *
+     * DIRECT - Paint directly to graphics provided by Swing, damaged areas
+     * are painted again
+     *
+     * OFFSCREEN - Keep content in offscreen volatile image, scrolling shifts
+     * the content of the image and paints only newly exposed lines
+     */
+    public static enum BufferingMode {
+        DIRECT, OFFSCREEN
+    }
+
     /**
      * Precomputed dimensions for the component.
      */
@@ -1933,7 +2351,7 @@ public class CodeArea extends JComponent {
                     notifyScrolled();
                 }
             } else if (e.getWheelRotation() > 0) {
-                long lines = (int) (data.getDataSize() / dimensionsCache.bytesPerLine);
+                long lines = data.getDataSize() / dimensionsCache.bytesPerLine;
                 if (lines * dimensionsCache.bytesPerLine < data.getDataSize()) {
                     lines++;
                 }
@@ -2180,6 +2598,183 @@ public class CodeArea extends JComponent {
         }
     }
 
+    /**
+     * Offscreen buffer of component content.
+     *
+     * Tracks damaged area and scroll position for which the content of the
+     * buffer was painted.
+     */
+    private class OffscreenBuffer {
+
+        private VolatileImage image = null;
+        private boolean valid = false;
+        private Rectangle damage = null;
+
+        private final Rectangle codeSectionRectangle = new Rectangle();
+        private int lineHeight;
+        private int charWidth;
+        private long scrollLinePosition;
+        private int scrollLineOffset;
+        private int scrollBytePosition;
+        private int scrollByteOffset;
+
+        public OffscreenBuffer() {
+        }
+
+        public void addDamage(int x, int y, int width, int height) {
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+
+            if (damage == null) {
+                damage = new Rectangle(x, y, width, height);
+            } else {
+                damage.add(new Rectangle(x, y, width, height));
+            }
+        }
+
+        /**
+         * Shifts content of the buffer to match current scroll position.
+         */
+        public void scrolled() {
+            if (!valid || image == null) {
+                return;
+            }
+
+            Rectangle hexRect = dimensionsCache.codeSectionRectangle;
+            if (!codeSectionRectangle.equals(hexRect) || lineHeight != dimensionsCache.lineHeight || charWidth != dimensionsCache.charWidth
+                    || scrollBytePosition != scrollPosition.scrollBytePosition || scrollByteOffset != scrollPosition.scrollByteOffset) {
+                // Layout or horizontal scroll change requires full repaint
+                valid = false;
+                return;
+            }
+
+            long shift = (scrollLinePosition - scrollPosition.scrollLinePosition) * lineHeight + scrollLineOffset - scrollPosition.scrollLineOffset;
+            scrollLinePosition = scrollPosition.scrollLinePosition;
+            scrollLineOffset = scrollPosition.scrollLineOffset;
+            if (shift == 0) {
+                return;
+            }
+
+            int linesWidth = hexRect.x + hexRect.width;
+            if (Math.abs(shift) >= hexRect.height) {
+                addDamage(0, hexRect.y, linesWidth, hexRect.height);
+                return;
+            }
+
+            int shiftY = (int) shift;
+            Graphics2D bufferGraphics = image.createGraphics();
+            try {
+                if (shiftY > 0) {
+                    bufferGraphics.copyArea(0, hexRect.y, linesWidth, hexRect.height - shiftY, 0, shiftY);
+                } else {
+                    bufferGraphics.copyArea(0, hexRect.y - shiftY, linesWidth, hexRect.height + shiftY, 0, shiftY);
+                }
+            } finally {
+                bufferGraphics.dispose();
+            }
+
+            // Damaged content was moved with the rest of lines
+            if (damage != null) {
+                Rectangle linesRect = new Rectangle(0, hexRect.y, linesWidth, hexRect.height);
+                Rectangle shiftedDamage = damage.intersection(linesRect);
+                if (!shiftedDamage.isEmpty()) {
+                    shiftedDamage.translate(0, shiftY);
+                    shiftedDamage = shiftedDamage.intersection(linesRect);
+                    if (!shiftedDamage.isEmpty()) {
+                        damage.add(shiftedDamage);
+                    }
+                }
+            }
+
+            if (shiftY > 0) {
+                addDamage(0, hexRect.y, linesWidth, shiftY);
+            } else {
+                addDamage(0, hexRect.y + hexRect.height + shiftY, linesWidth, -shiftY);
+            }
+        }
+
+        /**
+         * Paints damaged areas to buffer and buffer to given graphics.
+         *
+         * @param g graphics
+         * @return false if buffer is not available
+         */
+        public boolean paint(Graphics g) {
+            GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
+            int width = getWidth();
+            int height = getHeight();
+            if (graphicsConfiguration == null || width <= 0 || height <= 0) {
+                return false;
+            }
+
+            if (dimensionsCache.fontMetrics == null) {
+                computeFontMetrics();
+            }
+            scrolled();
+
+            if (image == null || image.getWidth() != width || image.getHeight() != height) {
+                flush();
+                image = graphicsConfiguration.createCompatibleVolatileImage(width, height);
+                if (image == null) {
+                    return false;
+                }
+            }
+
+            do {
+                int status = image.validate(graphicsConfiguration);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    image.flush();
+                    image = graphicsConfiguration.createCompatibleVolatileImage(width, height);
+                    valid = false;
+                    if (image == null) {
+                        return false;
+                    }
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    valid = false;
+                }
+
+                Rectangle paintRect = valid ? damage : new Rectangle(0, 0, width, height);
+                if (paintRect != null) {
+                    Graphics2D bufferGraphics = image.createGraphics();
+                    try {
+                        bufferGraphics.setClip(paintRect.intersection(new Rectangle(0, 0, width, height)));
+                        bufferGraphics.setColor(getBackground());
+                        bufferGraphics.fillRect(paintRect.x, paintRect.y, paintRect.width, paintRect.height);
+                        bufferGraphics.setFont(getFont());
+                        paintContent(bufferGraphics);
+                    } finally {
+                        bufferGraphics.dispose();
+                    }
+                }
+
+                if (!valid) {
+                    codeSectionRectangle.setBounds(dimensionsCache.codeSectionRectangle);
+                    lineHeight = dimensionsCache.lineHeight;
+                    charWidth = dimensionsCache.charWidth;
+                    scrollLinePosition = scrollPosition.scrollLinePosition;
+                    scrollLineOffset = scrollPosition.scrollLineOffset;
+                    scrollBytePosition = scrollPosition.scrollBytePosition;
+                    scrollByteOffset = scrollPosition.scrollByteOffset;
+                    valid = true;
+                }
+                damage = null;
+
+                g.drawImage(image, 0, 0, null);
+            } while (image.contentsLost());
+
+            return true;
+        }
+
+        public void flush() {
+            if (image != null) {
+                image.flush();
+                image = null;
+            }
+            valid = false;
+        }
+    }
+
     private class VerticalAdjustmentListener implements AdjustmentListener {
 
         public VerticalAdjustmentListener() {
@@ -2187,13 +2782,19 @@ public class CodeArea extends JComponent {
 
         @Override
         public void adjustmentValueChanged(AdjustmentEvent e) {
-            if (verticalScrollMode == VerticalScrollMode.PER_LINE) {
-                scrollPosition.scrollLinePosition = verticalScrollBar.getValue();
-            } else {
-                scrollPosition.scrollLinePosition = verticalScrollBar.getValue() / dimensionsCache.lineHeight;
-                scrollPosition.scrollLineOffset = verticalScrollBar.getValue() % dimensionsCache.lineHeight;
+            int scrollBarValue = verticalScrollBar.getValue();
+            // Keep precise position if scroll bar value was set for it
+            if (scrollBarValue != verticalScrollBarValue) {
+                verticalScrollBarValue = scrollBarValue;
+                long verticalPosition = verticalScrollBarScale.toPosition(scrollBarValue);
+                if (verticalScrollMode == VerticalScrollMode.PER_LINE) {
+                    scrollPosition.scrollLinePosition = verticalPosition;
+                } else {
+                    scrollPosition.scrollLinePosition = verticalPosition / dimensionsCache.lineHeight;
+                    scrollPosition.scrollLineOffset = (int) (verticalPosition % dimensionsCache.lineHeight);
+                }
             }
-            repaint();
+            repaintScrolled();
             notifyScrolled();
         }
     }
@@ -2211,7 +2812,7 @@ public class CodeArea extends JComponent {
                 scrollPosition.scrollBytePosition = horizontalScrollBar.getValue() / dimensionsCache.charWidth;
                 scrollPosition.scrollByteOffset = horizontalScrollBar.getValue() % dimensionsCache.charWidth;
             }
-            repaint();
+            repaintScrolled();
             notifyScrolled();
         }
     }
@@ -32,6 +32,11 @@ import org.exbin.deltahex.CodeArea.Section;
 public class CodeAreaCaret {
 
     private static final int DEFAULT_CURSOR_WIDTH = 2;
+    /**
+     * Limit of vertical distance from view for caret far outside of view.
+     */
+    private static final int MAX_VIEW_DISTANCE = Integer.MAX_VALUE / 2;
+    private static final Stroke SHADOW_CURSOR_STROKE = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{2}, 0);
 
     private final CodeArea codeArea;
 
@@ -48,23 +53,26 @@ public class CodeAreaCaret {
         int lineHeight = codeArea.getLineHeight();
         int charWidth = codeArea.getCharWidth();
         int codeDigits = codeArea.getCodeType().getMaxDigits();
-        Point scrollPoint = codeArea.getScrollPoint();
         Point cursorPoint = getCursorPoint(bytesPerBounds, lineHeight, charWidth);
         if (codeArea.getEditationMode() == CodeArea.EditationMode.OVERWRITE) {
-            g.drawRect(cursorPoint.x - scrollPoint.x, cursorPoint.y - scrollPoint.y, charWidth, lineHeight - 1);
+            g.drawRect(cursorPoint.x, cursorPoint.y, charWidth, lineHeight - 1);
         } else {
-            g.fillRect(cursorPoint.x - scrollPoint.x, cursorPoint.y - scrollPoint.y, DEFAULT_CURSOR_WIDTH, lineHeight - 1);
+            g.fillRect(cursorPoint.x, cursorPoint.y, DEFAULT_CURSOR_WIDTH, lineHeight - 1);
         }
         if (codeArea.getViewMode() == CodeArea.ViewMode.DUAL && codeArea.isShowShadowCursor()) {
             Point shadowCursorPoint = getShadowCursorPoint(bytesPerBounds, lineHeight, charWidth);
-            Graphics2D g2d = (Graphics2D) g.create();
-            Stroke dashed = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{2}, 0);
-            g2d.setStroke(dashed);
-            g2d.drawRect(shadowCursorPoint.x - scrollPoint.x, shadowCursorPoint.y - scrollPoint.y,
+            Graphics2D g2d = (Graphics2D) g;
+            Stroke stroke = g2d.getStroke();
+            g2d.setStroke(SHADOW_CURSOR_STROKE);
+            g2d.drawRect(shadowCursorPoint.x, shadowCursorPoint.y,
                     charWidth * (codeArea.getActiveSection() == Section.TEXT_PREVIEW ? codeDigits : 1), lineHeight - 1);
+            g2d.setStroke(stroke);
         }
     }
 
+    /**
+     * Returns position of cursor relative to scrolled view.
+     */
     private Point getCursorPoint(int bytesPerLine, int lineHeight, int charWidth) {
         long dataPosition = caretPosition.getDataPosition();
         long line = dataPosition / bytesPerLine;
@@ -73,7 +81,7 @@ public class CodeAreaCaret {
         int charsPerByte = codeDigits + 1;
 
         Rectangle rect = codeArea.getCodeSectionRectangle();
-        int caretY = (int) (rect.y + line * lineHeight);
+        int caretY = getLineViewY(rect.y, line, lineHeight);
         int caretX;
         if (section == Section.TEXT_PREVIEW) {
             caretX = codeArea.getPreviewX() + charWidth * offset;
@@ -81,9 +89,12 @@ public class CodeAreaCaret {
             caretX = rect.x + charWidth * (offset * charsPerByte + getCodeOffset());
         }
 
-        return new Point(caretX, caretY);
+        return new Point(caretX - codeArea.getScrollPoint().x, caretY);
     }
 
+    /**
+     * Returns position of shadow cursor relative to scrolled view.
+     */
     private Point getShadowCursorPoint(int bytesPerLine, int lineHeight, int charWidth) {
         long dataPosition = caretPosition.getDataPosition();
         long line = dataPosition / bytesPerLine;
@@ -92,7 +103,7 @@ public class CodeAreaCaret {
         int charsPerByte = codeDigits + 1;
 
         Rectangle rect = codeArea.getCodeSectionRectangle();
-        int caretY = (int) (rect.y + line * lineHeight);
+        int caretY = getLineViewY(rect.y, line, lineHeight);
         int caretX;
         if (section == Section.TEXT_PREVIEW) {
             caretX = rect.x + charWidth * (offset * charsPerByte);
@@ -100,9 +111,20 @@ public class CodeAreaCaret {
             caretX = codeArea.getPreviewX() + charWidth * offset;
         }
 
-        return new Point(caretX, caretY);
+        return new Point(caretX - codeArea.getScrollPoint().x, caretY);
     }
 
+    /**
+     * Returns rectangle of cursor.
+     *
+     * Position is relative to scrolled view, so it stays in integer range for
+     * any data size.
+     *
+     * @param bytesPerLine bytes per line
+     * @param fontHeight height of cursor
+     * @param charWidth width of character
+     * @return cursor rectangle
+     */
     public Rectangle getCursorRect(int bytesPerLine, int fontHeight, int charWidth) {
         Point cursorPoint = getCursorPoint(bytesPerLine, fontHeight, charWidth);
         if (codeArea.getEditationMode() == CodeArea.EditationMode.OVERWRITE) {
@@ -112,6 +134,18 @@ public class CodeAreaCaret {
         }
     }
 
+    /**
+     * Returns vertical position of given line relative to scrolled view.
+     *
+     * Distance from scroll line position is computed in long arithmetic and
+     * limited for lines far outside of view.
+     */
+    private int getLineViewY(int sectionY, long line, int lineHeight) {
+        CodeArea.ScrollPosition scrollPosition = codeArea.getScrollPosition();
+        long lineY = sectionY + (line - scrollPosition.getScrollLinePosition()) * lineHeight - scrollPosition.getScrollLineOffset();
+        return (int) Math.max(Math.min(lineY, MAX_VIEW_DISTANCE), -MAX_VIEW_DISTANCE);
+    }
+
     public CaretPosition getCaretPosition() {
         return new CaretPosition(caretPosition.getDataPosition(), caretPosition.getCodeOffset());
     }
@@ -16,11 +16,12 @@
 package org.exbin.deltahex;
 
 import java.awt.Graphics;
+import java.util.List;
 
 /**
  * Hexadecimal editor painter.
  *
- * @version 0.1.0 2016/04/18
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public interface CodeAreaPainter {
@@ -73,4 +74,23 @@ public interface CodeAreaPainter {
      * @param hexCharacters array of 16 characters
      */
     void setHexCharacters(char[] hexCharacters);
+
+    /**
+     * Notifies painter about change of data in given range.
+     *
+     * @param startPosition start position of changed data
+     * @param endPosition end position of changed data (exclusive) or
+     * Long.MAX_VALUE if all data after start position might be shifted
+     */
+    void dataChanged(long startPosition, long endPosition);
+
+    /**
+     * Returns highlight layers provided by painter.
+     *
+     * Layers are added to code area when painter is set and removed when
+     * painter is replaced.
+     *
+     * @return list of highlight layers
+     */
+    List<HighlightLayer> getHighlightLayers();
 }
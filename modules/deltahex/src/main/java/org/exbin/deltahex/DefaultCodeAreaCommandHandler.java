@@ -36,7 +36,7 @@ import org.exbin.utils.binary_data.EditableBinaryData;
 /**
  * Default hexadecimal editor command handler.
  *
- * @version 0.1.0 2016/06/17
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
@@ -110,8 +110,11 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
                     throw new IllegalStateException("Unexpected code type " + codeType.name());
             }
             if (validKey) {
-                if (codeArea.hasSelection()) {
+                boolean inPlace = codeArea.getEditationMode() == CodeArea.EditationMode.OVERWRITE && dataPosition < codeArea.getData().getDataSize();
+                boolean selectionDeleted = codeArea.hasSelection();
+                if (selectionDeleted) {
                     deleteSelection();
+                    inPlace = false;
                 }
 
                 int value;
@@ -160,7 +163,13 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
                     }
                     setCodeValue(value);
                 }
-                codeArea.notifyDataChanged();
+                if (inPlace) {
+                    codeArea.notifyDataChanged(dataPosition, dataPosition + 1);
+                } else if (selectionDeleted) {
+                    codeArea.notifyDataChanged();
+                } else {
+                    codeArea.notifyDataChanged(dataPosition, Long.MAX_VALUE);
+                }
                 codeArea.moveRight(CodeArea.NO_MODIFIER);
                 codeArea.revealCursor();
             }
@@ -181,7 +190,7 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
                     }
                 }
                 ((EditableBinaryData) data).insert(dataPosition, bytes);
-                codeArea.notifyDataChanged();
+                codeArea.notifyDataChanged(dataPosition, Long.MAX_VALUE);
                 codeArea.getCaret().setCaretPosition(dataPosition + bytes.length - 1);
                 codeArea.moveRight(CodeArea.NO_MODIFIER);
                 codeArea.revealCursor();
@@ -349,7 +358,7 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
             long first = selection.getFirst();
             long last = selection.getLast();
 
-            BinaryData copy = ((EditableBinaryData) codeArea.getData()).copy(first, last - first + 1);
+            BinaryData copy = codeArea.getData().copy(first, last - first + 1);
 
             BinaryDataClipboardData binaryData = new BinaryDataClipboardData(copy);
             clipboard.setContents(binaryData, binaryData);
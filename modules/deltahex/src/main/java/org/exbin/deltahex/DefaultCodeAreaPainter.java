@@ -18,17 +18,20 @@ package org.exbin.deltahex;
 import java.awt.Color;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
+import org.exbin.utils.binary_data.BinaryData;
 
 /**
  * Code area component default painter.
  *
- * @version 0.1.0 2016/06/24
+ * @version 0.1.0 2026/10/19
  * @author ExBin Project (http://exbin.org)
  */
 public class DefaultCodeAreaPainter implements CodeAreaPainter {
@@ -38,13 +41,50 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
     public static final int INV_SPACE_CODE_POINT = 0x7f;
     public static final int EXCEPTION1_CODE_POINT = 0x8e;
     public static final int EXCEPTION2_CODE_POINT = 0x9e;
+    /**
+     * Count of bytes of block of characters in each section, sequences of
+     * drawn characters are broken at block boundaries.
+     */
+    public static final int SEQUENCE_BLOCK_BYTES = 16;
 
     protected final CodeArea codeArea;
 
     private Charset charMappingCharset = null;
     protected final char[] charMapping = new char[256];
     private char[] hexCharacters = CodeAreaUtils.UPPER_HEX_CODES;
-    protected Map<Character, Character> unprintableCharactersMapping = null;
+    /**
+     * Replacements of unprintable characters indexed by character, zero if
+     * character has no replacement.
+     */
+    protected char[] unprintableCharactersMapping = null;
+
+    private final FormattedLinesCache linesCache = new FormattedLinesCache();
+    private final FormattedLinesCache.Layout paintLayout = new FormattedLinesCache.Layout();
+    private Charset maxCharLengthCharset = null;
+    private int maxCharLength = 1;
+
+    private PreviewCharDecoder previewCharDecoder = null;
+    private final LineColorSpans colorSpans = new LineColorSpans();
+    private final LineHighlightConsumer highlightConsumer = new LineHighlightConsumer();
+
+    private GlyphAtlas glyphAtlas = null;
+    private Charset glyphAtlasCharset = null;
+    private char[] glyphAtlasHexCharacters = null;
+
+    /**
+     * Paint data and working buffers reused by all paint operations.
+     */
+    private final PaintData paintData = new PaintData();
+    private final Rectangle clipBounds = new Rectangle();
+    private final char[] headerChars = new char[2];
+
+    /**
+     * Count of characters which the widest glyph drawn with current font
+     * overflows its character cell, used as margin of horizontally visible
+     * range.
+     */
+    private int glyphOverflowChars = 0;
+    private FontMetrics glyphOverflowFontMetrics = null;
 
     public DefaultCodeAreaPainter(CodeArea codeArea) {
         this.codeArea = codeArea;
@@ -89,26 +129,45 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
             int bytesPerLine = codeArea.getBytesPerLine();
             int headerX = hexRect.x - scrollPosition.scrollBytePosition * charWidth - scrollPosition.scrollByteOffset;
             int headerY = codeArea.getInsets().top + codeArea.getLineHeight() - codeArea.getSubFontSpace();
+            Rectangle clipBounds = getClipBounds(g);
+            int codeChars = bytesPerLine * charsPerByte;
+            int visibleCharStart = getFirstVisibleChar(clipBounds, headerX, charWidth, 1, codeChars);
+            int visibleCharEnd = getVisibleCharsEnd(clipBounds, headerX, charWidth, 1, codeChars);
 
             if (codeArea.getBackgroundMode() == CodeArea.BackgroundMode.GRIDDED) {
-                CodeArea.ColorsGroup stripColors = codeArea.getAlternateColors();
+                CodeArea.ColorsGroup stripColors = codeArea.getSharedAlternateColors();
                 g.setColor(stripColors.getBackgroundColor());
-                int positionX = hexRect.x - scrollPosition.scrollByteOffset - scrollPosition.scrollBytePosition * charWidth;
-                for (int i = 0; i < bytesPerLine / 2; i++) {
-                    g.fillRect(positionX + charWidth * (charsPerByte + i * charsPerByte * 2), hexRect.y, charWidth * codeDigits, hexRect.height);
+                int stripeChars = charsPerByte * 2;
+                int firstStripe = Math.max(0, (visibleCharStart - stripeChars) / stripeChars);
+                int stripesEnd = Math.min(bytesPerLine / 2, visibleCharEnd / stripeChars + 1);
+                for (int i = firstStripe; i < stripesEnd; i++) {
+                    g.fillRect(headerX + charWidth * (charsPerByte + i * stripeChars), hexRect.y, charWidth * codeDigits, hexRect.height);
                 }
             }
+            int firstByte = visibleCharStart / charsPerByte;
+            int bytesEnd = (visibleCharEnd + charsPerByte - 1) / charsPerByte;
 
             g.setColor(codeArea.getForeground());
-            char[] chars = new char[2];
+            char[] chars = headerChars;
             boolean upperCase = codeArea.getHexCharactersCase() == CodeArea.HexCharactersCase.UPPER;
             if (codeArea.getCharRenderingMode() == CodeArea.CharRenderingMode.LINE_AT_ONCE) {
-                for (int i = 0; i < bytesPerLine; i++) {
+                for (int i = firstByte; i < bytesEnd; i++) {
                     CodeAreaUtils.longToBaseCode(chars, i, codeArea.getPositionCodeType().base, 2, true, upperCase);
                     g.drawChars(chars, 0, 2, headerX + i * charWidth * charsPerByte, headerY);
                 }
+            } else if (codeArea.getCharRenderingMode() == CodeArea.CharRenderingMode.GLYPH_ATLAS) {
+                GlyphAtlas atlas = getGlyphAtlas(g);
+                Color color = codeArea.getForeground();
+                for (int i = firstByte; i < bytesEnd; i++) {
+                    CodeAreaUtils.longToBaseCode(chars, i, codeArea.getPositionCodeType().base, 2, true, upperCase);
+                    int startX = headerX + i * charWidth * charsPerByte;
+                    if (!atlas.drawChars(g, chars, 0, 2, color, startX, headerY)) {
+                        drawCenteredChar(g, chars, 0, charWidth, startX, headerY);
+                        drawCenteredChar(g, chars, 1, charWidth, startX + charWidth, headerY);
+                    }
+                }
             } else {
-                for (int i = 0; i < bytesPerLine; i++) {
+                for (int i = firstByte; i < bytesEnd; i++) {
                     CodeAreaUtils.longToBaseCode(chars, i, codeArea.getPositionCodeType().base, 2, true, upperCase);
                     int startX = headerX + i * charWidth * charsPerByte;
                     drawCenteredChar(g, chars, 0, charWidth, startX, headerY);
@@ -129,10 +188,10 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
 
     @Override
     public void paintBackground(Graphics g) {
-        Rectangle clipBounds = g.getClipBounds();
+        Rectangle clipBounds = getClipBounds(g);
         Rectangle hexRect = codeArea.getCodeSectionRectangle();
-        CodeArea.ColorsGroup mainColors = codeArea.getMainColors();
-        CodeArea.ColorsGroup stripColors = codeArea.getAlternateColors();
+        CodeArea.ColorsGroup mainColors = codeArea.getSharedMainColors();
+        CodeArea.ColorsGroup stripColors = codeArea.getSharedAlternateColors();
         int bytesPerLine = codeArea.getBytesPerLine();
         int lineHeight = codeArea.getLineHeight();
         if (codeArea.getBackgroundMode() != CodeArea.BackgroundMode.NONE) {
@@ -151,6 +210,9 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
             g.setColor(stripColors.getBackgroundColor());
 
             positionY = hexRect.y - scrollPosition.scrollLineOffset;
+            int skippedLines = getSkippedLines(clipBounds, positionY, lineHeight) & ~1;
+            positionY += skippedLines * lineHeight;
+            dataPosition += (long) skippedLines * bytesPerLine;
             if ((line & 1) == 0) {
                 positionY += lineHeight;
                 dataPosition += bytesPerLine;
@@ -165,7 +227,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
 
     @Override
     public void paintLineNumbers(Graphics g) {
-        Rectangle clipBounds = g.getClipBounds();
+        Rectangle clipBounds = getClipBounds(g);
         Rectangle compRect = codeArea.getComponentRectangle();
         Rectangle hexRect = codeArea.getCodeSectionRectangle();
         int bytesPerLine = codeArea.getBytesPerLine();
@@ -178,15 +240,27 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
         long dataPosition = line * bytesPerLine;
         int charWidth = codeArea.getCharWidth();
         int positionY = hexRect.y - codeArea.getSubFontSpace() - scrollPosition.scrollLineOffset + codeArea.getLineHeight();
+        int skippedLines = getSkippedLines(clipBounds, hexRect.y - scrollPosition.scrollLineOffset, lineHeight);
+        positionY += skippedLines * lineHeight;
+        dataPosition += (long) skippedLines * bytesPerLine;
+        line += skippedLines;
 
         g.setColor(codeArea.getForeground());
+        prepareLinesCache();
         int lineNumberLength = codeArea.getLineNumberLength();
-        char[] lineNumberCode = new char[lineNumberLength];
         boolean upperCase = codeArea.getHexCharactersCase() == CodeArea.HexCharactersCase.UPPER;
         while (positionY <= maxY && dataPosition <= maxDataPosition) {
-            CodeAreaUtils.longToBaseCode(lineNumberCode, dataPosition, codeArea.getPositionCodeType().base, lineNumberLength, true, upperCase);
+            FormattedLinesCache.Line cachedLine = linesCache.getLine(line);
+            char[] lineNumberCode = cachedLine.getLineNumberChars();
+            if (!cachedLine.isLineNumberValid()) {
+                CodeAreaUtils.longToBaseCode(lineNumberCode, dataPosition, codeArea.getPositionCodeType().base, lineNumberLength, true, upperCase);
+                cachedLine.setLineNumberValid(true);
+            }
             if (codeArea.getCharRenderingMode() == CodeArea.CharRenderingMode.LINE_AT_ONCE) {
                 g.drawChars(lineNumberCode, 0, lineNumberLength, compRect.x, positionY);
+            } else if (codeArea.getCharRenderingMode() == CodeArea.CharRenderingMode.GLYPH_ATLAS
+                    && getGlyphAtlas(g).drawChars(g, lineNumberCode, 0, lineNumberLength, codeArea.getForeground(), compRect.x, positionY)) {
+                // Drawn using glyph atlas
             } else {
                 for (int i = 0; i < lineNumberLength; i++) {
                     drawCenteredChar(g, lineNumberCode, i, charWidth, compRect.x + charWidth * i, positionY);
@@ -194,6 +268,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
             }
             positionY += lineHeight;
             dataPosition += bytesPerLine;
+            line++;
         }
 
         // Draw decoration lines
@@ -211,124 +286,49 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
 
     @Override
     public void paintMainArea(Graphics g) {
-        PaintData paintData = createPaintData();
+        updatePaintData();
         paintMainArea(g, paintData);
     }
 
     public void paintMainArea(Graphics g, PaintData paintData) {
+        Rectangle clipBounds = getClipBounds(g);
+        int positionX = paintData.codeSectionRect.x - paintData.scrollPosition.scrollBytePosition * paintData.charWidth - paintData.scrollPosition.scrollByteOffset;
+        updateVisibleRange(clipBounds, positionX, paintData);
+
         if (paintData.viewMode != CodeArea.ViewMode.TEXT_PREVIEW && codeArea.getBackgroundMode() == CodeArea.BackgroundMode.GRIDDED) {
             g.setColor(paintData.alternateColors.getBackgroundColor());
-            int positionX = paintData.codeSectionRect.x - paintData.scrollPosition.scrollByteOffset - paintData.scrollPosition.scrollBytePosition * paintData.charWidth;
-            for (int i = 0; i < paintData.bytesPerLine / 2; i++) {
-                g.fillRect(positionX + paintData.charWidth * (paintData.charsPerByte + i * paintData.charsPerByte * 2), paintData.codeSectionRect.y, paintData.charWidth * paintData.codeDigits, paintData.codeSectionRect.height);
+            int stripeChars = paintData.charsPerByte * 2;
+            int firstStripe = Math.max(0, (paintData.visibleCharStart - stripeChars) / stripeChars);
+            int stripesEnd = Math.min(paintData.bytesPerLine / 2, paintData.visibleCharEnd / stripeChars + 1);
+            for (int i = firstStripe; i < stripesEnd; i++) {
+                g.fillRect(positionX + paintData.charWidth * (paintData.charsPerByte + i * stripeChars), paintData.codeSectionRect.y, paintData.charWidth * paintData.codeDigits, paintData.codeSectionRect.height);
             }
         }
 
         int positionY = paintData.codeSectionRect.y - paintData.scrollPosition.scrollLineOffset;
-        long line = paintData.scrollPosition.scrollLinePosition;
-        int positionX = paintData.codeSectionRect.x - paintData.scrollPosition.scrollBytePosition * paintData.charWidth - paintData.scrollPosition.scrollByteOffset;
+        int skippedLines = getSkippedLines(clipBounds, positionY, paintData.lineHeight);
+        positionY += skippedLines * paintData.lineHeight;
+        long line = paintData.scrollPosition.scrollLinePosition + skippedLines;
+        int maxY = Math.min(clipBounds.y + clipBounds.height, paintData.codeSectionRect.y + paintData.codeSectionRect.height);
         paintData.lineDataPosition = line * paintData.bytesPerLine;
+        if (paintData.charRenderingMode == CodeArea.CharRenderingMode.GLYPH_ATLAS) {
+            paintData.glyphAtlas = getGlyphAtlas(g);
+        }
 
         do {
-            if (paintData.showUnprintableCharacters) {
-                Arrays.fill(paintData.unprintableChars, ' ');
-            }
-            long dataSize = codeArea.getData().getDataSize();
-            int lineBytesLimit = paintData.bytesPerLine;
-            if (paintData.lineDataPosition < dataSize) {
-                int lineDataSize = paintData.bytesPerLine + paintData.maxCharLength - 1;
-                if (paintData.lineDataPosition + lineDataSize > dataSize) {
-                    lineDataSize = (int) (dataSize - paintData.lineDataPosition);
-                }
-                codeArea.getData().copyToArray(paintData.lineDataPosition, paintData.lineData, 0, lineDataSize);
-                if (paintData.lineDataPosition + lineBytesLimit > dataSize) {
-                    lineBytesLimit = (int) (dataSize - paintData.lineDataPosition);
-                }
-            } else {
-                lineBytesLimit = 0;
-            }
-
-            // Fill codes
-            if (paintData.viewMode != CodeArea.ViewMode.TEXT_PREVIEW) {
-                for (int byteOnLine = 0; byteOnLine < lineBytesLimit; byteOnLine++) {
-                    byte dataByte = paintData.lineData[byteOnLine];
-                    byteToCharsCode(dataByte, byteOnLine * paintData.charsPerByte, paintData);
-                }
-                if (paintData.bytesPerLine > lineBytesLimit) {
-                    Arrays.fill(paintData.lineChars, lineBytesLimit * paintData.charsPerByte, paintData.bytesPerLine * paintData.charsPerByte, ' ');
-                }
-            }
-
-            // Fill preview characters
-            if (paintData.viewMode != CodeArea.ViewMode.CODE_MATRIX) {
-                paintData.previewCharPos = 0;
-                if (paintData.viewMode == CodeArea.ViewMode.DUAL) {
-                    paintData.previewCharPos = paintData.bytesPerLine * paintData.charsPerByte;
-                }
-                for (int byteOnLine = 0; byteOnLine < lineBytesLimit; byteOnLine++) {
-                    byte dataByte = paintData.lineData[byteOnLine];
-
-                    if (paintData.maxCharLength > 1) {
-                        if (paintData.lineDataPosition + paintData.maxCharLength > dataSize) {
-                            paintData.maxCharLength = (int) (dataSize - paintData.lineDataPosition);
-                        }
-
-                        int charDataLength = paintData.maxCharLength;
-                        if (byteOnLine + charDataLength > paintData.lineData.length) {
-                            charDataLength = paintData.lineData.length - byteOnLine;
-                        }
-                        String displayString = new String(paintData.lineData, byteOnLine, charDataLength, paintData.charset);
-                        if (!displayString.isEmpty()) {
-                            paintData.lineChars[paintData.previewCharPos + byteOnLine] = displayString.charAt(0);
-                        }
-                    } else {
-                        if (charMappingCharset == null || charMappingCharset != paintData.charset) {
-                            for (int i = 0; i < 256; i++) {
-                                charMapping[i] = new String(new byte[]{(byte) i}, paintData.charset).charAt(0);
-                            }
-                            charMappingCharset = paintData.charset;
-                        }
-
-                        paintData.lineChars[paintData.previewCharPos + byteOnLine] = charMapping[dataByte & 0xFF];
-                    }
+            FormattedLinesCache.Line cachedLine = linesCache.getLine(line);
+            paintData.lineChars = cachedLine.getLineChars();
+            paintData.unprintableChars = cachedLine.getUnprintableChars();
+            formatLine(cachedLine, paintData);
 
-                    if (paintData.showUnprintableCharacters || paintData.charRenderingMode == CodeArea.CharRenderingMode.LINE_AT_ONCE) {
-                        if (unprintableCharactersMapping == null) {
-                            unprintableCharactersMapping = new HashMap<>();
-                            // Unicode control characters, might not be supported by font
-                            for (int i = 0; i < 32; i++) {
-                                unprintableCharactersMapping.put((char) i, Character.toChars(9216 + i)[0]);
-                            }
-                            // Space -> Middle Dot
-                            unprintableCharactersMapping.put(' ', Character.toChars(183)[0]);
-                            // Tab -> Right-Pointing Double Angle Quotation Mark
-                            unprintableCharactersMapping.put('\t', Character.toChars(187)[0]);
-                            // Line Feed -> Currency Sign
-                            unprintableCharactersMapping.put('\r', Character.toChars(164)[0]);
-                            // Carriage Return -> Pilcrow Sign
-                            unprintableCharactersMapping.put('\n', Character.toChars(182)[0]);
-                            // Ideographic Space -> Degree Sign
-                            unprintableCharactersMapping.put(Character.toChars(127)[0], Character.toChars(176)[0]);
-                        }
-                        Character replacement = unprintableCharactersMapping.get(paintData.lineChars[paintData.previewCharPos + byteOnLine]);
-                        if (replacement != null) {
-                            if (paintData.showUnprintableCharacters) {
-                                paintData.unprintableChars[paintData.previewCharPos + byteOnLine] = replacement;
-                            }
-                            paintData.lineChars[paintData.previewCharPos + byteOnLine] = ' ';
-                        }
-                    }
-                }
-                if (paintData.bytesPerLine > lineBytesLimit) {
-                    Arrays.fill(paintData.lineChars, paintData.previewCharPos + lineBytesLimit, paintData.previewCharPos + paintData.bytesPerLine, ' ');
-                }
-            }
+            paintData.colorSpans.reset(paintData.charsPerLine, (line & 1) > 0 ? paintData.alternateColors : paintData.mainColors);
+            fillLineColorSpans(line, paintData.colorSpans, paintData);
             paintLineBackground(g, line, positionX, positionY, paintData);
             paintLineText(g, line, positionX, positionY, paintData);
             paintData.lineDataPosition += paintData.bytesPerLine;
             line++;
             positionY += paintData.lineHeight;
-        } while (positionY - paintData.lineHeight < paintData.codeSectionRect.y + paintData.codeSectionRect.height);
+        } while (positionY < maxY);
 
         // Draw decoration lines
         int decorationMode = codeArea.getDecorationMode();
@@ -341,77 +341,349 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
         }
     }
 
-    public void paintLineBackground(Graphics g, long line, int linePositionX, int linePositionY, PaintData paintData) {
-        int renderOffset = 0;
-        CodeArea.ColorType renderColorType = null;
-        Color renderColor = null;
-        for (int charOnLine = 0; charOnLine < paintData.charsPerLine; charOnLine++) {
-            CodeArea.Section section;
-            int byteOnLine;
-            if (charOnLine >= paintData.previewCharPos) {
-                byteOnLine = charOnLine - paintData.previewCharPos;
-                section = CodeArea.Section.TEXT_PREVIEW;
+    /**
+     * Updates range of characters of the line and ranges of bytes in each
+     * section which intersect clip bounds.
+     *
+     * Range includes margin of characters whose glyphs might overflow into
+     * clip bounds.
+     *
+     * @param clipBounds clip bounds
+     * @param linePositionX X position of the line
+     * @param paintData paint data
+     */
+    protected void updateVisibleRange(Rectangle clipBounds, int linePositionX, PaintData paintData) {
+        paintData.previewCharPos = paintData.viewMode == CodeArea.ViewMode.TEXT_PREVIEW ? 0 : paintData.bytesPerLine * paintData.charsPerByte;
+        int marginChars = glyphOverflowChars + 1;
+        // Start at block boundary so that drawn sequences don't depend on clip bounds
+        paintData.visibleCharStart = getSequenceBlockStart(getFirstVisibleChar(clipBounds, linePositionX, paintData.charWidth, marginChars, paintData.charsPerLine), paintData);
+        paintData.visibleCharEnd = getVisibleCharsEnd(clipBounds, linePositionX, paintData.charWidth, marginChars, paintData.charsPerLine);
+
+        int codeChars = paintData.viewMode == CodeArea.ViewMode.TEXT_PREVIEW ? 0 : paintData.previewCharPos;
+        paintData.codeStartByte = Math.min(paintData.visibleCharStart, codeChars) / paintData.charsPerByte;
+        paintData.codeEndByte = (Math.min(paintData.visibleCharEnd, codeChars) + paintData.charsPerByte - 1) / paintData.charsPerByte;
+        if (paintData.viewMode == CodeArea.ViewMode.CODE_MATRIX) {
+            paintData.previewStartByte = 0;
+            paintData.previewEndByte = 0;
+        } else {
+            paintData.previewStartByte = Math.max(0, Math.min(paintData.visibleCharStart - paintData.previewCharPos, paintData.bytesPerLine));
+            paintData.previewEndByte = Math.max(0, Math.min(paintData.visibleCharEnd - paintData.previewCharPos, paintData.bytesPerLine));
+        }
+    }
+
+    /**
+     * Returns start of block of characters containing given character.
+     *
+     * @param charOnLine character on line
+     * @param paintData paint data
+     * @return index of the first character of the block
+     */
+    protected static int getSequenceBlockStart(int charOnLine, PaintData paintData) {
+        if (charOnLine < paintData.previewCharPos) {
+            return charOnLine - charOnLine % (SEQUENCE_BLOCK_BYTES * paintData.charsPerByte);
+        }
+
+        return charOnLine - (charOnLine - paintData.previewCharPos) % SEQUENCE_BLOCK_BYTES;
+    }
+
+    /**
+     * Returns start of block of characters following block containing given
+     * character.
+     *
+     * @param charOnLine character on line
+     * @param paintData paint data
+     * @return index of the first character of the next block
+     */
+    protected static int getNextSequenceBlockStart(int charOnLine, PaintData paintData) {
+        if (charOnLine < paintData.previewCharPos) {
+            int blockChars = SEQUENCE_BLOCK_BYTES * paintData.charsPerByte;
+            return Math.min(charOnLine - charOnLine % blockChars + blockChars, paintData.previewCharPos);
+        }
+
+        return getSequenceBlockStart(charOnLine, paintData) + SEQUENCE_BLOCK_BYTES;
+    }
+
+    /**
+     * Returns index of the first character of the line which might be
+     * visible in clip bounds.
+     *
+     * Given count of previous characters is included as their glyphs might
+     * overflow character cell.
+     *
+     * @param clipBounds clip bounds
+     * @param linePositionX X position of the line
+     * @param charWidth character width
+     * @param marginChars count of characters included outside clip bounds
+     * @param charsPerLine count of characters on line
+     * @return index of character
+     */
+    protected static int getFirstVisibleChar(Rectangle clipBounds, int linePositionX, int charWidth, int marginChars, int charsPerLine) {
+        if (charWidth <= 0 || clipBounds.x <= linePositionX) {
+            return 0;
+        }
+
+        return (int) Math.max(0, Math.min((clipBounds.x - (long) linePositionX) / charWidth - marginChars, charsPerLine));
+    }
+
+    /**
+     * Returns index of the character after the last character of the line
+     * which might be visible in clip bounds.
+     *
+     * Given count of following characters is included as their glyphs might
+     * overflow character cell.
+     *
+     * @param clipBounds clip bounds
+     * @param linePositionX X position of the line
+     * @param charWidth character width
+     * @param marginChars count of characters included outside clip bounds
+     * @param charsPerLine count of characters on line
+     * @return index of character
+     */
+    protected static int getVisibleCharsEnd(Rectangle clipBounds, int linePositionX, int charWidth, int marginChars, int charsPerLine) {
+        long clipEnd = (long) clipBounds.x + clipBounds.width;
+        if (charWidth <= 0) {
+            return charsPerLine;
+        }
+        if (clipEnd <= linePositionX) {
+            return 0;
+        }
+
+        return (int) Math.min((clipEnd - linePositionX + charWidth - 1) / charWidth + marginChars, charsPerLine);
+    }
+
+    /**
+     * Returns clip bounds of graphics stored in reused rectangle.
+     *
+     * @param g graphics
+     * @return clip bounds or bounds of component if graphics has no clip
+     */
+    protected Rectangle getClipBounds(Graphics g) {
+        clipBounds.setBounds(0, 0, codeArea.getWidth(), codeArea.getHeight());
+        return g.getClipBounds(clipBounds);
+    }
+
+    /**
+     * Returns count of lines which are completely above clip bounds.
+     *
+     * @param clipBounds clip bounds or null
+     * @param firstLineY Y position of the first line
+     * @param lineHeight line height
+     * @return count of lines to skip
+     */
+    protected static int getSkippedLines(Rectangle clipBounds, int firstLineY, int lineHeight) {
+        if (clipBounds == null || lineHeight <= 0 || clipBounds.y <= firstLineY) {
+            return 0;
+        }
+
+        return (clipBounds.y - firstLineY) / lineHeight;
+    }
+
+    /**
+     * Fills characters of codes, preview and unprintable characters of bytes
+     * visible in each section for line at current line data position.
+     *
+     * Bytes already formatted in cached line are not formatted again.
+     *
+     * @param cachedLine cached line
+     * @param paintData paint data
+     */
+    protected void formatLine(FormattedLinesCache.Line cachedLine, PaintData paintData) {
+        cachedLine.setDataValid(true);
+
+        // Fill codes
+        if (paintData.viewMode != CodeArea.ViewMode.TEXT_PREVIEW && paintData.codeStartByte < paintData.codeEndByte) {
+            int formattedStart = cachedLine.getCodeStartByte();
+            int formattedEnd = cachedLine.getCodeEndByte();
+            if (formattedStart >= formattedEnd || paintData.codeEndByte < formattedStart || paintData.codeStartByte > formattedEnd) {
+                formatCodes(paintData.codeStartByte, paintData.codeEndByte, paintData);
+                cachedLine.setCodeRange(paintData.codeStartByte, paintData.codeEndByte);
             } else {
-                byteOnLine = charOnLine / paintData.charsPerByte;
-                section = CodeArea.Section.CODE_MATRIX;
+                if (paintData.codeStartByte < formattedStart) {
+                    formatCodes(paintData.codeStartByte, formattedStart, paintData);
+                }
+                if (paintData.codeEndByte > formattedEnd) {
+                    formatCodes(formattedEnd, paintData.codeEndByte, paintData);
+                }
+                cachedLine.setCodeRange(Math.min(formattedStart, paintData.codeStartByte), Math.max(formattedEnd, paintData.codeEndByte));
             }
-            boolean sequenceBreak = false;
+        }
 
-            CodeArea.ColorType colorType = CodeArea.ColorType.BACKGROUND;
-            if (paintData.showUnprintableCharacters) {
-                if (paintData.unprintableChars[charOnLine] != ' ') {
-                    colorType = CodeArea.ColorType.UNPRINTABLES_BACKGROUND;
+        // Fill preview characters
+        if (paintData.viewMode != CodeArea.ViewMode.CODE_MATRIX && paintData.previewStartByte < paintData.previewEndByte) {
+            int formattedStart = cachedLine.getPreviewStartByte();
+            int formattedEnd = cachedLine.getPreviewEndByte();
+            if (formattedStart >= formattedEnd || paintData.previewEndByte < formattedStart || paintData.previewStartByte > formattedEnd) {
+                formatPreview(paintData.previewStartByte, paintData.previewEndByte, paintData);
+                cachedLine.setPreviewRange(paintData.previewStartByte, paintData.previewEndByte);
+            } else {
+                if (paintData.previewStartByte < formattedStart) {
+                    formatPreview(paintData.previewStartByte, formattedStart, paintData);
+                }
+                if (paintData.previewEndByte > formattedEnd) {
+                    formatPreview(formattedEnd, paintData.previewEndByte, paintData);
                 }
+                cachedLine.setPreviewRange(Math.min(formattedStart, paintData.previewStartByte), Math.max(formattedEnd, paintData.previewEndByte));
             }
+        }
+    }
 
-            Color color = getPositionColor(paintData.lineDataPosition, line, byteOnLine, charOnLine, section, colorType, paintData);
-            if (renderColor == null) {
-                renderColor = color;
-                renderColorType = colorType;
-                g.setColor(color);
-            }
+    /**
+     * Fills characters of codes for given range of bytes of the line.
+     *
+     * @param startByte first byte on line
+     * @param endByte byte after the last byte on line
+     * @param paintData paint data
+     */
+    private void formatCodes(int startByte, int endByte, PaintData paintData) {
+        int available = copyLineData(startByte, endByte, paintData);
+        int lineBytesLimit = startByte + available;
+        for (int byteOnLine = startByte; byteOnLine < lineBytesLimit; byteOnLine++) {
+            byteToCharsCode(paintData.lineData[byteOnLine], byteOnLine * paintData.charsPerByte, paintData);
+        }
+        if (endByte > lineBytesLimit) {
+            Arrays.fill(paintData.lineChars, lineBytesLimit * paintData.charsPerByte, endByte * paintData.charsPerByte, ' ');
+        }
+    }
 
-            if (!color.equals(renderColor) || !colorType.equals(renderColorType)) {
-                sequenceBreak = true;
+    /**
+     * Fills preview and unprintable characters for given range of bytes of
+     * the line.
+     *
+     * @param startByte first byte on line
+     * @param endByte byte after the last byte on line
+     * @param paintData paint data
+     */
+    private void formatPreview(int startByte, int endByte, PaintData paintData) {
+        if (paintData.showUnprintableCharacters) {
+            Arrays.fill(paintData.unprintableChars, paintData.previewCharPos + startByte, paintData.previewCharPos + endByte, ' ');
+        }
+
+        // Line data include bytes of the following line for sequences crossing line end
+        int available = copyLineData(startByte, endByte + paintData.maxCharLength - 1, paintData);
+        int lineBytesLimit = startByte + Math.min(available, endByte - startByte);
+        int lineDataSize = startByte + available;
+        if (paintData.maxCharLength <= 1) {
+            updateCharMapping(paintData.charset);
+        }
+        for (int byteOnLine = startByte; byteOnLine < lineBytesLimit; byteOnLine++) {
+            int charOnLine = paintData.previewCharPos + byteOnLine;
+            if (paintData.maxCharLength > 1) {
+                paintData.lineChars[charOnLine] = previewCharDecoder.decodeChar(paintData.lineData, byteOnLine, lineDataSize - byteOnLine);
+            } else {
+                paintData.lineChars[charOnLine] = charMapping[paintData.lineData[byteOnLine] & 0xFF];
             }
-            if (sequenceBreak) {
-                if (renderOffset < charOnLine) {
-                    renderBackgroundSequence(g, renderOffset, charOnLine, linePositionX, linePositionY, paintData);
-                }
 
-                if (!colorType.equals(renderColorType)) {
-                    renderColorType = colorType;
-                }
-                if (!color.equals(renderColor)) {
-                    renderColor = color;
-                    g.setColor(color);
+            if (paintData.showUnprintableCharacters || paintData.charRenderingMode == CodeArea.CharRenderingMode.LINE_AT_ONCE) {
+                char replacement = getUnprintableReplacement(paintData.lineChars[charOnLine]);
+                if (replacement != 0) {
+                    if (paintData.showUnprintableCharacters) {
+                        paintData.unprintableChars[charOnLine] = replacement;
+                    }
+                    paintData.lineChars[charOnLine] = ' ';
                 }
+            }
+        }
+        if (endByte > lineBytesLimit) {
+            Arrays.fill(paintData.lineChars, paintData.previewCharPos + lineBytesLimit, paintData.previewCharPos + endByte, ' ');
+        }
+    }
 
-                renderOffset = charOnLine;
+    /**
+     * Copies data of given range of bytes of the line at current line data
+     * position to line data buffer at the same offset.
+     *
+     * Data are read while holding monitor of the data instance, as background
+     * readers of the same instance do.
+     *
+     * @param startByte first byte on line
+     * @param endByte byte after the last byte on line
+     * @param paintData paint data
+     * @return count of copied bytes, might be less than length of range at
+     * the end of data
+     */
+    private int copyLineData(int startByte, int endByte, PaintData paintData) {
+        BinaryData data = codeArea.getData();
+        long startPosition = paintData.lineDataPosition + startByte;
+        synchronized (data) {
+            long dataSize = data.getDataSize();
+            if (startPosition >= dataSize) {
+                return 0;
             }
+
+            int length = (int) Math.min(endByte - startByte, dataSize - startPosition);
+            data.copyToArray(startPosition, paintData.lineData, startByte, length);
+            return length;
         }
+    }
 
-        if (renderOffset < paintData.charsPerLine) {
-            renderBackgroundSequence(g, renderOffset, paintData.charsPerLine, linePositionX, linePositionY, paintData);
+    public void paintLineBackground(Graphics g, long line, int linePositionX, int linePositionY, PaintData paintData) {
+        LineColorSpans colorSpans = paintData.colorSpans;
+        Color renderColor = null;
+        for (int run = 0; run < colorSpans.getCount(); run++) {
+            int renderOffset = Math.max(colorSpans.getStart(run), paintData.visibleCharStart);
+            int runEnd = Math.min(colorSpans.getEnd(run), paintData.visibleCharEnd);
+            if (renderOffset >= runEnd) {
+                continue;
+            }
+
+            CodeArea.ColorsGroup colors = colorSpans.getColors(run);
+            if (!paintData.showUnprintableCharacters) {
+                renderColor = switchColor(g, renderColor, colors.getBackgroundColor());
+                renderBackgroundSequence(g, renderOffset, runEnd, linePositionX, linePositionY, paintData);
+                continue;
+            }
+
+            // Split run to sequences of unprintable and other characters
+            boolean unprintable = paintData.unprintableChars[renderOffset] != ' ';
+            for (int charOnLine = renderOffset + 1; charOnLine <= runEnd; charOnLine++) {
+                boolean nextUnprintable = charOnLine < runEnd && paintData.unprintableChars[charOnLine] != ' ';
+                if (charOnLine == runEnd || nextUnprintable != unprintable) {
+                    renderColor = switchColor(g, renderColor, colors.getColor(unprintable ? CodeArea.ColorType.UNPRINTABLES_BACKGROUND : CodeArea.ColorType.BACKGROUND));
+                    renderBackgroundSequence(g, renderOffset, charOnLine, linePositionX, linePositionY, paintData);
+                    renderOffset = charOnLine;
+                    unprintable = nextUnprintable;
+                }
+            }
         }
     }
 
+    /**
+     * Sets color to graphics if it differs from current color.
+     *
+     * @return new current color
+     */
+    private static Color switchColor(Graphics g, Color currentColor, Color color) {
+        if (color != currentColor) {
+            g.setColor(color);
+        }
+        return color;
+    }
+
     public void paintLineText(Graphics g, long line, int linePositionX, int linePositionY, PaintData paintData) {
+        if (paintData.charRenderingMode == CodeArea.CharRenderingMode.GLYPH_ATLAS) {
+            paintLineGlyphs(g, line, linePositionX, linePositionY, paintData);
+            return;
+        }
+
         int positionY = linePositionY + paintData.lineHeight - codeArea.getSubFontSpace();
 
-        int renderOffset = 0;
+        LineColorSpans colorSpans = paintData.colorSpans;
+        int run = -1;
+        int runEnd = 0;
+        CodeArea.ColorsGroup runColors = null;
+        int renderOffset = paintData.visibleCharStart;
+        int blockEnd = getNextSequenceBlockStart(renderOffset, paintData);
         CodeArea.ColorType renderColorType = null;
         Color renderColor = null;
-        for (int charOnLine = 0; charOnLine < paintData.charsPerLine; charOnLine++) {
-            CodeArea.Section section;
-            int byteOnLine;
-            if (charOnLine >= paintData.previewCharPos) {
-                byteOnLine = charOnLine - paintData.previewCharPos;
-                section = CodeArea.Section.TEXT_PREVIEW;
-            } else {
-                byteOnLine = charOnLine / paintData.charsPerByte;
-                section = CodeArea.Section.CODE_MATRIX;
+        for (int charOnLine = paintData.visibleCharStart; charOnLine < paintData.visibleCharEnd; charOnLine++) {
+            if (charOnLine == blockEnd) {
+                if (renderOffset < charOnLine) {
+                    renderCharSequence(g, renderOffset, charOnLine, linePositionX, positionY, renderColorType, paintData);
+                    renderOffset = charOnLine;
+                }
+                blockEnd = getNextSequenceBlockStart(charOnLine, paintData);
             }
+
             boolean sequenceBreak = false;
             boolean nativeWidth = true;
 
@@ -444,6 +716,9 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
                 if (currentCharWidth == 0) {
                     currentCharWidth = paintData.fontMetrics.charWidth(currentChar);
                     nativeWidth = currentCharWidth == paintData.charWidth;
+                    if (!nativeWidth) {
+                        updateGlyphOverflow(currentCharWidth, paintData);
+                    }
                 }
             } else {
                 currentCharWidth = paintData.charWidth;
@@ -453,18 +728,26 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
                         colorType = CodeArea.ColorType.UNPRINTABLES;
                         currentCharWidth = paintData.fontMetrics.charWidth(currentChar);
                         nativeWidth = currentCharWidth == paintData.charWidth;
+                        if (!nativeWidth) {
+                            updateGlyphOverflow(currentCharWidth, paintData);
+                        }
                     }
                 }
             }
 
-            Color color = getPositionColor(paintData.lineDataPosition, line, byteOnLine, charOnLine, section, colorType, paintData);
+            while (charOnLine >= runEnd) {
+                run++;
+                runEnd = colorSpans.getEnd(run);
+                runColors = colorSpans.getColors(run);
+            }
+            Color color = runColors.getColor(colorType);
             if (renderColor == null) {
                 renderColor = color;
                 renderColorType = colorType;
                 g.setColor(color);
             }
 
-            if (!nativeWidth || !color.equals(renderColor) || !colorType.equals(renderColorType)) {
+            if (!nativeWidth || color != renderColor || colorType != renderColorType) {
                 sequenceBreak = true;
             }
             if (sequenceBreak) {
@@ -472,10 +755,10 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
                     renderCharSequence(g, renderOffset, charOnLine, linePositionX, positionY, renderColorType, paintData);
                 }
 
-                if (!colorType.equals(renderColorType)) {
+                if (colorType != renderColorType) {
                     renderColorType = colorType;
                 }
-                if (!color.equals(renderColor)) {
+                if (color != renderColor) {
                     renderColor = color;
                     g.setColor(color);
                 }
@@ -497,40 +780,171 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
             }
         }
 
-        if (renderOffset < paintData.charsPerLine) {
-            renderCharSequence(g, renderOffset, paintData.charsPerLine, linePositionX, positionY, renderColorType, paintData);
+        if (renderOffset < paintData.visibleCharEnd) {
+            renderCharSequence(g, renderOffset, paintData.visibleCharEnd, linePositionX, positionY, renderColorType, paintData);
         }
     }
 
     /**
-     * Returns color of given type for specified position.
+     * Paints text of the line using pre-rendered glyphs.
      *
-     * Child implementation can override this to change rendering colors.
+     * Characters missing in glyph atlas are drawn directly.
      *
-     * @param lineDataPosition line data position
+     * @param g graphics
      * @param line line number
-     * @param byteOnLine byte on line
-     * @param charOnLine character on line
-     * @param section rendering section
-     * @param colorType color type
-     * @param paintData cached paint data
-     * @return color
+     * @param linePositionX X position of the line
+     * @param linePositionY Y position of the line
+     * @param paintData paint data
      */
-    public Color getPositionColor(long lineDataPosition, long line, int byteOnLine, int charOnLine, CodeArea.Section section, CodeArea.ColorType colorType, PaintData paintData) {
-        long dataPosition = lineDataPosition + byteOnLine;
-        CodeArea.SelectionRange selection = codeArea.getSelection();
-        if (selection != null && dataPosition >= selection.getFirst() && dataPosition <= selection.getLast() && (section == CodeArea.Section.TEXT_PREVIEW || charOnLine < paintData.bytesPerLine * paintData.charsPerByte - 1)) {
-            CodeArea.Section activeSection = codeArea.getActiveSection();
-            if (activeSection == section) {
-                return codeArea.getSelectionColors().getColor(colorType);
-            } else {
-                return codeArea.getMirrorSelectionColors().getColor(colorType);
+    public void paintLineGlyphs(Graphics g, long line, int linePositionX, int linePositionY, PaintData paintData) {
+        int positionY = linePositionY + paintData.lineHeight - codeArea.getSubFontSpace();
+        LineColorSpans colorSpans = paintData.colorSpans;
+        int run = -1;
+        int runEnd = 0;
+        CodeArea.ColorsGroup runColors = null;
+        for (int charOnLine = paintData.visibleCharStart; charOnLine < paintData.visibleCharEnd; charOnLine++) {
+            CodeArea.ColorType colorType = CodeArea.ColorType.TEXT;
+            char[] drawnChars = paintData.lineChars;
+            if (paintData.showUnprintableCharacters && paintData.unprintableChars[charOnLine] != ' ') {
+                colorType = CodeArea.ColorType.UNPRINTABLES;
+                drawnChars = paintData.unprintableChars;
+            }
+            char currentChar = drawnChars[charOnLine];
+            if (currentChar == ' ') {
+                continue;
+            }
+
+            while (charOnLine >= runEnd) {
+                run++;
+                runEnd = colorSpans.getEnd(run);
+                runColors = colorSpans.getColors(run);
+            }
+            Color color = runColors.getColor(colorType);
+            int startX = linePositionX + charOnLine * paintData.charWidth;
+            if (!paintData.glyphAtlas.drawChar(g, currentChar, color, startX, positionY)) {
+                g.setColor(color);
+                int currentCharWidth = paintData.fontMetrics.charWidth(currentChar);
+                updateGlyphOverflow(currentCharWidth, paintData);
+                drawShiftedChar(g, drawnChars, charOnLine, paintData.charWidth, startX, positionY, (paintData.charWidth + 1 - currentCharWidth) >> 1);
             }
         }
-        if ((line & 1) > 0) {
-            return codeArea.getAlternateColors().getColor(colorType);
-        } else {
-            return codeArea.getMainColors().getColor(colorType);
+    }
+
+    /**
+     * Records count of characters which glyph of given width might overflow
+     * its character cell.
+     *
+     * @param glyphWidth width of glyph
+     * @param paintData paint data
+     */
+    private void updateGlyphOverflow(int glyphWidth, PaintData paintData) {
+        if (glyphWidth > paintData.charWidth && paintData.charWidth > 0) {
+            int overflowChars = (glyphWidth - 1) / paintData.charWidth;
+            if (overflowChars > glyphOverflowChars) {
+                glyphOverflowChars = overflowChars;
+            }
+        }
+    }
+
+    /**
+     * Returns glyph atlas for current font, antialiasing, hexadecimal
+     * characters and charset.
+     *
+     * Atlas contains code digits of both cases, preview characters of single
+     * byte charset and replacements of unprintable characters.
+     *
+     * @param g graphics
+     * @return glyph atlas
+     */
+    protected GlyphAtlas getGlyphAtlas(Graphics g) {
+        FontMetrics fontMetrics = codeArea.getFontMetrics();
+        int charWidth = codeArea.getCharWidth();
+        Object antialiasingHint = g instanceof Graphics2D ? ((Graphics2D) g).getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING) : null;
+        Charset charset = codeArea.getCharset();
+        if (glyphAtlas != null && glyphAtlas.isCompatible(fontMetrics, charWidth, antialiasingHint)
+                && charset.equals(glyphAtlasCharset) && hexCharacters == glyphAtlasHexCharacters) {
+            return glyphAtlas;
+        }
+
+        StringBuilder characters = new StringBuilder();
+        characters.append(CodeAreaUtils.UPPER_HEX_CODES);
+        characters.append(CodeAreaUtils.LOWER_HEX_CODES);
+        characters.append(hexCharacters);
+        if (charset.newEncoder().maxBytesPerChar() <= 1) {
+            updateCharMapping(charset);
+            characters.append(charMapping);
+        }
+        for (char replacement : getUnprintableCharactersMapping()) {
+            if (replacement != 0) {
+                characters.append(replacement);
+            }
+        }
+
+        char[] atlasCharacters = new char[characters.length()];
+        characters.getChars(0, atlasCharacters.length, atlasCharacters, 0);
+        glyphAtlas = new GlyphAtlas(fontMetrics, charWidth, antialiasingHint, atlasCharacters);
+        glyphAtlasCharset = charset;
+        glyphAtlasHexCharacters = hexCharacters;
+        return glyphAtlas;
+    }
+
+    /**
+     * Fills colors of characters of the line at current line data position.
+     *
+     * Spans are reset to main or alternate colors of the line before call and
+     * then highlight layers of code area are applied in order of priority.
+     * Child implementation can override this to change rendering colors, it
+     * should call parent implementation first and then set spans of higher
+     * priority.
+     *
+     * @param line line number
+     * @param colorSpans color spans of the line
+     * @param paintData cached paint data
+     */
+    public void fillLineColorSpans(long line, LineColorSpans colorSpans, PaintData paintData) {
+        List<HighlightLayer> highlightLayers = codeArea.getHighlightLayers();
+        if (highlightLayers.isEmpty()) {
+            return;
+        }
+
+        highlightConsumer.colorSpans = colorSpans;
+        highlightConsumer.paintData = paintData;
+        long lineEndPosition = paintData.lineDataPosition + paintData.bytesPerLine;
+        for (int i = 0; i < highlightLayers.size(); i++) {
+            highlightLayers.get(i).addHighlights(paintData.lineDataPosition, lineEndPosition, highlightConsumer);
+        }
+        highlightConsumer.colorSpans = null;
+        highlightConsumer.paintData = null;
+    }
+
+    /**
+     * Sets colors of characters of bytes in given data range for the line at
+     * current line data position.
+     *
+     * Space after the last byte of the range is not included.
+     *
+     * @param colorSpans color spans of the line
+     * @param startPosition start data position
+     * @param endPosition end data position, exclusive
+     * @param codeColors colors for code matrix section
+     * @param previewColors colors for preview section
+     * @param paintData cached paint data
+     */
+    protected void setBytesColors(LineColorSpans colorSpans, long startPosition, long endPosition, CodeArea.ColorsGroup codeColors, CodeArea.ColorsGroup previewColors, PaintData paintData) {
+        long lineDataPosition = paintData.lineDataPosition;
+        long lineEndPosition = lineDataPosition + paintData.bytesPerLine;
+        if (startPosition >= lineEndPosition || endPosition <= lineDataPosition) {
+            return;
+        }
+
+        int startByte = (int) (Math.max(startPosition, lineDataPosition) - lineDataPosition);
+        int endByte = (int) (Math.min(endPosition, lineEndPosition) - lineDataPosition);
+        if (paintData.viewMode != CodeArea.ViewMode.TEXT_PREVIEW) {
+            // Space after byte is colored too except at the end of line
+            colorSpans.setSpan(startByte * paintData.charsPerByte, Math.min(endByte * paintData.charsPerByte, paintData.bytesPerLine * paintData.charsPerByte - 1), codeColors);
+        }
+        if (paintData.viewMode != CodeArea.ViewMode.CODE_MATRIX) {
+            colorSpans.setSpan(paintData.previewCharPos + startByte, paintData.previewCharPos + endByte, previewColors);
         }
     }
 
@@ -552,6 +966,48 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
         g.fillRect(linePositionX + startOffset * paintData.charWidth, positionY, (endOffset - startOffset) * paintData.charWidth, paintData.lineHeight);
     }
 
+    private void updateCharMapping(Charset charset) {
+        if (charMappingCharset == null || charMappingCharset != charset) {
+            for (int i = 0; i < 256; i++) {
+                charMapping[i] = new String(new byte[]{(byte) i}, charset).charAt(0);
+            }
+            charMappingCharset = charset;
+        }
+    }
+
+    private char[] getUnprintableCharactersMapping() {
+        if (unprintableCharactersMapping == null) {
+            unprintableCharactersMapping = new char[128];
+            // Unicode control characters, might not be supported by font
+            for (int i = 0; i < 32; i++) {
+                unprintableCharactersMapping[i] = Character.toChars(9216 + i)[0];
+            }
+            // Space -> Middle Dot
+            unprintableCharactersMapping[' '] = Character.toChars(183)[0];
+            // Tab -> Right-Pointing Double Angle Quotation Mark
+            unprintableCharactersMapping['\t'] = Character.toChars(187)[0];
+            // Line Feed -> Currency Sign
+            unprintableCharactersMapping['\r'] = Character.toChars(164)[0];
+            // Carriage Return -> Pilcrow Sign
+            unprintableCharactersMapping['\n'] = Character.toChars(182)[0];
+            // Ideographic Space -> Degree Sign
+            unprintableCharactersMapping[127] = Character.toChars(176)[0];
+        }
+
+        return unprintableCharactersMapping;
+    }
+
+    /**
+     * Returns replacement of unprintable character.
+     *
+     * @param character character
+     * @return replacement or zero if character is printable
+     */
+    protected char getUnprintableReplacement(char character) {
+        char[] mapping = getUnprintableCharactersMapping();
+        return character < mapping.length ? mapping[character] : 0;
+    }
+
     public void byteToCharsCode(byte dataByte, int targetPosition, PaintData lineDataCache) {
         CodeArea.CodeType codeType = codeArea.getCodeType();
         switch (codeType) {
@@ -626,8 +1082,12 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
         g.drawChars(drawnChars, charOffset, 1, startX + shift, positionY);
     }
 
-    private PaintData createPaintData() {
-        PaintData paintData = new PaintData();
+    /**
+     * Updates reused paint data for current state of code area.
+     *
+     * Line data buffer is reallocated only when its size changes.
+     */
+    private void updatePaintData() {
         paintData.viewMode = codeArea.getViewMode();
         paintData.codeSectionRect = codeArea.getCodeSectionRectangle();
         paintData.scrollPosition = codeArea.getScrollPosition();
@@ -637,29 +1097,100 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
         paintData.codeDigits = codeArea.getCodeType().getMaxDigits();
         paintData.charsPerByte = paintData.codeDigits + 1;
         paintData.charset = codeArea.getCharset();
-        paintData.mainColors = codeArea.getMainColors();
-        paintData.alternateColors = codeArea.getAlternateColors();
+        paintData.mainColors = codeArea.getSharedMainColors();
+        paintData.alternateColors = codeArea.getSharedAlternateColors();
         paintData.charRenderingMode = codeArea.getCharRenderingMode();
         paintData.fontMetrics = codeArea.getFontMetrics();
+        if (paintData.fontMetrics != glyphOverflowFontMetrics) {
+            glyphOverflowFontMetrics = paintData.fontMetrics;
+            glyphOverflowChars = 0;
+        }
         paintData.monospaceFont = codeArea.isMonospaceFontDetected();
-
-        CharsetEncoder encoder = paintData.charset.newEncoder();
-        paintData.maxCharLength = (int) encoder.maxBytesPerChar();
-        paintData.lineData = new byte[paintData.bytesPerLine + paintData.maxCharLength - 1];
+        paintData.colorSpans = colorSpans;
+        paintData.glyphAtlas = null;
+
+        prepareLinesCache();
+        paintData.maxCharLength = maxCharLength;
+        int lineDataLength = paintData.bytesPerLine + paintData.maxCharLength - 1;
+        if (paintData.lineData == null || paintData.lineData.length != lineDataLength) {
+            paintData.lineData = new byte[lineDataLength];
+        }
         paintData.charsPerLine = paintData.bytesPerLine * (paintData.charsPerByte + 1);
-        paintData.lineChars = new char[paintData.charsPerLine];
-        Arrays.fill(paintData.lineChars, ' ');
-
         paintData.showUnprintableCharacters = codeArea.isShowUnprintableCharacters();
-        if (paintData.showUnprintableCharacters) {
-            paintData.unprintableChars = new char[paintData.charsPerLine];
+        paintData.lineChars = null;
+        paintData.unprintableChars = null;
+    }
+
+    /**
+     * Updates layout of formatted lines cache and ensures capacity for
+     * visible lines.
+     */
+    private void prepareLinesCache() {
+        Charset charset = codeArea.getCharset();
+        if (maxCharLengthCharset == null || !maxCharLengthCharset.equals(charset)) {
+            CharsetEncoder encoder = charset.newEncoder();
+            maxCharLength = (int) encoder.maxBytesPerChar();
+            maxCharLengthCharset = charset;
+            previewCharDecoder = maxCharLength > 1 ? new PreviewCharDecoder(charset, maxCharLength) : null;
         }
 
-        return paintData;
+        int bytesPerLine = codeArea.getBytesPerLine();
+        paintLayout.data = codeArea.getData();
+        paintLayout.viewMode = codeArea.getViewMode();
+        paintLayout.codeType = codeArea.getCodeType();
+        paintLayout.positionCodeType = codeArea.getPositionCodeType();
+        paintLayout.charRenderingMode = codeArea.getCharRenderingMode();
+        paintLayout.charset = charset;
+        paintLayout.hexCharacters = hexCharacters;
+        paintLayout.bytesPerLine = bytesPerLine;
+        paintLayout.charsPerLine = bytesPerLine * (paintLayout.codeType.getMaxDigits() + 2);
+        paintLayout.maxCharLength = maxCharLength;
+        paintLayout.lineNumberLength = codeArea.getLineNumberLength();
+        paintLayout.upperCaseLineNumbers = codeArea.getHexCharactersCase() == CodeArea.HexCharactersCase.UPPER;
+        paintLayout.showUnprintableCharacters = codeArea.isShowUnprintableCharacters();
+        linesCache.updateLayout(paintLayout);
+
+        int lineHeight = codeArea.getLineHeight();
+        int visibleLines = lineHeight > 0 ? codeArea.getCodeSectionRectangle().height / lineHeight + 2 : 0;
+        linesCache.ensureCapacity(visibleLines);
+    }
+
+    @Override
+    public void dataChanged(long startPosition, long endPosition) {
+        linesCache.invalidateData(startPosition, endPosition);
+    }
+
+    @Override
+    public List<HighlightLayer> getHighlightLayers() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Invalidates all cached formatted lines.
+     *
+     * Child implementation should call this when it changes formatting of
+     * lines.
+     */
+    public void resetLinesCache() {
+        linesCache.clear();
+    }
+
+    /**
+     * Consumer of highlights setting color spans of currently painted line.
+     */
+    private class LineHighlightConsumer implements HighlightLayer.HighlightConsumer {
+
+        private LineColorSpans colorSpans;
+        private PaintData paintData;
+
+        @Override
+        public void addHighlight(long startPosition, long endPosition, CodeArea.ColorsGroup codeColors, CodeArea.ColorsGroup previewColors) {
+            setBytesColors(colorSpans, startPosition, endPosition, codeColors, previewColors, paintData);
+        }
     }
 
     /**
-     * Paint cache data structure for single paint operation.
+     * Paint cache data structure reused by paint operations.
      *
      * Data copied from CodeArea for faster access + array space for line data.
      */
@@ -681,6 +1212,19 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
         protected FontMetrics fontMetrics;
         protected boolean monospaceFont;
         protected int previewCharPos;
+        protected GlyphAtlas glyphAtlas;
+
+        /**
+         * Range of characters of the line intersecting clip bounds and ranges
+         * of bytes formatted in each section, ends are exclusive.
+         */
+        protected int visibleCharStart;
+        protected int visibleCharEnd;
+        protected int codeStartByte;
+        protected int codeEndByte;
+        protected int previewStartByte;
+        protected int previewEndByte;
+        protected LineColorSpans colorSpans;
 
         protected CodeArea.ColorsGroup mainColors;
         protected CodeArea.ColorsGroup alternateColors;
@@ -755,6 +1299,14 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter {
             return previewCharPos;
         }
 
+        public int getVisibleCharStart() {
+            return visibleCharStart;
+        }
+
+        public int getVisibleCharEnd() {
+            return visibleCharEnd;
+        }
+
         public boolean isShowUnprintableCharacters() {
             return showUnprintableCharacters;
         }
@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import org.exbin.utils.binary_data.BinaryData;
+
+/**
+ * Cache of formatted lines for code area painter.
+ *
+ * Keeps characters of codes and preview, unprintable characters and line
+ * number characters for recently painted lines so that unchanged lines are
+ * not formatted again when component is repainted or scrolled. Lines are
+ * stored in direct mapped slots indexed by line number. Only ranges of bytes
+ * visible in each section are formatted, ranges are extended as line is
+ * scrolled horizontally.
+ *
+ * Whole cache is cleared when layout parameters change, data change clears
+ * only lines affected by changed range.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class FormattedLinesCache {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private final Layout layout = new Layout();
+    private Line[] lines = new Line[0];
+    private int slotMask = -1;
+
+    /**
+     * Updates layout parameters and clears cache if any of them changed.
+     *
+     * @param currentLayout current layout
+     * @return true if cache was cleared
+     */
+    public boolean updateLayout(Layout currentLayout) {
+        if (layout.equals(currentLayout)) {
+            return false;
+        }
+
+        layout.setLayout(currentLayout);
+        clear();
+        return true;
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Ensures that cache can hold at least given count of lines without
+     * collisions.
+     *
+     * @param linesCount count of simultaneously visible lines
+     */
+    public void ensureCapacity(int linesCount) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < linesCount * 2) {
+            capacity <<= 1;
+        }
+        if (capacity > lines.length) {
+            lines = new Line[capacity];
+            slotMask = capacity - 1;
+        }
+    }
+
+    /**
+     * Returns cached line record for given line.
+     *
+     * Record previously used for different line is reused and marked as
+     * invalid.
+     *
+     * @param line line index
+     * @return line record
+     */
+    public Line getLine(long line) {
+        int slot = (int) (line & slotMask);
+        Line record = lines[slot];
+        if (record == null) {
+            record = new Line(layout.charsPerLine, layout.showUnprintableCharacters, layout.lineNumberLength);
+            lines[slot] = record;
+        } else if (record.line == line) {
+            return record;
+        }
+
+        record.line = line;
+        record.setDataValid(false);
+        record.lineNumberValid = false;
+        return record;
+    }
+
+    /**
+     * Invalidates data of lines affected by change of given data range.
+     *
+     * Preview characters of line might depend on bytes following the line up
+     * to maximum length of character, so previous lines are invalidated as
+     * well if needed.
+     *
+     * @param startPosition start position of changed range
+     * @param endPosition end position of changed range (exclusive) or
+     * Long.MAX_VALUE if all following data were shifted
+     */
+    public void invalidateData(long startPosition, long endPosition) {
+        if (layout.bytesPerLine == 0) {
+            return;
+        }
+
+        long lineDataLength = layout.bytesPerLine + layout.maxCharLength - 1;
+        for (Line record : lines) {
+            if (record != null && record.dataValid) {
+                long lineDataPosition = record.line * layout.bytesPerLine;
+                if (lineDataPosition < endPosition && lineDataPosition + lineDataLength > startPosition) {
+                    record.setDataValid(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidates all cached lines.
+     */
+    public void clear() {
+        lines = new Line[lines.length];
+    }
+
+    /**
+     * Layout parameters which affect formatting of the line.
+     */
+    public static class Layout {
+
+        protected BinaryData data;
+        protected CodeArea.ViewMode viewMode;
+        protected CodeArea.CodeType codeType;
+        protected CodeArea.PositionCodeType positionCodeType;
+        protected CodeArea.CharRenderingMode charRenderingMode;
+        protected Charset charset;
+        protected char[] hexCharacters;
+        protected int bytesPerLine;
+        protected int charsPerLine;
+        protected int maxCharLength;
+        protected int lineNumberLength;
+        protected boolean upperCaseLineNumbers;
+        protected boolean showUnprintableCharacters;
+
+        public void setLayout(Layout source) {
+            data = source.data;
+            viewMode = source.viewMode;
+            codeType = source.codeType;
+            positionCodeType = source.positionCodeType;
+            charRenderingMode = source.charRenderingMode;
+            charset = source.charset;
+            hexCharacters = source.hexCharacters;
+            bytesPerLine = source.bytesPerLine;
+            charsPerLine = source.charsPerLine;
+            maxCharLength = source.maxCharLength;
+            lineNumberLength = source.lineNumberLength;
+            upperCaseLineNumbers = source.upperCaseLineNumbers;
+            showUnprintableCharacters = source.showUnprintableCharacters;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+
+            Layout other = (Layout) obj;
+            return data == other.data
+                    && viewMode == other.viewMode
+                    && codeType == other.codeType
+                    && positionCodeType == other.positionCodeType
+                    && charRenderingMode == other.charRenderingMode
+                    && (charset == null ? other.charset == null : charset.equals(other.charset))
+                    && hexCharacters == other.hexCharacters
+                    && bytesPerLine == other.bytesPerLine
+                    && charsPerLine == other.charsPerLine
+                    && maxCharLength == other.maxCharLength
+                    && lineNumberLength == other.lineNumberLength
+                    && upperCaseLineNumbers == other.upperCaseLineNumbers
+                    && showUnprintableCharacters == other.showUnprintableCharacters;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 59 * hash + (codeType != null ? codeType.hashCode() : 0);
+            hash = 59 * hash + (charset != null ? charset.hashCode() : 0);
+            hash = 59 * hash + bytesPerLine;
+            return hash;
+        }
+
+        public int getBytesPerLine() {
+            return bytesPerLine;
+        }
+
+        public int getCharsPerLine() {
+            return charsPerLine;
+        }
+
+        public int getMaxCharLength() {
+            return maxCharLength;
+        }
+    }
+
+    /**
+     * Formatted content of single line.
+     */
+    public static class Line {
+
+        protected long line = -1;
+        protected boolean dataValid = false;
+        protected boolean lineNumberValid = false;
+
+        /**
+         * Formatted ranges of bytes in codes and preview sections, end is
+         * exclusive.
+         */
+        protected int codeStartByte = 0;
+        protected int codeEndByte = 0;
+        protected int previewStartByte = 0;
+        protected int previewEndByte = 0;
+
+        /**
+         * Characters of codes and preview.
+         */
+        protected final char[] lineChars;
+
+        /**
+         * Unprintable characters or null if not shown.
+         */
+        protected final char[] unprintableChars;
+
+        /**
+         * Characters of line number.
+         */
+        protected final char[] lineNumberChars;
+
+        public Line(int charsPerLine, boolean showUnprintableCharacters, int lineNumberLength) {
+            lineChars = new char[charsPerLine];
+            Arrays.fill(lineChars, ' ');
+            if (showUnprintableCharacters) {
+                unprintableChars = new char[charsPerLine];
+                Arrays.fill(unprintableChars, ' ');
+            } else {
+                unprintableChars = null;
+            }
+            lineNumberChars = new char[lineNumberLength];
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public boolean isDataValid() {
+            return dataValid;
+        }
+
+        /**
+         * Sets data validity, invalidation clears formatted ranges.
+         *
+         * @param dataValid data validity
+         */
+        public void setDataValid(boolean dataValid) {
+            this.dataValid = dataValid;
+            if (!dataValid) {
+                codeStartByte = 0;
+                codeEndByte = 0;
+                previewStartByte = 0;
+                previewEndByte = 0;
+            }
+        }
+
+        public int getCodeStartByte() {
+            return codeStartByte;
+        }
+
+        public int getCodeEndByte() {
+            return codeEndByte;
+        }
+
+        public void setCodeRange(int startByte, int endByte) {
+            codeStartByte = startByte;
+            codeEndByte = endByte;
+        }
+
+        public int getPreviewStartByte() {
+            return previewStartByte;
+        }
+
+        public int getPreviewEndByte() {
+            return previewEndByte;
+        }
+
+        public void setPreviewRange(int startByte, int endByte) {
+            previewStartByte = startByte;
+            previewEndByte = endByte;
+        }
+
+        public boolean isLineNumberValid() {
+            return lineNumberValid;
+        }
+
+        public void setLineNumberValid(boolean lineNumberValid) {
+            this.lineNumberValid = lineNumberValid;
+        }
+
+        public char[] getLineChars() {
+            return lineChars;
+        }
+
+        public char[] getUnprintableChars() {
+            return unprintableChars;
+        }
+
+        public char[] getLineNumberChars() {
+            return lineNumberChars;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Atlas of pre-rendered character glyphs.
+ *
+ * Glyphs of given set of characters are rendered once for each text color to
+ * image tiles centered in character cell and then copied to target graphics
+ * without text layout and without measuring of character widths.
+ *
+ * Tiles are translucent images which cannot carry subpixel coverage, so LCD
+ * text antialiasing is rendered as grayscale antialiasing in the atlas.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class GlyphAtlas {
+
+    /**
+     * Maximum count of cached colors.
+     */
+    public static final int MAX_COLORS = 32;
+    private static final int GLYPHS_PER_ROW = 32;
+    private static final int DIRECT_SLOTS = 256;
+
+    private final Font font;
+    private final int charWidth;
+    private final Object antialiasingHint;
+
+    private final char[] glyphs;
+    private final int[] glyphShifts;
+    private final int cellWidth;
+    private final int cellHeight;
+    /**
+     * Distance of glyph cell origin from character area left side.
+     */
+    private final int cellLeft;
+    /**
+     * Distance of glyph cell origin from text baseline.
+     */
+    private final int cellTop;
+
+    /**
+     * Slots for characters below 256, 0 if not present.
+     */
+    private final short[] directSlots = new short[DIRECT_SLOTS];
+    /**
+     * Open addressing table for remaining characters.
+     */
+    private final char[] hashKeys;
+    private final short[] hashSlots;
+    private final int hashMask;
+
+    private final Map<Color, BufferedImage> images = new LinkedHashMap<Color, BufferedImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Color, BufferedImage> eldest) {
+            return size() > MAX_COLORS;
+        }
+    };
+
+    /**
+     * Creates atlas for given characters.
+     *
+     * @param fontMetrics font metrics of the font
+     * @param charWidth width of character cell
+     * @param antialiasingHint text antialiasing rendering hint or null, LCD
+     * hints are replaced by grayscale antialiasing
+     * @param characters characters to include, duplicates and spaces are
+     * ignored
+     */
+    public GlyphAtlas(FontMetrics fontMetrics, int charWidth, Object antialiasingHint, char[] characters) {
+        this.font = fontMetrics.getFont();
+        this.charWidth = charWidth;
+        this.antialiasingHint = getAtlasAntialiasingHint(antialiasingHint);
+
+        int hashSize = 16;
+        while (hashSize < characters.length * 2) {
+            hashSize <<= 1;
+        }
+        hashKeys = new char[hashSize];
+        hashSlots = new short[hashSize];
+        hashMask = hashSize - 1;
+
+        char[] glyphsList = new char[characters.length];
+        int glyphsCount = 0;
+        for (char character : characters) {
+            if (character != ' ' && getSlot(character) < 0) {
+                glyphsList[glyphsCount] = character;
+                glyphsCount++;
+                putSlot(character, glyphsCount);
+            }
+        }
+        glyphs = new char[glyphsCount];
+        System.arraycopy(glyphsList, 0, glyphs, 0, glyphsCount);
+
+        // Cell is enlarged if some glyph overflows character area
+        glyphShifts = new int[glyphsCount];
+        FontRenderContext renderContext = fontMetrics.getFontRenderContext();
+        int left = 0;
+        int right = charWidth;
+        int top = fontMetrics.getAscent();
+        int bottom = fontMetrics.getDescent();
+        for (int i = 0; i < glyphsCount; i++) {
+            int glyphWidth = fontMetrics.charWidth(glyphs[i]);
+            glyphShifts[i] = (charWidth + 1 - glyphWidth) >> 1;
+            Rectangle bounds = font.createGlyphVector(renderContext, new char[]{glyphs[i]}).getPixelBounds(renderContext, glyphShifts[i], 0);
+            left = Math.max(left, -bounds.x);
+            right = Math.max(right, bounds.x + bounds.width);
+            top = Math.max(top, -bounds.y);
+            bottom = Math.max(bottom, bounds.y + bounds.height);
+        }
+        // Rendering context of target graphics might differ in antialiasing
+        cellLeft = left + 1;
+        cellTop = top + 1;
+        cellWidth = cellLeft + right + 1;
+        cellHeight = cellTop + bottom + 1;
+    }
+
+    private void putSlot(char character, int slot) {
+        if (character < DIRECT_SLOTS) {
+            directSlots[character] = (short) slot;
+            return;
+        }
+
+        int index = (character * 0x9E37) & hashMask;
+        while (hashSlots[index] != 0) {
+            index = (index + 1) & hashMask;
+        }
+        hashKeys[index] = character;
+        hashSlots[index] = (short) slot;
+    }
+
+    /**
+     * Returns index of glyph for given character.
+     *
+     * @param character character
+     * @return index of glyph or -1 if character is not present in atlas
+     */
+    public int getSlot(char character) {
+        if (character < DIRECT_SLOTS) {
+            return directSlots[character] - 1;
+        }
+
+        int index = (character * 0x9E37) & hashMask;
+        while (hashSlots[index] != 0) {
+            if (hashKeys[index] == character) {
+                return hashSlots[index] - 1;
+            }
+            index = (index + 1) & hashMask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns true if atlas was created for given rendering parameters.
+     *
+     * @param fontMetrics font metrics
+     * @param charWidth width of character cell
+     * @param antialiasingHint text antialiasing rendering hint
+     * @return true if atlas is usable
+     */
+    public boolean isCompatible(FontMetrics fontMetrics, int charWidth, Object antialiasingHint) {
+        return font.equals(fontMetrics.getFont()) && this.charWidth == charWidth
+                && (this.antialiasingHint == null ? antialiasingHint == null : this.antialiasingHint.equals(getAtlasAntialiasingHint(antialiasingHint)));
+    }
+
+    /**
+     * Returns text antialiasing hint used for rendering of atlas tiles.
+     *
+     * LCD hints degrade to grayscale in translucent image, so grayscale
+     * antialiasing is requested explicitly instead.
+     *
+     * @param antialiasingHint requested text antialiasing hint or null
+     * @return hint for atlas rendering
+     */
+    public static Object getAtlasAntialiasingHint(Object antialiasingHint) {
+        if (RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB.equals(antialiasingHint)
+                || RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HBGR.equals(antialiasingHint)
+                || RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VRGB.equals(antialiasingHint)
+                || RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VBGR.equals(antialiasingHint)) {
+            return RenderingHints.VALUE_TEXT_ANTIALIAS_ON;
+        }
+
+        return antialiasingHint;
+    }
+
+    /**
+     * Draws glyph of given character.
+     *
+     * @param g graphics
+     * @param character character
+     * @param color text color
+     * @param startX X position of character cell
+     * @param positionY Y position of text baseline
+     * @return false if character is not present in atlas
+     */
+    public boolean drawChar(Graphics g, char character, Color color, int startX, int positionY) {
+        int slot = getSlot(character);
+        if (slot < 0) {
+            return false;
+        }
+
+        BufferedImage image = getImage(g, color);
+        int sourceX = (slot % GLYPHS_PER_ROW) * cellWidth;
+        int sourceY = (slot / GLYPHS_PER_ROW) * cellHeight;
+        int targetX = startX - cellLeft;
+        int targetY = positionY - cellTop;
+        g.drawImage(image, targetX, targetY, targetX + cellWidth, targetY + cellHeight,
+                sourceX, sourceY, sourceX + cellWidth, sourceY + cellHeight, null);
+        return true;
+    }
+
+    /**
+     * Draws glyphs of sequence of characters placed in consecutive cells.
+     *
+     * Spaces are skipped.
+     *
+     * @param g graphics
+     * @param characters array of characters
+     * @param offset offset of the first character
+     * @param length count of characters
+     * @param color text color
+     * @param startX X position of the first character cell
+     * @param positionY Y position of text baseline
+     * @return false if some character is not present in atlas, no character
+     * is drawn in such case
+     */
+    public boolean drawChars(Graphics g, char[] characters, int offset, int length, Color color, int startX, int positionY) {
+        for (int i = offset; i < offset + length; i++) {
+            if (characters[i] != ' ' && getSlot(characters[i]) < 0) {
+                return false;
+            }
+        }
+
+        for (int i = 0; i < length; i++) {
+            char character = characters[offset + i];
+            if (character != ' ') {
+                drawChar(g, character, color, startX + i * charWidth, positionY);
+            }
+        }
+        return true;
+    }
+
+    private BufferedImage getImage(Graphics g, Color color) {
+        BufferedImage image = images.get(color);
+        if (image == null) {
+            image = renderImage(g, color);
+            images.put(color, image);
+        }
+
+        return image;
+    }
+
+    private BufferedImage renderImage(Graphics g, Color color) {
+        int rows = Math.max(1, (glyphs.length + GLYPHS_PER_ROW - 1) / GLYPHS_PER_ROW);
+        int width = cellWidth * Math.min(Math.max(1, glyphs.length), GLYPHS_PER_ROW);
+        int height = cellHeight * rows;
+        BufferedImage image;
+        GraphicsConfiguration graphicsConfiguration = g instanceof Graphics2D ? ((Graphics2D) g).getDeviceConfiguration() : null;
+        if (graphicsConfiguration != null) {
+            image = graphicsConfiguration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        } else {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+
+        Graphics2D imageGraphics = image.createGraphics();
+        try {
+            imageGraphics.setComposite(AlphaComposite.Clear);
+            imageGraphics.fillRect(0, 0, width, height);
+            imageGraphics.setComposite(AlphaComposite.SrcOver);
+            if (antialiasingHint != null) {
+                imageGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialiasingHint);
+            }
+            imageGraphics.setFont(font);
+            imageGraphics.setColor(color);
+            for (int slot = 0; slot < glyphs.length; slot++) {
+                int cellX = (slot % GLYPHS_PER_ROW) * cellWidth;
+                int cellY = (slot / GLYPHS_PER_ROW) * cellHeight;
+                imageGraphics.setClip(cellX, cellY, cellWidth, cellHeight);
+                imageGraphics.drawChars(glyphs, slot, 1, cellX + cellLeft + glyphShifts[slot], cellY + cellTop);
+            }
+        } finally {
+            imageGraphics.dispose();
+        }
+
+        return image;
+    }
+}
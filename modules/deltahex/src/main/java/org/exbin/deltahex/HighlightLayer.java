@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+/**
+ * Layer of highlighted data ranges painted over code area lines.
+ *
+ * Layers are painted in order of increasing priority, so colors of layer with
+ * higher priority are used where ranges of multiple layers overlap.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public interface HighlightLayer {
+
+    public static final int PRIORITY_STRUCTURE = 100;
+    public static final int PRIORITY_MODIFIED = 200;
+    public static final int PRIORITY_BOOKMARKS = 300;
+    public static final int PRIORITY_SELECTION = 400;
+    public static final int PRIORITY_SEARCH = 500;
+
+    /**
+     * Returns priority of the layer.
+     *
+     * @return priority
+     */
+    int getPriority();
+
+    /**
+     * Reports highlighted ranges intersecting given data range.
+     *
+     * Range reported later overrides colors of previously reported ranges.
+     *
+     * @param startPosition start data position
+     * @param endPosition end data position, exclusive
+     * @param consumer consumer of highlighted ranges
+     */
+    void addHighlights(long startPosition, long endPosition, HighlightConsumer consumer);
+
+    /**
+     * Consumer of highlighted ranges.
+     */
+    public interface HighlightConsumer {
+
+        /**
+         * Adds highlighted range.
+         *
+         * @param startPosition start data position
+         * @param endPosition end data position, exclusive
+         * @param codeColors colors for code matrix section
+         * @param previewColors colors for preview section
+         */
+        void addHighlight(long startPosition, long endPosition, CodeArea.ColorsGroup codeColors, CodeArea.ColorsGroup previewColors);
+    }
+}
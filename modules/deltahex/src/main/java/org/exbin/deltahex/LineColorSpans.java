@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.util.Arrays;
+
+/**
+ * Run list of colors groups for characters of single line.
+ *
+ * Runs are ordered, don't overlap and cover whole line. Span set later
+ * overwrites colors of previously set spans in its range, so spans should be
+ * set in order of increasing priority.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class LineColorSpans {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int length = 0;
+    private int count = 0;
+    /**
+     * End character of each run, exclusive, start is end of previous run.
+     */
+    private int[] runEnds = new int[INITIAL_CAPACITY];
+    private CodeArea.ColorsGroup[] runColors = new CodeArea.ColorsGroup[INITIAL_CAPACITY];
+
+    /**
+     * Resets spans to single run of given colors.
+     *
+     * @param length count of characters on line
+     * @param colors colors group for whole line
+     */
+    public void reset(int length, CodeArea.ColorsGroup colors) {
+        this.length = length;
+        Arrays.fill(runColors, 0, count, null);
+        if (length > 0) {
+            runEnds[0] = length;
+            runColors[0] = colors;
+            count = 1;
+        } else {
+            count = 0;
+        }
+    }
+
+    /**
+     * Sets colors group for given range of characters.
+     *
+     * @param startChar first character of span
+     * @param endChar character after the last character of span
+     * @param colors colors group
+     */
+    public void setSpan(int startChar, int endChar, CodeArea.ColorsGroup colors) {
+        if (startChar < 0) {
+            startChar = 0;
+        }
+        if (endChar > length) {
+            endChar = length;
+        }
+        if (startChar >= endChar) {
+            return;
+        }
+
+        int firstRun = findRun(startChar);
+        int lastRun = findRun(endChar - 1);
+        boolean keepLeft = getStart(firstRun) < startChar;
+        boolean keepRight = runEnds[lastRun] > endChar;
+        CodeArea.ColorsGroup leftColors = runColors[firstRun];
+        CodeArea.ColorsGroup rightColors = runColors[lastRun];
+        int rightEnd = runEnds[lastRun];
+
+        int newRuns = 1 + (keepLeft ? 1 : 0) + (keepRight ? 1 : 0);
+        int replacedRuns = lastRun - firstRun + 1;
+        int shift = newRuns - replacedRuns;
+        if (shift != 0) {
+            ensureCapacity(count + shift);
+            System.arraycopy(runEnds, lastRun + 1, runEnds, lastRun + 1 + shift, count - lastRun - 1);
+            System.arraycopy(runColors, lastRun + 1, runColors, lastRun + 1 + shift, count - lastRun - 1);
+            if (shift < 0) {
+                Arrays.fill(runColors, count + shift, count, null);
+            }
+            count += shift;
+        }
+
+        int run = firstRun;
+        if (keepLeft) {
+            runEnds[run] = startChar;
+            runColors[run] = leftColors;
+            run++;
+        }
+        runEnds[run] = endChar;
+        runColors[run] = colors;
+        if (keepRight) {
+            run++;
+            runEnds[run] = rightEnd;
+            runColors[run] = rightColors;
+        }
+    }
+
+    /**
+     * Returns index of run containing given character.
+     */
+    private int findRun(int charOnLine) {
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (runEnds[middle] <= charOnLine) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > runEnds.length) {
+            int newCapacity = Math.max(capacity, runEnds.length * 2);
+            runEnds = Arrays.copyOf(runEnds, newCapacity);
+            runColors = Arrays.copyOf(runColors, newCapacity);
+        }
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns count of runs.
+     *
+     * @return count of runs
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public int getStart(int run) {
+        return run == 0 ? 0 : runEnds[run - 1];
+    }
+
+    public int getEnd(int run) {
+        return runEnds[run];
+    }
+
+    public CodeArea.ColorsGroup getColors(int run) {
+        return runColors[run];
+    }
+}
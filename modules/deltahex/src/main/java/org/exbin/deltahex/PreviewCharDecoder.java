@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Decoder of preview characters for multi-byte charsets.
+ *
+ * Decodes character starting at given byte position using reused decoder and
+ * buffers so that no objects are allocated during painting. For UTF-8,
+ * Shift_JIS and GBK charsets length of the sequence is determined from its
+ * lead byte and ASCII bytes are mapped directly without decoder.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class PreviewCharDecoder {
+
+    private static final byte[] UTF8_SEQUENCE_LENGTHS = new byte[256];
+    private static final byte[] SHIFT_JIS_SEQUENCE_LENGTHS = new byte[256];
+    private static final byte[] GBK_SEQUENCE_LENGTHS = new byte[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            // Invalid lead bytes are decoded alone to replacement character
+            UTF8_SEQUENCE_LENGTHS[i] = (byte) (i >= 0xC2 && i <= 0xDF ? 2 : i >= 0xE0 && i <= 0xEF ? 3 : i >= 0xF0 && i <= 0xF4 ? 4 : 1);
+            SHIFT_JIS_SEQUENCE_LENGTHS[i] = (byte) ((i >= 0x81 && i <= 0x9F) || (i >= 0xE0 && i <= 0xFC) ? 2 : 1);
+            GBK_SEQUENCE_LENGTHS[i] = (byte) (i >= 0x81 && i <= 0xFE ? 2 : 1);
+        }
+    }
+
+    private final Charset charset;
+    private final CharsetDecoder decoder;
+    private final int maxCharLength;
+    /**
+     * Sequence lengths indexed by lead byte or null if not known for charset.
+     */
+    private final byte[] sequenceLengths;
+
+    private final CharBuffer charBuffer;
+    private byte[] wrappedData = null;
+    private ByteBuffer byteBuffer = null;
+
+    public PreviewCharDecoder(Charset charset, int maxCharLength) {
+        this.charset = charset;
+        this.maxCharLength = maxCharLength;
+        decoder = charset.newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPLACE);
+        decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        sequenceLengths = getSequenceLengths(charset);
+        charBuffer = CharBuffer.allocate((int) Math.ceil(maxCharLength * decoder.maxCharsPerByte()) + 1);
+    }
+
+    private static byte[] getSequenceLengths(Charset charset) {
+        switch (charset.name()) {
+            case "UTF-8":
+                return UTF8_SEQUENCE_LENGTHS;
+            case "Shift_JIS":
+            case "windows-31j":
+                return SHIFT_JIS_SEQUENCE_LENGTHS;
+            case "GBK":
+                return GBK_SEQUENCE_LENGTHS;
+            default:
+                return null;
+        }
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Returns true if lengths of sequences are determined from lead byte.
+     *
+     * @return true for UTF-8, Shift_JIS and GBK charsets
+     */
+    public boolean isSequenceLengthKnown() {
+        return sequenceLengths != null;
+    }
+
+    /**
+     * Returns length of the sequence starting with given lead byte.
+     *
+     * @param leadByte lead byte
+     * @return length of sequence or maximum character length if charset has
+     * no lead byte table
+     */
+    public int getSequenceLength(byte leadByte) {
+        return sequenceLengths == null ? maxCharLength : sequenceLengths[leadByte & 0xFF];
+    }
+
+    /**
+     * Returns maximum count of bytes decoded for single character.
+     *
+     * Sequences longer than maximum count of bytes per char of the encoder,
+     * such as UTF-8 supplementary characters, are decoded as malformed as
+     * they are not representable by single preview character.
+     *
+     * @return maximum character length
+     */
+    public int getMaxCharLength() {
+        return maxCharLength;
+    }
+
+    /**
+     * Decodes character starting at given position.
+     *
+     * Sequence which continues beyond available data is decoded as
+     * malformed.
+     *
+     * @param data data array
+     * @param offset offset of the first byte of the character
+     * @param available count of valid bytes from offset
+     * @return first decoded character or space if nothing was decoded
+     */
+    public char decodeChar(byte[] data, int offset, int available) {
+        int leadByte = data[offset] & 0xFF;
+        if (sequenceLengths != null && leadByte < 0x80) {
+            return (char) leadByte;
+        }
+
+        int length = Math.min(getSequenceLength(data[offset]), maxCharLength);
+        if (length > available) {
+            length = available;
+        }
+        if (data != wrappedData) {
+            byteBuffer = ByteBuffer.wrap(data);
+            wrappedData = data;
+        }
+        byteBuffer.limit(offset + length);
+        byteBuffer.position(offset);
+        charBuffer.clear();
+        decoder.reset();
+        decoder.decode(byteBuffer, charBuffer, true);
+        decoder.flush(charBuffer);
+
+        return charBuffer.position() > 0 ? charBuffer.get(0) : ' ';
+    }
+}
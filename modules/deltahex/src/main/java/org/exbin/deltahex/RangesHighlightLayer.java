@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.util.Arrays;
+
+/**
+ * Highlight layer of arbitrary data ranges.
+ *
+ * Suitable for bookmarks, modified bytes or structure fields. Ranges are kept
+ * in primitive arrays ordered by start position which form implicit balanced
+ * interval tree, so ranges intersecting visible line are found in O(log n +
+ * k) steps. Ranges may overlap, range starting later is painted over previous
+ * ones, so nested fields are painted over their parents.
+ *
+ * Code area is not notified about changes of ranges, caller should repaint
+ * affected positions.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class RangesHighlightLayer implements HighlightLayer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int priority;
+
+    private int count = 0;
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private CodeArea.ColorsGroup[] codeColors = new CodeArea.ColorsGroup[INITIAL_CAPACITY];
+    private CodeArea.ColorsGroup[] previewColors = new CodeArea.ColorsGroup[INITIAL_CAPACITY];
+    /**
+     * Maximum end of ranges in subtree of each node of implicit tree.
+     */
+    private long[] maxEnds = new long[0];
+    private boolean sorted = true;
+    private boolean indexValid = false;
+
+    public RangesHighlightLayer(int priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Adds range highlighted with the same colors in both sections.
+     *
+     * @param startPosition start data position
+     * @param endPosition end data position, exclusive
+     * @param colors colors group
+     */
+    public void addRange(long startPosition, long endPosition, CodeArea.ColorsGroup colors) {
+        addRange(startPosition, endPosition, colors, colors);
+    }
+
+    /**
+     * Adds highlighted range.
+     *
+     * @param startPosition start data position
+     * @param endPosition end data position, exclusive
+     * @param codeColors colors for code matrix section
+     * @param previewColors colors for preview section
+     */
+    public void addRange(long startPosition, long endPosition, CodeArea.ColorsGroup codeColors, CodeArea.ColorsGroup previewColors) {
+        if (endPosition <= startPosition) {
+            throw new IllegalArgumentException("Range cannot be empty");
+        }
+
+        if (count == starts.length) {
+            int capacity = count * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            this.codeColors = Arrays.copyOf(this.codeColors, capacity);
+            this.previewColors = Arrays.copyOf(this.previewColors, capacity);
+        }
+        if (count > 0 && startPosition < starts[count - 1]) {
+            sorted = false;
+        }
+        starts[count] = startPosition;
+        ends[count] = endPosition;
+        this.codeColors[count] = codeColors;
+        this.previewColors[count] = previewColors;
+        count++;
+        indexValid = false;
+    }
+
+    /**
+     * Removes all ranges intersecting given range.
+     *
+     * @param startPosition start data position
+     * @param endPosition end data position, exclusive
+     * @return count of removed ranges
+     */
+    public int removeRanges(long startPosition, long endPosition) {
+        int target = 0;
+        for (int index = 0; index < count; index++) {
+            if (starts[index] < endPosition && ends[index] > startPosition) {
+                continue;
+            }
+
+            starts[target] = starts[index];
+            ends[target] = ends[index];
+            codeColors[target] = codeColors[index];
+            previewColors[target] = previewColors[index];
+            target++;
+        }
+
+        int removed = count - target;
+        if (removed > 0) {
+            Arrays.fill(codeColors, target, count, null);
+            Arrays.fill(previewColors, target, count, null);
+            count = target;
+            indexValid = false;
+        }
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(codeColors, 0, count, null);
+        Arrays.fill(previewColors, 0, count, null);
+        count = 0;
+        sorted = true;
+        indexValid = false;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns start position of range at given index in order of start
+     * positions.
+     *
+     * @param index range index
+     * @return start data position
+     */
+    public long getStart(int index) {
+        ensureSorted();
+        return starts[index];
+    }
+
+    public long getEnd(int index) {
+        ensureSorted();
+        return ends[index];
+    }
+
+    @Override
+    public void addHighlights(long startPosition, long endPosition, HighlightConsumer consumer) {
+        if (!indexValid) {
+            ensureSorted();
+            if (maxEnds.length < count) {
+                maxEnds = new long[starts.length];
+            }
+            buildIndex(0, count);
+            indexValid = true;
+        }
+
+        addHighlights(0, count, startPosition, endPosition, consumer);
+    }
+
+    /**
+     * Reports ranges of subtree in order of start positions.
+     */
+    private void addHighlights(int low, int high, long startPosition, long endPosition, HighlightConsumer consumer) {
+        while (low < high) {
+            int node = (low + high) >>> 1;
+            if (maxEnds[node] <= startPosition) {
+                return;
+            }
+
+            addHighlights(low, node, startPosition, endPosition, consumer);
+            if (starts[node] >= endPosition) {
+                return;
+            }
+            if (ends[node] > startPosition) {
+                consumer.addHighlight(starts[node], ends[node], codeColors[node], previewColors[node]);
+            }
+            low = node + 1;
+        }
+    }
+
+    /**
+     * Computes maximum ends for subtree and returns it.
+     */
+    private long buildIndex(int low, int high) {
+        if (low >= high) {
+            return Long.MIN_VALUE;
+        }
+
+        int node = (low + high) >>> 1;
+        long maxEnd = Math.max(ends[node], Math.max(buildIndex(low, node), buildIndex(node + 1, high)));
+        maxEnds[node] = maxEnd;
+        return maxEnd;
+    }
+
+    private void ensureSorted() {
+        if (sorted) {
+            return;
+        }
+
+        // Stable sort of permutation keeps order of ranges with equal start
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count - width; low += width * 2) {
+                int middle = low + width;
+                int high = Math.min(low + width * 2, count);
+                int left = low;
+                int right = middle;
+                int target = low;
+                while (left < middle && right < high) {
+                    buffer[target++] = starts[order[right]] < starts[order[left]] ? order[right++] : order[left++];
+                }
+                while (left < middle) {
+                    buffer[target++] = order[left++];
+                }
+                while (right < high) {
+                    buffer[target++] = order[right++];
+                }
+                System.arraycopy(buffer, low, order, low, high - low);
+            }
+        }
+
+        long[] sortedStarts = new long[starts.length];
+        long[] sortedEnds = new long[ends.length];
+        CodeArea.ColorsGroup[] sortedCodeColors = new CodeArea.ColorsGroup[codeColors.length];
+        CodeArea.ColorsGroup[] sortedPreviewColors = new CodeArea.ColorsGroup[previewColors.length];
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            sortedStarts[i] = starts[index];
+            sortedEnds[i] = ends[index];
+            sortedCodeColors[i] = codeColors[index];
+            sortedPreviewColors[i] = previewColors[index];
+        }
+        starts = sortedStarts;
+        ends = sortedEnds;
+        codeColors = sortedCodeColors;
+        previewColors = sortedPreviewColors;
+        sorted = true;
+        indexValid = false;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+/**
+ * Mapping of 64-bit scroll range to bounded integer range of scroll bar.
+ *
+ * Range which fits to scroll bar is mapped directly, larger range is divided
+ * by integer scale factor. Scroll bar value of maximum scroll is mapped to
+ * maximum scroll position exactly and position converted from scroll bar
+ * value is converted back to the same value.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ScrollBarScale {
+
+    /**
+     * Maximum range of scroll bar, leaves space for visible amount.
+     */
+    public static final int MAX_SCROLL_BAR_RANGE = Integer.MAX_VALUE / 2;
+
+    private long maximum = 0;
+    private long visibleAmount = 0;
+    private long scale = 1;
+    private int scrollBarMaximum = 0;
+    private int scrollBarVisibleAmount = 0;
+    private int scrollBarMaxValue = 0;
+
+    /**
+     * Sets scroll range.
+     *
+     * @param maximum maximum position, size of whole range
+     * @param visibleAmount size of visible part of range
+     */
+    public void setRange(long maximum, long visibleAmount) {
+        this.maximum = maximum;
+        this.visibleAmount = visibleAmount;
+        if (maximum <= MAX_SCROLL_BAR_RANGE) {
+            scale = 1;
+            scrollBarMaximum = (int) maximum;
+            scrollBarVisibleAmount = (int) Math.min(visibleAmount, MAX_SCROLL_BAR_RANGE);
+            scrollBarMaxValue = Math.max(scrollBarMaximum - scrollBarVisibleAmount, 0);
+        } else {
+            // Rounded up without overflow for maximum close to Long.MAX_VALUE
+            scale = (maximum - 1) / MAX_SCROLL_BAR_RANGE + 1;
+            scrollBarVisibleAmount = (int) Math.max(visibleAmount / scale, 1);
+            scrollBarMaxValue = (int) (getMaxPosition() / scale);
+            scrollBarMaximum = scrollBarMaxValue + scrollBarVisibleAmount;
+        }
+    }
+
+    public long getMaximum() {
+        return maximum;
+    }
+
+    public long getVisibleAmount() {
+        return visibleAmount;
+    }
+
+    /**
+     * Returns scale factor, count of positions per single scroll bar value.
+     *
+     * @return scale factor
+     */
+    public long getScale() {
+        return scale;
+    }
+
+    public boolean isScaled() {
+        return scale > 1;
+    }
+
+    public int getScrollBarMaximum() {
+        return scrollBarMaximum;
+    }
+
+    public int getScrollBarVisibleAmount() {
+        return scrollBarVisibleAmount;
+    }
+
+    /**
+     * Returns maximum scroll position.
+     *
+     * @return maximum position
+     */
+    public long getMaxPosition() {
+        return Math.max(maximum - visibleAmount, 0);
+    }
+
+    /**
+     * Converts scroll position to scroll bar value.
+     *
+     * @param position scroll position
+     * @return scroll bar value
+     */
+    public int toScrollBarValue(long position) {
+        if (position <= 0) {
+            return 0;
+        }
+        if (scale == 1) {
+            return (int) Math.min(position, Integer.MAX_VALUE);
+        }
+
+        return (int) Math.min(position / scale, scrollBarMaxValue);
+    }
+
+    /**
+     * Converts scroll bar value to scroll position.
+     *
+     * @param scrollBarValue scroll bar value
+     * @return scroll position
+     */
+    public long toPosition(int scrollBarValue) {
+        if (scale == 1) {
+            return scrollBarValue;
+        }
+        if (scrollBarValue >= scrollBarMaxValue) {
+            return getMaxPosition();
+        }
+
+        return scrollBarValue * scale;
+    }
+}
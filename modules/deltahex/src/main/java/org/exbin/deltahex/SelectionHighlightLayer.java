@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+/**
+ * Highlight layer of code area selection.
+ *
+ * Selection in active section uses selection colors, the other section uses
+ * mirror selection colors.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class SelectionHighlightLayer implements HighlightLayer {
+
+    private final CodeArea codeArea;
+
+    public SelectionHighlightLayer(CodeArea codeArea) {
+        this.codeArea = codeArea;
+    }
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_SELECTION;
+    }
+
+    @Override
+    public void addHighlights(long startPosition, long endPosition, HighlightConsumer consumer) {
+        CodeArea.SelectionRange selection = codeArea.getSelection();
+        if (selection == null || selection.getFirst() >= endPosition || selection.getLast() < startPosition) {
+            return;
+        }
+
+        CodeArea.ColorsGroup selectionColors = codeArea.getSharedSelectionColors();
+        CodeArea.ColorsGroup mirrorSelectionColors = codeArea.getSharedMirrorSelectionColors();
+        if (codeArea.getActiveSection() == CodeArea.Section.CODE_MATRIX) {
+            consumer.addHighlight(selection.getFirst(), selection.getLast() + 1, selectionColors, mirrorSelectionColors);
+        } else {
+            consumer.addHighlight(selection.getFirst(), selection.getLast() + 1, mirrorSelectionColors, selectionColors);
+        }
+    }
+}
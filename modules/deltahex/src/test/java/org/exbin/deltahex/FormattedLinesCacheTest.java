@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.nio.charset.Charset;
+import org.exbin.utils.binary_data.ByteArrayEditableData;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for formatted lines cache and formatting of cached lines.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class FormattedLinesCacheTest {
+
+    private static final int BYTES_PER_LINE = 16;
+    private static final int CHARS_PER_BYTE = 3;
+    private static final int CHARS_PER_LINE = BYTES_PER_LINE * (CHARS_PER_BYTE + 1);
+    private static final int PREVIEW_CHAR_POS = BYTES_PER_LINE * CHARS_PER_BYTE;
+
+    public FormattedLinesCacheTest() {
+    }
+
+    @Test
+    public void testGetLineSlotReuse() {
+        FormattedLinesCache cache = createCache(1);
+        cache.ensureCapacity(10);
+
+        FormattedLinesCache.Line record = cache.getLine(5);
+        assertEquals(5, record.getLine());
+        assertFalse(record.isDataValid());
+        record.setDataValid(true);
+        record.setLineNumberValid(true);
+        record.setCodeRange(2, 6);
+        assertSame(record, cache.getLine(5));
+        assertTrue(record.isDataValid());
+        assertEquals(6, record.getCodeEndByte());
+
+        assertNotSame(record, cache.getLine(6));
+
+        // Line mapped to the same slot reuses record
+        FormattedLinesCache.Line reused = cache.getLine(5 + 64);
+        assertSame(record, reused);
+        assertEquals(5 + 64, reused.getLine());
+        assertFalse(reused.isDataValid());
+        assertFalse(reused.isLineNumberValid());
+        assertEquals(0, reused.getCodeStartByte());
+        assertEquals(0, reused.getCodeEndByte());
+
+        // Capacity is increased for more visible lines
+        cache.ensureCapacity(100);
+        assertNotSame(cache.getLine(5), cache.getLine(5 + 64));
+    }
+
+    @Test
+    public void testInvalidateData() {
+        FormattedLinesCache cache = createCache(1);
+        cache.ensureCapacity(10);
+        FormattedLinesCache.Line[] records = validateLines(cache, 4);
+
+        cache.invalidateData(32, 33);
+        assertTrue(records[0].isDataValid());
+        assertTrue(records[1].isDataValid());
+        assertFalse(records[2].isDataValid());
+        assertTrue(records[3].isDataValid());
+
+        records = validateLines(cache, 4);
+        cache.invalidateData(20, Long.MAX_VALUE);
+        assertTrue(records[0].isDataValid());
+        assertFalse(records[1].isDataValid());
+        assertFalse(records[2].isDataValid());
+        assertFalse(records[3].isDataValid());
+    }
+
+    @Test
+    public void testInvalidateDataMultiByteCharacters() {
+        FormattedLinesCache cache = createCache(4);
+        cache.ensureCapacity(10);
+        FormattedLinesCache.Line[] records = validateLines(cache, 4);
+
+        // Preview of previous line can include first bytes of changed line
+        cache.invalidateData(32, 33);
+        assertTrue(records[0].isDataValid());
+        assertFalse(records[1].isDataValid());
+        assertFalse(records[2].isDataValid());
+        assertTrue(records[3].isDataValid());
+
+        records = validateLines(cache, 4);
+        cache.invalidateData(35, 36);
+        assertTrue(records[1].isDataValid());
+        assertFalse(records[2].isDataValid());
+    }
+
+    @Test
+    public void testCodeRangeMerge() {
+        CodeArea codeArea = new CodeArea();
+        ByteArrayEditableData data = new ByteArrayEditableData(createData(0));
+        codeArea.setData(data);
+        DefaultCodeAreaPainter painter = new DefaultCodeAreaPainter(codeArea);
+        DefaultCodeAreaPainter.PaintData paintData = createPaintData(CodeArea.ViewMode.CODE_MATRIX);
+        FormattedLinesCache.Line line = new FormattedLinesCache.Line(CHARS_PER_LINE, false, 8);
+
+        formatCodes(painter, line, paintData, 2, 6);
+        assertCodeRange(2, 6, line);
+        assertEquals("02", codeChars(paintData, 2));
+
+        // Overlapping range only extends formatted range
+        data.setByte(2, (byte) 0xff);
+        data.setByte(7, (byte) 0xff);
+        formatCodes(painter, line, paintData, 4, 8);
+        assertCodeRange(2, 8, line);
+        assertEquals("02", codeChars(paintData, 2));
+        assertEquals("FF", codeChars(paintData, 7));
+
+        formatCodes(painter, line, paintData, 0, 3);
+        assertCodeRange(0, 8, line);
+        assertEquals("00", codeChars(paintData, 0));
+        assertEquals("02", codeChars(paintData, 2));
+
+        // Adjacent range extends formatted range
+        formatCodes(painter, line, paintData, 8, 10);
+        assertCodeRange(0, 10, line);
+        assertEquals("09", codeChars(paintData, 9));
+
+        // Disjoint range replaces formatted range
+        formatCodes(painter, line, paintData, 12, 14);
+        assertCodeRange(12, 14, line);
+        formatCodes(painter, line, paintData, 1, 3);
+        assertCodeRange(1, 3, line);
+        assertEquals("FF", codeChars(paintData, 2));
+
+        // Invalidation discards formatted range
+        line.setDataValid(false);
+        formatCodes(painter, line, paintData, 2, 4);
+        assertCodeRange(2, 4, line);
+        assertTrue(line.isDataValid());
+    }
+
+    @Test
+    public void testPreviewRangeMerge() {
+        CodeArea codeArea = new CodeArea();
+        ByteArrayEditableData data = new ByteArrayEditableData(createData('a'));
+        codeArea.setData(data);
+        DefaultCodeAreaPainter painter = new DefaultCodeAreaPainter(codeArea);
+        DefaultCodeAreaPainter.PaintData paintData = createPaintData(CodeArea.ViewMode.TEXT_PREVIEW);
+        FormattedLinesCache.Line line = new FormattedLinesCache.Line(CHARS_PER_LINE, false, 8);
+
+        formatPreview(painter, line, paintData, 2, 6);
+        assertPreviewRange(2, 6, line);
+        assertEquals('c', previewChar(paintData, 2));
+
+        data.setByte(2, (byte) 'x');
+        data.setByte(7, (byte) 'y');
+        formatPreview(painter, line, paintData, 5, 8);
+        assertPreviewRange(2, 8, line);
+        assertEquals('c', previewChar(paintData, 2));
+        assertEquals('y', previewChar(paintData, 7));
+
+        formatPreview(painter, line, paintData, 8, 9);
+        assertPreviewRange(2, 9, line);
+
+        formatPreview(painter, line, paintData, 10, 12);
+        assertPreviewRange(10, 12, line);
+        formatPreview(painter, line, paintData, 0, 4);
+        assertPreviewRange(0, 4, line);
+        assertEquals('x', previewChar(paintData, 2));
+    }
+
+    private static FormattedLinesCache createCache(int maxCharLength) {
+        FormattedLinesCache cache = new FormattedLinesCache();
+        FormattedLinesCache.Layout layout = new FormattedLinesCache.Layout();
+        layout.bytesPerLine = BYTES_PER_LINE;
+        layout.charsPerLine = CHARS_PER_LINE;
+        layout.maxCharLength = maxCharLength;
+        layout.lineNumberLength = 8;
+        assertTrue(cache.updateLayout(layout));
+        assertFalse(cache.updateLayout(layout));
+        return cache;
+    }
+
+    private static FormattedLinesCache.Line[] validateLines(FormattedLinesCache cache, int count) {
+        FormattedLinesCache.Line[] records = new FormattedLinesCache.Line[count];
+        for (int i = 0; i < count; i++) {
+            records[i] = cache.getLine(i);
+            records[i].setDataValid(true);
+        }
+        return records;
+    }
+
+    private static DefaultCodeAreaPainter.PaintData createPaintData(CodeArea.ViewMode viewMode) {
+        DefaultCodeAreaPainter.PaintData paintData = new DefaultCodeAreaPainter.PaintData();
+        paintData.viewMode = viewMode;
+        paintData.bytesPerLine = BYTES_PER_LINE;
+        paintData.codeDigits = CHARS_PER_BYTE - 1;
+        paintData.charsPerByte = CHARS_PER_BYTE;
+        paintData.charsPerLine = CHARS_PER_LINE;
+        paintData.previewCharPos = PREVIEW_CHAR_POS;
+        paintData.charset = Charset.forName("US-ASCII");
+        paintData.maxCharLength = 1;
+        paintData.charRenderingMode = CodeArea.CharRenderingMode.TOP_LEFT;
+        paintData.lineData = new byte[BYTES_PER_LINE];
+        paintData.lineDataPosition = 0;
+        return paintData;
+    }
+
+    private static void formatCodes(DefaultCodeAreaPainter painter, FormattedLinesCache.Line line, DefaultCodeAreaPainter.PaintData paintData, int startByte, int endByte) {
+        paintData.lineChars = line.getLineChars();
+        paintData.codeStartByte = startByte;
+        paintData.codeEndByte = endByte;
+        painter.formatLine(line, paintData);
+    }
+
+    private static void formatPreview(DefaultCodeAreaPainter painter, FormattedLinesCache.Line line, DefaultCodeAreaPainter.PaintData paintData, int startByte, int endByte) {
+        paintData.lineChars = line.getLineChars();
+        paintData.previewStartByte = startByte;
+        paintData.previewEndByte = endByte;
+        painter.formatLine(line, paintData);
+    }
+
+    private static String codeChars(DefaultCodeAreaPainter.PaintData paintData, int byteOnLine) {
+        return new String(paintData.lineChars, byteOnLine * CHARS_PER_BYTE, CHARS_PER_BYTE - 1);
+    }
+
+    private static char previewChar(DefaultCodeAreaPainter.PaintData paintData, int byteOnLine) {
+        return paintData.lineChars[PREVIEW_CHAR_POS + byteOnLine];
+    }
+
+    private static void assertCodeRange(int startByte, int endByte, FormattedLinesCache.Line line) {
+        assertEquals(startByte, line.getCodeStartByte());
+        assertEquals(endByte, line.getCodeEndByte());
+    }
+
+    private static void assertPreviewRange(int startByte, int endByte, FormattedLinesCache.Line line) {
+        assertEquals(startByte, line.getPreviewStartByte());
+        assertEquals(endByte, line.getPreviewEndByte());
+    }
+
+    private static byte[] createData(int firstByte) {
+        byte[] data = new byte[BYTES_PER_LINE * 2];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (firstByte + i);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for line color spans.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class LineColorSpansTest {
+
+    private static final int LINE_LENGTH = 48;
+
+    private final CodeArea.ColorsGroup base = new CodeArea.ColorsGroup();
+    private final CodeArea.ColorsGroup first = new CodeArea.ColorsGroup();
+    private final CodeArea.ColorsGroup second = new CodeArea.ColorsGroup();
+    private final CodeArea.ColorsGroup third = new CodeArea.ColorsGroup();
+
+    public LineColorSpansTest() {
+    }
+
+    @Test
+    public void testReset() {
+        LineColorSpans spans = new LineColorSpans();
+        spans.reset(LINE_LENGTH, base);
+        assertEquals(1, spans.getCount());
+        assertEquals(0, spans.getStart(0));
+        assertEquals(LINE_LENGTH, spans.getEnd(0));
+        assertSame(base, spans.getColors(0));
+
+        spans.reset(0, base);
+        assertEquals(0, spans.getCount());
+        spans.setSpan(0, 10, first);
+        assertEquals(0, spans.getCount());
+    }
+
+    @Test
+    public void testInnerSpan() {
+        LineColorSpans spans = new LineColorSpans();
+        spans.reset(LINE_LENGTH, base);
+        spans.setSpan(10, 20, first);
+        assertRuns(spans, new int[]{0, 10, 20, LINE_LENGTH}, base, first, base);
+    }
+
+    @Test
+    public void testOverlappingSpans() {
+        LineColorSpans spans = new LineColorSpans();
+        spans.reset(LINE_LENGTH, base);
+        spans.setSpan(10, 20, first);
+        spans.setSpan(15, 30, second);
+        assertRuns(spans, new int[]{0, 10, 15, 30, LINE_LENGTH}, base, first, second, base);
+
+        spans.setSpan(5, 12, third);
+        assertRuns(spans, new int[]{0, 5, 12, 15, 30, LINE_LENGTH}, base, third, first, second, base);
+
+        // Span covering several runs replaces them
+        spans.setSpan(8, 35, first);
+        assertRuns(spans, new int[]{0, 5, 8, 35, LINE_LENGTH}, base, third, first, base);
+    }
+
+    @Test
+    public void testAdjacentSpans() {
+        LineColorSpans spans = new LineColorSpans();
+        spans.reset(LINE_LENGTH, base);
+        spans.setSpan(10, 20, first);
+        spans.setSpan(20, 30, second);
+        spans.setSpan(0, 10, third);
+        assertRuns(spans, new int[]{0, 10, 20, 30, LINE_LENGTH}, third, first, second, base);
+
+        // Span exactly matching existing run
+        spans.setSpan(10, 20, second);
+        assertRuns(spans, new int[]{0, 10, 20, 30, LINE_LENGTH}, third, second, second, base);
+    }
+
+    @Test
+    public void testWholeLineSpan() {
+        LineColorSpans spans = new LineColorSpans();
+        spans.reset(LINE_LENGTH, base);
+        spans.setSpan(10, 20, first);
+        spans.setSpan(30, 40, second);
+        spans.setSpan(0, LINE_LENGTH, third);
+        assertRuns(spans, new int[]{0, LINE_LENGTH}, third);
+    }
+
+    @Test
+    public void testClippedSpans() {
+        LineColorSpans spans = new LineColorSpans();
+        spans.reset(LINE_LENGTH, base);
+        spans.setSpan(-5, 4, first);
+        spans.setSpan(LINE_LENGTH - 4, LINE_LENGTH + 10, second);
+        assertRuns(spans, new int[]{0, 4, LINE_LENGTH - 4, LINE_LENGTH}, first, base, second);
+
+        // Empty and fully outside spans are ignored
+        spans.setSpan(20, 20, third);
+        spans.setSpan(30, 25, third);
+        spans.setSpan(-10, 0, third);
+        spans.setSpan(LINE_LENGTH, LINE_LENGTH + 5, third);
+        assertRuns(spans, new int[]{0, 4, LINE_LENGTH - 4, LINE_LENGTH}, first, base, second);
+
+        spans.setSpan(-10, LINE_LENGTH + 10, third);
+        assertRuns(spans, new int[]{0, LINE_LENGTH}, third);
+    }
+
+    @Test
+    public void testRandomSpans() {
+        Random random = new Random(46);
+        CodeArea.ColorsGroup[] groups = new CodeArea.ColorsGroup[]{base, first, second, third};
+        LineColorSpans spans = new LineColorSpans();
+        for (int iteration = 0; iteration < 200; iteration++) {
+            spans.reset(LINE_LENGTH, base);
+            CodeArea.ColorsGroup[] expected = new CodeArea.ColorsGroup[LINE_LENGTH];
+            Arrays.fill(expected, base);
+            int spansCount = random.nextInt(40);
+            for (int i = 0; i < spansCount; i++) {
+                int startChar = random.nextInt(LINE_LENGTH + 10) - 5;
+                int endChar = startChar + random.nextInt(20);
+                CodeArea.ColorsGroup colors = groups[random.nextInt(groups.length)];
+                spans.setSpan(startChar, endChar, colors);
+                for (int charOnLine = Math.max(startChar, 0); charOnLine < Math.min(endChar, LINE_LENGTH); charOnLine++) {
+                    expected[charOnLine] = colors;
+                }
+            }
+
+            assertConsistent(spans);
+            for (int run = 0; run < spans.getCount(); run++) {
+                for (int charOnLine = spans.getStart(run); charOnLine < spans.getEnd(run); charOnLine++) {
+                    assertSame("Iteration " + iteration + " character " + charOnLine, expected[charOnLine], spans.getColors(run));
+                }
+            }
+        }
+    }
+
+    private static void assertRuns(LineColorSpans spans, int[] bounds, CodeArea.ColorsGroup... colors) {
+        assertConsistent(spans);
+        assertEquals(colors.length, spans.getCount());
+        for (int run = 0; run < colors.length; run++) {
+            assertEquals(bounds[run], spans.getStart(run));
+            assertEquals(bounds[run + 1], spans.getEnd(run));
+            assertSame(colors[run], spans.getColors(run));
+        }
+    }
+
+    /**
+     * Checks that runs are not empty and cover whole line in order.
+     */
+    private static void assertConsistent(LineColorSpans spans) {
+        int position = 0;
+        for (int run = 0; run < spans.getCount(); run++) {
+            assertEquals(position, spans.getStart(run));
+            assertTrue(spans.getEnd(run) > spans.getStart(run));
+            assertNotNull(spans.getColors(run));
+            position = spans.getEnd(run);
+        }
+        assertEquals(spans.getLength() > 0 ? spans.getLength() : 0, position);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for ranges highlight layer.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class RangesHighlightLayerTest {
+
+    private static final int DATA_SIZE = 2000;
+
+    public RangesHighlightLayerTest() {
+    }
+
+    @Test
+    public void testSortedRanges() {
+        RangesHighlightLayer layer = new RangesHighlightLayer(HighlightLayer.PRIORITY_BOOKMARKS);
+        CodeArea.ColorsGroup colors = new CodeArea.ColorsGroup();
+        layer.addRange(0, 10, colors);
+        layer.addRange(5, 50, colors);
+        layer.addRange(20, 30, colors);
+        layer.addRange(40, 45, colors);
+
+        assertEquals(4, layer.size());
+        List<Range> found = query(layer, 25, 42);
+        assertEquals(3, found.size());
+        assertRange(5, 50, found.get(0));
+        assertRange(20, 30, found.get(1));
+        assertRange(40, 45, found.get(2));
+
+        // End positions are exclusive
+        assertTrue(query(layer, 50, 60).isEmpty());
+        found = query(layer, 10, 20);
+        assertEquals(1, found.size());
+        assertRange(5, 50, found.get(0));
+    }
+
+    @Test
+    public void testUnsortedRanges() {
+        RangesHighlightLayer layer = new RangesHighlightLayer(HighlightLayer.PRIORITY_BOOKMARKS);
+        CodeArea.ColorsGroup first = new CodeArea.ColorsGroup();
+        CodeArea.ColorsGroup second = new CodeArea.ColorsGroup();
+        layer.addRange(30, 40, first);
+        layer.addRange(10, 20, first);
+        layer.addRange(30, 35, second);
+        layer.addRange(0, 5, first);
+
+        assertEquals(0, layer.getStart(0));
+        assertEquals(10, layer.getStart(1));
+        assertEquals(30, layer.getStart(2));
+        assertEquals(40, layer.getEnd(2));
+        assertEquals(30, layer.getStart(3));
+        assertEquals(35, layer.getEnd(3));
+
+        // Ranges with equal start keep order of addition
+        List<Range> found = query(layer, 32, 33);
+        assertEquals(2, found.size());
+        assertRange(30, 40, found.get(0));
+        assertSame(first, found.get(0).codeColors);
+        assertRange(30, 35, found.get(1));
+        assertSame(second, found.get(1).codeColors);
+    }
+
+    @Test
+    public void testRemoveRanges() {
+        RangesHighlightLayer layer = new RangesHighlightLayer(HighlightLayer.PRIORITY_BOOKMARKS);
+        CodeArea.ColorsGroup colors = new CodeArea.ColorsGroup();
+        layer.addRange(0, 10, colors);
+        layer.addRange(10, 20, colors);
+        layer.addRange(15, 25, colors);
+        layer.addRange(30, 40, colors);
+        query(layer, 0, 100);
+
+        assertEquals(2, layer.removeRanges(12, 16));
+        assertEquals(2, layer.size());
+        List<Range> found = query(layer, 0, 100);
+        assertEquals(2, found.size());
+        assertRange(0, 10, found.get(0));
+        assertRange(30, 40, found.get(1));
+
+        assertEquals(0, layer.removeRanges(10, 30));
+        layer.clear();
+        assertEquals(0, layer.size());
+        assertTrue(query(layer, 0, 100).isEmpty());
+    }
+
+    @Test
+    public void testRandomQueries() {
+        Random random = new Random(47);
+        CodeArea.ColorsGroup[] groups = new CodeArea.ColorsGroup[]{new CodeArea.ColorsGroup(), new CodeArea.ColorsGroup(), new CodeArea.ColorsGroup()};
+        for (int iteration = 0; iteration < 50; iteration++) {
+            RangesHighlightLayer layer = new RangesHighlightLayer(HighlightLayer.PRIORITY_BOOKMARKS);
+            List<Range> ranges = new ArrayList<>();
+            int rangesCount = random.nextInt(300);
+            for (int i = 0; i < rangesCount; i++) {
+                long start = random.nextInt(DATA_SIZE);
+                // Mostly short ranges with occasional long ones
+                long end = start + 1 + (random.nextInt(10) == 0 ? random.nextInt(DATA_SIZE) : random.nextInt(16));
+                CodeArea.ColorsGroup codeColors = groups[random.nextInt(groups.length)];
+                CodeArea.ColorsGroup previewColors = groups[random.nextInt(groups.length)];
+                layer.addRange(start, end, codeColors, previewColors);
+                ranges.add(new Range(start, end, codeColors, previewColors));
+
+                if (random.nextInt(50) == 0) {
+                    long removeStart = random.nextInt(DATA_SIZE);
+                    long removeEnd = removeStart + 1 + random.nextInt(32);
+                    int removed = 0;
+                    for (Iterator<Range> iterator = ranges.iterator(); iterator.hasNext();) {
+                        Range range = iterator.next();
+                        if (range.start < removeEnd && range.end > removeStart) {
+                            iterator.remove();
+                            removed++;
+                        }
+                    }
+                    assertEquals(removed, layer.removeRanges(removeStart, removeEnd));
+                }
+            }
+
+            List<Range> sortedRanges = new ArrayList<>(ranges);
+            Collections.sort(sortedRanges, new Comparator<Range>() {
+                @Override
+                public int compare(Range range1, Range range2) {
+                    return Long.compare(range1.start, range2.start);
+                }
+            });
+
+            assertEquals(ranges.size(), layer.size());
+            for (int query = 0; query < 20; query++) {
+                long startPosition = random.nextInt(DATA_SIZE + 100) - 50;
+                long endPosition = startPosition + 1 + random.nextInt(64);
+                List<Range> expected = new ArrayList<>();
+                for (Range range : sortedRanges) {
+                    if (range.start < endPosition && range.end > startPosition) {
+                        expected.add(range);
+                    }
+                }
+
+                List<Range> found = query(layer, startPosition, endPosition);
+                assertEquals("Iteration " + iteration + " query " + startPosition, expected.size(), found.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    Range expectedRange = expected.get(i);
+                    Range foundRange = found.get(i);
+                    assertRange(expectedRange.start, expectedRange.end, foundRange);
+                    assertSame(expectedRange.codeColors, foundRange.codeColors);
+                    assertSame(expectedRange.previewColors, foundRange.previewColors);
+                }
+            }
+        }
+    }
+
+    private static List<Range> query(RangesHighlightLayer layer, long startPosition, long endPosition) {
+        final List<Range> found = new ArrayList<>();
+        layer.addHighlights(startPosition, endPosition, new HighlightLayer.HighlightConsumer() {
+            @Override
+            public void addHighlight(long startPosition, long endPosition, CodeArea.ColorsGroup codeColors, CodeArea.ColorsGroup previewColors) {
+                found.add(new Range(startPosition, endPosition, codeColors, previewColors));
+            }
+        });
+        return found;
+    }
+
+    private static void assertRange(long start, long end, Range range) {
+        assertEquals(start, range.start);
+        assertEquals(end, range.end);
+    }
+
+    private static class Range {
+
+        private final long start;
+        private final long end;
+        private final CodeArea.ColorsGroup codeColors;
+        private final CodeArea.ColorsGroup previewColors;
+
+        public Range(long start, long end, CodeArea.ColorsGroup codeColors, CodeArea.ColorsGroup previewColors) {
+            this.start = start;
+            this.end = end;
+            this.codeColors = codeColors;
+            this.previewColors = previewColors;
+        }
+    }
+}
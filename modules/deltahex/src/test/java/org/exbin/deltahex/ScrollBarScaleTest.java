@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.deltahex;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for scroll bar scale.
+ *
+ * @version 0.1.0 2026/10/19
+ * @author ExBin Project (http://exbin.org)
+ */
+public class ScrollBarScaleTest {
+
+    public ScrollBarScaleTest() {
+    }
+
+    @Test
+    public void testUnscaledRange() {
+        ScrollBarScale scale = new ScrollBarScale();
+        scale.setRange(1000, 40);
+        assertFalse(scale.isScaled());
+        assertEquals(1000, scale.getScrollBarMaximum());
+        assertEquals(40, scale.getScrollBarVisibleAmount());
+        assertEquals(960, scale.getMaxPosition());
+        for (long position = 0; position <= scale.getMaxPosition(); position++) {
+            assertEquals(position, scale.toPosition(scale.toScrollBarValue(position)));
+        }
+        assertEquals(0, scale.toScrollBarValue(-5));
+
+        scale.setRange(ScrollBarScale.MAX_SCROLL_BAR_RANGE, 40);
+        assertFalse(scale.isScaled());
+        long maxPosition = scale.getMaxPosition();
+        assertEquals(maxPosition, scale.toPosition(scale.toScrollBarValue(maxPosition)));
+    }
+
+    @Test
+    public void testEmptyRange() {
+        ScrollBarScale scale = new ScrollBarScale();
+        scale.setRange(10, 40);
+        assertEquals(0, scale.getMaxPosition());
+        assertEquals(0, scale.toScrollBarValue(0));
+        assertEquals(0, scale.toPosition(0));
+    }
+
+    @Test
+    public void testScaledRoundTrip() {
+        long[] maximums = new long[]{ScrollBarScale.MAX_SCROLL_BAR_RANGE + 1L, 1L << 40, (1L << 40) + 12345, Long.MAX_VALUE / 16, Long.MAX_VALUE};
+        Random random = new Random(50);
+        for (long maximum : maximums) {
+            ScrollBarScale scale = new ScrollBarScale();
+            scale.setRange(maximum, 40);
+            assertTrue(scale.isScaled());
+            assertTrue(scale.getScale() > 1);
+            assertTrue(scale.getScrollBarMaximum() > 0);
+            assertTrue(scale.getScrollBarVisibleAmount() > 0);
+            int maxValue = scale.getScrollBarMaximum() - scale.getScrollBarVisibleAmount();
+            assertTrue(maxValue > 0);
+
+            // Maximum position is reachable exactly and maps to end of scroll bar
+            long maxPosition = scale.getMaxPosition();
+            assertEquals(maxPosition, maximum - 40);
+            assertEquals(maxValue, scale.toScrollBarValue(maxPosition));
+            assertEquals(maxPosition, scale.toPosition(maxValue));
+            assertEquals(maxValue, scale.toScrollBarValue(Long.MAX_VALUE));
+
+            // Scroll bar values survive conversion to position and back
+            for (int i = 0; i < 1000; i++) {
+                int value = i < 2 ? i * maxValue : random.nextInt(maxValue + 1);
+                long position = scale.toPosition(value);
+                assertTrue(position >= 0 && position <= maxPosition);
+                assertEquals("Maximum " + maximum + " value " + value, value, scale.toScrollBarValue(position));
+            }
+
+            // Positions map to the nearest lower scroll bar step
+            for (int i = 0; i < 1000; i++) {
+                long position = (random.nextLong() & Long.MAX_VALUE) % (maxPosition + 1);
+                long roundTrip = scale.toPosition(scale.toScrollBarValue(position));
+                assertTrue(roundTrip <= position || roundTrip == maxPosition);
+                assertTrue(position - roundTrip < scale.getScale());
+            }
+        }
+    }
+}
@@ -237,7 +237,7 @@ public class DeltaHexExamplePanel extends javax.swing.JPanel {
 
         charRenderingScrollModeLabel.setText("Character Rendering");
 
-        charRenderingComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] { "AUTO", "LINE_AT_ONCE", "TOP_LEFT", "CENTER" }));
+        charRenderingComboBox.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] { "AUTO", "LINE_AT_ONCE", "TOP_LEFT", "CENTER", "GLYPH_ATLAS" }));
         charRenderingComboBox.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
                 charRenderingComboBoxActionPerformed(evt);